@@ -33,10 +33,10 @@ import org.threeten.bp.LocalDateTime;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.calendar.settings.CalendarLibrarySettings;
 
 /**
@@ -658,15 +658,17 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 
 		public SelectEvent()
 		{
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
 
-			String start = RequestCycleUtils.getQueryParameterValue("startDate").toString();
+			this.isAllDay = parameters.getBoolean("allDay");
+
+			String start = parameters.getString("startDate");
 			this.start = this.isAllDay ? LocalDate.parse(start).atStartOfDay() : LocalDateTime.parse(start);
 
-			String end = RequestCycleUtils.getQueryParameterValue("endDate").toString();
+			String end = parameters.getString("endDate");
 			this.end = this.isAllDay ? LocalDate.parse(end).atStartOfDay() : LocalDateTime.parse(end);
 
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.viewName = parameters.getString("viewName");
 		}
 
 		/**
@@ -724,12 +726,14 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public DayClickEvent()
 		{
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.isAllDay = parameters.getBoolean("allDay");
 
-			String date = RequestCycleUtils.getQueryParameterValue("date").toString();
+			String date = parameters.getString("date");
 			this.day = this.isAllDay ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date);
 
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.viewName = parameters.getString("viewName");
 		}
 
 		/**
@@ -776,8 +780,10 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public ClickEvent()
 		{
-			this.eventId = RequestCycleUtils.getQueryParameterValue("eventId").toInt();
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.eventId = parameters.getInt("eventId");
+			this.viewName = parameters.getString("viewName");
 		}
 
 		/**
@@ -815,13 +821,15 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public ViewRenderEvent()
 		{
-			String start = RequestCycleUtils.getQueryParameterValue("startDate").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			String start = parameters.getString("startDate");
 			this.start = LocalDate.parse(start);
 
-			String end = RequestCycleUtils.getQueryParameterValue("endDate").toString();
+			String end = parameters.getString("endDate");
 			this.end = LocalDate.parse(end);
 
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.viewName = parameters.getString("viewName");
 		}
 
 		/**
@@ -868,9 +876,11 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public DeltaEvent()
 		{
-			this.eventId = RequestCycleUtils.getQueryParameterValue("eventId").toInt();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.eventId = parameters.getInt("eventId");
 
-			this.delta = RequestCycleUtils.getQueryParameterValue("millisDelta").toLong();
+			this.delta = parameters.getLong("millisDelta");
 		}
 
 		/**
@@ -906,7 +916,7 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public DropEvent()
 		{
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
+			this.isAllDay = JQueryEventParameters.get().getBoolean("allDay");
 		}
 
 		/**
@@ -941,12 +951,14 @@ public class CalendarBehavior extends JQueryBehavior implements IJQueryAjaxAware
 		 */
 		public ObjectDropEvent()
 		{
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.isAllDay = parameters.getBoolean("allDay");
 
-			String date = RequestCycleUtils.getQueryParameterValue("date").toString();
+			String date = parameters.getString("date");
 			this.day = this.isAllDay ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date);
 
-			this.title = RequestCycleUtils.getQueryParameterValue("title").toString();
+			this.title = parameters.getString("title");
 		}
 
 		/**
@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.jquery.ui.calendar;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.wicket.request.IRequestParameters;
@@ -70,12 +72,12 @@ public class CalendarModelBehavior extends AjaxCallbackBehavior
 	}
 
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
 		final String start = parameters.getParameterValue("start").toString();
 		final String end = parameters.getParameterValue("end").toString();
 
-		StringBuilder builder = new StringBuilder("[ ");
+		writer.write("[ ");
 
 		if (this.model != null)
 		{
@@ -96,14 +98,14 @@ public class CalendarModelBehavior extends AjaxCallbackBehavior
 
 					if (count++ > 0)
 					{
-						builder.append(", ");
+						writer.write(", ");
 					}
 
-					builder.append(event.toString());
+					writer.write(event.toString());
 				}
 			}
 		}
 
-		return builder.append(" ]").toString();
+		writer.write(" ]");
 	}
 }
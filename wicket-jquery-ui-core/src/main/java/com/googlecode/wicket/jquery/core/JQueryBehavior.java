@@ -24,6 +24,7 @@ import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.util.lang.Args;
 import org.apache.wicket.util.lang.Generics;
+import org.apache.wicket.util.lang.Objects;
 
 import com.googlecode.wicket.jquery.core.utils.JQueryUtils;
 
@@ -43,6 +44,18 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 
 	private List<String> events = null;
 
+	/** the memoized events statements */
+	private transient String statements = null;
+
+	/** the memoized jQuery statement */
+	private transient String statement = null;
+
+	/** the options the memoized jQuery statement has been built with */
+	private transient String statementOptions = null;
+
+	/** the selector the memoized jQuery statement has been built with */
+	private transient String statementSelector = null;
+
 	/**
 	 * Constructor
 	 *
@@ -88,14 +101,19 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 		// renders javascript events
 		if (this.events != null)
 		{
-			StringBuilder statements = new StringBuilder();
-
-			for (String event : this.events)
+			if (this.statements == null)
 			{
-				statements.append(event);
+				StringBuilder statements = new StringBuilder();
+
+				for (String event : this.events)
+				{
+					statements.append(event);
+				}
+
+				this.statements = statements.toString();
 			}
 
-			this.renderOnDomReadyScript(statements.toString(), response);
+			this.renderOnDomReadyScript(this.statements, response);
 		}
 	}
 
@@ -283,12 +301,26 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 		}
 
 		this.events.add(statement);
+		this.statements = null;
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * The statement is memoized until the selector or an option changes
+	 */
 	@Override
 	protected String $()
 	{
-		return JQueryBehavior.$(this.selector, this.method, this.options.toString());
+		final String options = this.options.toString(); // memoized by Options
+
+		if (this.statement == null || !options.equals(this.statementOptions) || !Objects.equal(this.selector, this.statementSelector))
+		{
+			this.statement = JQueryBehavior.$(this.selector, this.method, options);
+			this.statementOptions = options;
+			this.statementSelector = this.selector;
+		}
+
+		return this.statement;
 	}
 
 	/**
@@ -337,7 +369,7 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 	 */
 	private static String $(String selector, String method, String options)
 	{
-		return String.format("jQuery('%s').%s(%s);", selector, method, options);
+		return new StringBuilder("jQuery('").append(selector).append("').").append(method).append('(').append(options).append(");").toString();
 	}
 
 	// Events //
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core;
+
+import java.util.List;
+
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Url.QueryParameter;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.string.StringValueConversionException;
+import org.apache.wicket.util.string.Strings;
+
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+
+/**
+ * Provides a typed view of the query (or post) parameters of the current request<br/>
+ * Events usually get it in their constructor; a {@link JQueryAjaxBehavior} may also pass its own instance by overriding {@link JQueryAjaxBehavior#newEvent(JQueryEventParameters)}.
+ * Values are looked up on demand, no copy of the parameters is made. Primitive accessors do not allocate {@link StringValue} wrappers.
+ * Conversions follow {@link StringValue}'s: accessors with a default value return it if the parameter is missing or invalid, other ones throw a
+ * {@link StringValueConversionException}.
+ *
+ * @author agent
+ */
+public class JQueryEventParameters
+{
+	/**
+	 * Gets the query parameters of the current request
+	 *
+	 * @return the {@link JQueryEventParameters}
+	 */
+	public static JQueryEventParameters get()
+	{
+		return new JQueryEventParameters(RequestCycle.get().getRequest().getUrl().getQueryParameters(), null);
+	}
+
+	/**
+	 * Gets the post parameters of the current request
+	 *
+	 * @return the {@link JQueryEventParameters}
+	 */
+	public static JQueryEventParameters post()
+	{
+		return new JQueryEventParameters(null, RequestCycle.get().getRequest().getPostParameters());
+	}
+
+	private final List<QueryParameter> query;
+	private final IRequestParameters parameters;
+
+	/**
+	 * Constructor
+	 *
+	 * @param query the query parameters, or {@code null}
+	 * @param parameters the post parameters, or {@code null}
+	 */
+	private JQueryEventParameters(List<QueryParameter> query, IRequestParameters parameters)
+	{
+		this.query = query;
+		this.parameters = parameters;
+	}
+
+	// Methods //
+
+	/**
+	 * Indicates whether the parameter is present
+	 *
+	 * @param name the parameter name
+	 * @return {@code true} or {@code false}
+	 */
+	public boolean contains(String name)
+	{
+		return this.value(name) != null;
+	}
+
+	/**
+	 * Gets the (first) value of the parameter
+	 *
+	 * @param name the parameter name
+	 * @return the value or {@code null} if not present
+	 */
+	public String getString(String name)
+	{
+		return this.value(name);
+	}
+
+	/**
+	 * Gets the (first) value of the parameter
+	 *
+	 * @param name the parameter name
+	 * @param defaultValue the default value
+	 * @return the value or the default value if not present
+	 */
+	public String getString(String name, String defaultValue)
+	{
+		String value = this.value(name);
+
+		return value != null ? value : defaultValue;
+	}
+
+	/**
+	 * Gets the (first) value of the parameter
+	 *
+	 * @param name the parameter name
+	 * @return the value or {@code null} if not present or empty
+	 */
+	public String getOptionalString(String name)
+	{
+		return Strings.defaultIfEmpty(this.value(name), null);
+	}
+
+	/**
+	 * Gets the value of the parameter as an {@code int}
+	 *
+	 * @param name the parameter name
+	 * @return the value
+	 * @throws StringValueConversionException if not present or invalid
+	 */
+	public int getInt(String name)
+	{
+		String value = this.value(name);
+
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new StringValueConversionException("Unable to convert '" + value + "' to an int value", e);
+		}
+	}
+
+	/**
+	 * Gets the value of the parameter as an {@code int}
+	 *
+	 * @param name the parameter name
+	 * @param defaultValue the default value
+	 * @return the value or the default value if not present or invalid
+	 */
+	public int getInt(String name, int defaultValue)
+	{
+		String value = this.value(name);
+
+		if (value != null)
+		{
+			try
+			{
+				return Integer.parseInt(value);
+			}
+			catch (NumberFormatException e)
+			{
+				// default value
+			}
+		}
+
+		return defaultValue;
+	}
+
+	/**
+	 * Gets the value of the parameter as a {@code long}
+	 *
+	 * @param name the parameter name
+	 * @return the value
+	 * @throws StringValueConversionException if not present or invalid
+	 */
+	public long getLong(String name)
+	{
+		String value = this.value(name);
+
+		try
+		{
+			return Long.parseLong(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new StringValueConversionException("Unable to convert '" + value + "' to a long value", e);
+		}
+	}
+
+	/**
+	 * Gets the value of the parameter as a {@code long}
+	 *
+	 * @param name the parameter name
+	 * @param defaultValue the default value
+	 * @return the value or the default value if not present or invalid
+	 */
+	public long getLong(String name, long defaultValue)
+	{
+		String value = this.value(name);
+
+		if (value != null)
+		{
+			try
+			{
+				return Long.parseLong(value);
+			}
+			catch (NumberFormatException e)
+			{
+				// default value
+			}
+		}
+
+		return defaultValue;
+	}
+
+	/**
+	 * Gets the value of the parameter as a {@code Long}
+	 *
+	 * @param name the parameter name
+	 * @return the value or {@code null} if not present or empty
+	 * @throws StringValueConversionException if invalid
+	 */
+	public Long getOptionalLong(String name)
+	{
+		return Strings.isEmpty(this.value(name)) ? null : this.getLong(name);
+	}
+
+	/**
+	 * Gets the value of the parameter as a {@code double}<br/>
+	 * The value is expected to be a javascript number (ie: "12.5"), regardless of the locale
+	 *
+	 * @param name the parameter name
+	 * @param defaultValue the default value
+	 * @return the value or the default value if not present or invalid
+	 */
+	public double getDouble(String name, double defaultValue)
+	{
+		String value = this.value(name);
+
+		if (value != null)
+		{
+			try
+			{
+				return Double.parseDouble(value);
+			}
+			catch (NumberFormatException e)
+			{
+				// default value
+			}
+		}
+
+		return defaultValue;
+	}
+
+	/**
+	 * Gets the value of the parameter as a {@code boolean}, according to {@link Strings#isTrue(String)}
+	 *
+	 * @param name the parameter name
+	 * @return the value, {@code false} if not present
+	 * @throws StringValueConversionException if invalid
+	 */
+	public boolean getBoolean(String name)
+	{
+		return Strings.isTrue(this.value(name));
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.valueOf(this.query != null ? this.query : this.parameters);
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets the first value of the parameter
+	 *
+	 * @param name the parameter name
+	 * @return the value or {@code null} if not present
+	 */
+	private String value(String name)
+	{
+		if (this.query != null)
+		{
+			for (QueryParameter parameter : this.query)
+			{
+				if (parameter.getName().equals(name))
+				{
+					return parameter.getValue();
+				}
+			}
+
+			return null;
+		}
+
+		return this.parameters.getParameterValue(name).toString();
+	}
+}
@@ -16,25 +16,33 @@
  */
 package com.googlecode.wicket.jquery.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.wicket.ajax.json.JSONObject;
 import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
 import org.apache.wicket.util.lang.Generics;
 
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
 import com.googlecode.wicket.jquery.core.utils.DateUtils;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 
 /**
- * Provides a wrapper on a {@link Map} that will contains jQuery behavior options (key/value).<br/>
- * the {@link #toString()} methods returns the JSON representation of the options.
+ * Provides a compact, insertion-ordered, map that will contains jQuery behavior options (key/value).<br/>
+ * the {@link #toString()} methods returns the JSON representation of the options.<br/>
+ * <br/>
+ * Options are stored in small arrays - which are looked up linearly, given the usual number of options - and {@code int}, {@code long}, {@code double} &amp;
+ * {@code boolean} values are stored unboxed. The insertion order is preserved so the JSON representation is stable.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -94,7 +102,7 @@ public class Options implements IClusterable
 	 */
 	public static String asDate(long date)
 	{
-		return Options.asDate(new Date(date));
+		return DateUtils.toString(date, new StringBuilder(30).append(QUOTE)).append(QUOTE).toString(); // an ISO8601 date needs no escaping
 	}
 
 	/**
@@ -105,7 +113,7 @@ public class Options implements IClusterable
 	 */
 	public static String asDate(Date date)
 	{
-		return Options.asString(DateUtils.toString(date));
+		return Options.asDate(date.getTime());
 	}
 
 	/**
@@ -131,14 +139,49 @@ public class Options implements IClusterable
 		return builder.toString();
 	}
 
-	private final Map<String, Object> map;
+	/** the initial capacity */
+	private static final int CAPACITY = 8;
+
+	/** the modification stamp, shared by all options so a stamp is never reused */
+	private static final AtomicLong STAMP = new AtomicLong();
+
+	/** slot kinds */
+	private static final byte OBJECT = 0;
+	private static final byte INT = 1;
+	private static final byte LONG = 2;
+	private static final byte DOUBLE = 3;
+	private static final byte BOOLEAN = 4;
+
+	/** the number of options */
+	private transient int size = 0;
+
+	/** the option keys */
+	private transient String[] keys;
+
+	/** the option values, for {@link #OBJECT} slots */
+	private transient Object[] values;
+
+	/** the option values, for primitive slots */
+	private transient long[] primitives;
+
+	/** the slot kinds */
+	private transient byte[] kinds;
+
+	/** the version, the stamp of the last modification */
+	private transient long version = 0L;
+
+	/** the memoized JSON representation */
+	private transient String json = null;
+
+	/** the version of the memoized JSON representation */
+	private transient long jsonVersion = -1L;
 
 	/**
 	 * Constructor.
 	 */
 	public Options()
 	{
-		this.map = new HashMap<String, Object>();
+		this.allocate(CAPACITY);
 	}
 
 	/**
@@ -148,12 +191,14 @@ public class Options implements IClusterable
 	 */
 	public Options(Options options)
 	{
-		this();
+		this.allocate(Math.max(options.size, CAPACITY));
 
-		for (Entry<String, Object> option : options.entries())
-		{
-			this.set(option.getKey(), option.getValue());
-		}
+		System.arraycopy(options.keys, 0, this.keys, 0, options.size);
+		System.arraycopy(options.values, 0, this.values, 0, options.size);
+		System.arraycopy(options.primitives, 0, this.primitives, 0, options.size);
+		System.arraycopy(options.kinds, 0, this.kinds, 0, options.size);
+
+		this.size = options.size;
 	}
 
 	/**
@@ -193,7 +238,8 @@ public class Options implements IClusterable
 	}
 
 	/**
-	 * Returns the value to which the specified key is mapped, or null if this map contains no mapping for the key.
+	 * Returns the value to which the specified key is mapped, or null if this map contains no mapping for the key.<br/>
+	 * Primitive values are returned boxed.
 	 *
 	 * @param key the key whose associated value is to be returned
 	 * @return the value to which the specified key is mapped, or null if this map contains no mapping for the key
@@ -201,11 +247,11 @@ public class Options implements IClusterable
 	@SuppressWarnings("unchecked")
 	public <T extends Object> T get(String key)
 	{
-		Object value = this.map.get(key);
+		int index = this.indexOf(key);
 
-		if (value != null)
+		if (index > -1)
 		{
-			return (T) value;
+			return (T) this.valueAt(index);
 		}
 
 		return null;
@@ -223,16 +269,91 @@ public class Options implements IClusterable
 	{
 		if (value == null)
 		{
-			this.map.remove(key);
+			this.remove(key);
 		}
 		else
 		{
-			this.map.put(key, value);
+			this.put(key, OBJECT, value, 0L);
 		}
 
 		return this;
 	}
 
+	/**
+	 * Adds or replace an option defined by a key/value pair, without boxing the value.
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, int value)
+	{
+		return this.put(key, INT, null, value);
+	}
+
+	/**
+	 * Adds or replace an option defined by a key/value pair, without boxing the value.
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, long value)
+	{
+		return this.put(key, LONG, null, value);
+	}
+
+	/**
+	 * Adds or replace an option defined by a key/value pair, without boxing the value.
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, double value)
+	{
+		return this.put(key, DOUBLE, null, Double.doubleToLongBits(value));
+	}
+
+	/**
+	 * Adds or replace an option defined by a key/value pair, without boxing the value.
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, boolean value)
+	{
+		return this.put(key, BOOLEAN, null, value ? 1L : 0L);
+	}
+
+	/**
+	 * Adds or replace an option defined by a key/value pair.<br/>
+	 * The value is stored boxed, so it is written as {@code Float#toString()} rather than widened to a {@code double} (ie: {@code 0.1} rather than
+	 * {@code 0.10000000149011612}).
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, float value)
+	{
+		return this.put(key, OBJECT, Float.valueOf(value), 0L);
+	}
+
+	/**
+	 * Adds or replace an option defined by a key/value pair.<br/>
+	 * The value is stored boxed, so it is written as the character itself rather than widened to its {@code int} code.
+	 *
+	 * @param key - key with which the specified value is to be associated
+	 * @param value - value to be associated with the specified key
+	 * @return this, for chaining
+	 */
+	public final Options set(String key, char value)
+	{
+		return this.put(key, OBJECT, Character.valueOf(value), 0L);
+	}
+
 	/**
 	 * In addition to {@link #set(String, Object)} this enables to build trees of Options.
 	 *
@@ -292,34 +413,350 @@ public class Options implements IClusterable
 	}
 
 	/**
-	 * Gets a read-only entry set of options
+	 * Gets a read-only entry set of options, in insertion order<br/>
+	 * Primitive values are returned boxed.
 	 *
-	 * @return an unmodifiable set of internal map entries
+	 * @return an unmodifiable set of entries
 	 */
 	public Set<Entry<String, Object>> entries()
 	{
-		return Collections.unmodifiableSet(this.map.entrySet());
+		Set<Entry<String, Object>> entries = new LinkedHashSet<Entry<String, Object>>(this.size * 2);
+
+		for (int i = 0; i < this.size; i++)
+		{
+			entries.add(new SimpleImmutableEntry<String, Object>(this.keys[i], this.valueAt(i)));
+		}
+
+		return Collections.unmodifiableSet(entries);
 	}
 
 	/**
-	 * Gets the JSON representation of the Options
+	 * Gets the version of the options, which changes whenever an option - or an option of a nested {@link Options} - is added, replaced or removed<br/>
+	 * Each modification takes a new stamp from a global counter, so the latest stamp of the tree is greater than any version previously returned.<br/>
+	 * If an option value is neither a {@code String}, a primitive (wrapper), an enum nor an {@code Options}, its changes cannot be tracked and {@code -1} is returned.
+	 *
+	 * @return the version, or {@code -1} if it cannot be determined
+	 */
+	public long getVersion()
+	{
+		long version = this.version;
+
+		for (int i = 0; i < this.size; i++)
+		{
+			if (this.kinds[i] == OBJECT)
+			{
+				Object value = this.values[i];
+
+				if (value instanceof Options)
+				{
+					long nested = ((Options) value).getVersion();
+
+					if (nested < 0)
+					{
+						return -1L;
+					}
+
+					version = Math.max(version, nested); // a sum could come back to a former value when a nested Options is replaced
+				}
+				else if (!Options.isImmutable(value))
+				{
+					return -1L;
+				}
+			}
+		}
+
+		return version;
+	}
+
+	/**
+	 * Gets the index of the key
+	 *
+	 * @param key the key
+	 * @return the index, or {@code -1} if not found
+	 */
+	private int indexOf(String key)
+	{
+		for (int i = 0; i < this.size; i++)
+		{
+			if (this.keys[i].equals(key))
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the (boxed) value at the given index
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	private Object valueAt(int index)
+	{
+		long primitive = this.primitives[index];
+
+		switch (this.kinds[index])
+		{
+		case INT:
+			return Integer.valueOf((int) primitive);
+		case LONG:
+			return Long.valueOf(primitive);
+		case DOUBLE:
+			return Double.valueOf(Double.longBitsToDouble(primitive));
+		case BOOLEAN:
+			return Boolean.valueOf(primitive != 0L);
+		default:
+			return this.values[index];
+		}
+	}
+
+	/**
+	 * Adds or replace an option
+	 *
+	 * @param key the key
+	 * @param kind the slot kind
+	 * @param value the value, for {@link #OBJECT} slots
+	 * @param primitive the value, for primitive slots
+	 * @return this, for chaining
+	 */
+	private Options put(String key, byte kind, Object value, long primitive)
+	{
+		int index = this.indexOf(Args.notNull(key, "key"));
+
+		if (index < 0)
+		{
+			if (this.size == this.keys.length)
+			{
+				this.grow();
+			}
+
+			index = this.size++;
+			this.keys[index] = key;
+		}
+		else if (this.kinds[index] == kind && this.primitives[index] == primitive && (kind != OBJECT || value.equals(this.values[index])))
+		{
+			return this; // unchanged
+		}
+
+		this.kinds[index] = kind;
+		this.values[index] = value;
+		this.primitives[index] = primitive;
+		this.modified();
+
+		return this;
+	}
+
+	/**
+	 * Removes an option
+	 *
+	 * @param key the key
+	 */
+	private void remove(String key)
+	{
+		int index = this.indexOf(key);
+
+		if (index > -1)
+		{
+			int moved = this.size - index - 1;
+
+			if (moved > 0)
+			{
+				System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+				System.arraycopy(this.values, index + 1, this.values, index, moved);
+				System.arraycopy(this.primitives, index + 1, this.primitives, index, moved);
+				System.arraycopy(this.kinds, index + 1, this.kinds, index, moved);
+			}
+
+			this.size--;
+			this.keys[this.size] = null;
+			this.values[this.size] = null;
+			this.modified();
+		}
+	}
+
+	/**
+	 * Allocates the arrays
+	 *
+	 * @param capacity the capacity
+	 */
+	private void allocate(int capacity)
+	{
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+		this.primitives = new long[capacity];
+		this.kinds = new byte[capacity];
+	}
+
+	/**
+	 * Grows the arrays by half of their capacity
+	 */
+	private void grow()
+	{
+		int capacity = this.keys.length + (this.keys.length >> 1);
+
+		this.keys = Arrays.copyOf(this.keys, capacity);
+		this.values = Arrays.copyOf(this.values, capacity);
+		this.primitives = Arrays.copyOf(this.primitives, capacity);
+		this.kinds = Arrays.copyOf(this.kinds, capacity);
+	}
+
+	/**
+	 * Marks the options as modified
+	 */
+	private void modified()
+	{
+		this.version = STAMP.incrementAndGet();
+		this.json = null;
+	}
+
+	/**
+	 * Indicates whether the value is known to be immutable, so its JSON representation can be memoized
+	 *
+	 * @param value the value
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean isImmutable(Object value)
+	{
+		return value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Float || value instanceof Short || value instanceof Byte || value instanceof Character || value instanceof Enum<?>;
+	}
+
+	/**
+	 * Gets the JSON representation of the Options<br/>
+	 * The representation is memoized until an option changes (see {@link #getVersion()})
 	 */
 	@Override
 	public String toString()
+	{
+		long version = this.getVersion();
+
+		if (this.json == null || version < 0 || version != this.jsonVersion)
+		{
+			this.json = this.toJson();
+			this.jsonVersion = version;
+		}
+
+		return this.json;
+	}
+
+	/**
+	 * Builds the JSON representation of the Options
+	 *
+	 * @return the JSON representation
+	 */
+	private String toJson()
 	{
 		StringBuilder builder = new StringBuilder("{ ");
 
-		int i = 0;
-		for (Entry<String, Object> entry : this.map.entrySet())
+		for (int i = 0; i < this.size; i++)
 		{
-			if (i++ > 0)
+			if (i > 0)
 			{
 				builder.append(", ");
 			}
 
-			BuilderUtils.append(builder, entry.getKey(), entry.getValue());
+			JsonWriter.quote(this.keys[i], builder).append(": ");
+
+			long primitive = this.primitives[i];
+
+			switch (this.kinds[i])
+			{
+			case INT:
+				builder.append((int) primitive);
+				break;
+			case LONG:
+				builder.append(primitive);
+				break;
+			case DOUBLE:
+				builder.append(Double.longBitsToDouble(primitive));
+				break;
+			case BOOLEAN:
+				builder.append(primitive != 0L);
+				break;
+			default:
+				builder.append(String.valueOf(this.values[i]));
+			}
 		}
 
 		return builder.append(" }").toString();
 	}
+
+	// Serialization //
+
+	/**
+	 * Writes the options compactly: only the used slots are written, primitives being written unboxed
+	 *
+	 * @param out the {@link ObjectOutputStream}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeInt(this.size);
+
+		for (int i = 0; i < this.size; i++)
+		{
+			byte kind = this.kinds[i];
+
+			out.writeObject(this.keys[i]);
+			out.writeByte(kind);
+
+			switch (kind)
+			{
+			case INT:
+				out.writeInt((int) this.primitives[i]);
+				break;
+			case LONG:
+			case DOUBLE:
+				out.writeLong(this.primitives[i]);
+				break;
+			case BOOLEAN:
+				out.writeBoolean(this.primitives[i] != 0L);
+				break;
+			default:
+				out.writeObject(this.values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Reads the options written by {@link #writeObject(ObjectOutputStream)}
+	 *
+	 * @param in the {@link ObjectInputStream}
+	 * @throws IOException if an I/O error occurs
+	 * @throws ClassNotFoundException if the class of a value cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+
+		int size = in.readInt();
+		this.allocate(Math.max(size, 1));
+		this.jsonVersion = -1L;
+
+		for (int i = 0; i < size; i++)
+		{
+			this.keys[i] = (String) in.readObject();
+			this.kinds[i] = in.readByte();
+
+			switch (this.kinds[i])
+			{
+			case INT:
+				this.primitives[i] = in.readInt();
+				break;
+			case LONG:
+			case DOUBLE:
+				this.primitives[i] = in.readLong();
+				break;
+			case BOOLEAN:
+				this.primitives[i] = in.readBoolean() ? 1L : 0L;
+				break;
+			default:
+				this.values[i] = in.readObject();
+			}
+		}
+
+		this.size = size;
+	}
 }
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.behavior.IBehaviorListener;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.string.Strings;
+
+import com.googlecode.wicket.jquery.core.utils.ScopedWebRequest;
+
+/**
+ * Provides the page-wide endpoint of batched {@link JQueryAjaxBehavior}{@code s}<br/>
+ * Calls of batched behaviors that are raised within the batch window are coalesced client-side into one single request, which is dispatched - in order - to
+ * each {@link JQueryAjaxBehavior} with one combined {@link AjaxRequestTarget}. Each behavior sees its own parameters only, as query or POST parameters
+ * according to the method of its call (see {@link ScopedWebRequest}).<br/>
+ * <br/>
+ * The behavior is added to the page, on demand, when the first batched {@link JQueryAjaxBehavior} is configured (see {@link #get(Page)})
+ *
+ * @author agent
+ */
+public class JQueryAjaxBatchBehavior extends AbstractDefaultAjaxBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/** the parameter containing the number of batched calls */
+	static final String COUNT = "n";
+
+	/** the parameter prefix of batched calls */
+	static final String PREFIX = "b";
+
+	/** the parameter prefix of the batched calls methods */
+	static final String METHOD = "m";
+
+	/** the separator between the behavior id and the component path */
+	static final char SEPARATOR = '|';
+
+	/**
+	 * Gets the {@link JQueryAjaxBatchBehavior} of the supplied page, which will be added if not already present<br/>
+	 * <b>Note:</b> as it may add the behavior, this method should not be called while rendering, but rather in {@code onConfigure}
+	 *
+	 * @param page the {@link Page}
+	 * @return the {@link JQueryAjaxBatchBehavior}
+	 */
+	public static JQueryAjaxBatchBehavior get(Page page)
+	{
+		List<JQueryAjaxBatchBehavior> behaviors = page.getBehaviors(JQueryAjaxBatchBehavior.class);
+
+		if (behaviors.isEmpty())
+		{
+			JQueryAjaxBatchBehavior behavior = new JQueryAjaxBatchBehavior();
+			page.add(behavior);
+
+			return behavior;
+		}
+
+		return behaviors.get(0);
+	}
+
+	/**
+	 * Finds the {@link JQueryAjaxBatchBehavior} of the supplied page
+	 *
+	 * @param page the {@link Page}
+	 * @return the {@link JQueryAjaxBatchBehavior} or {@code null} if not present
+	 */
+	public static JQueryAjaxBatchBehavior find(Page page)
+	{
+		List<JQueryAjaxBatchBehavior> behaviors = page.getBehaviors(JQueryAjaxBatchBehavior.class);
+
+		return behaviors.isEmpty() ? null : behaviors.get(0);
+	}
+
+	/**
+	 * Constructor
+	 */
+	public JQueryAjaxBatchBehavior()
+	{
+		super();
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the key identifying the supplied behavior in a batched call
+	 *
+	 * @param component the {@link Component} the behavior is bound to
+	 * @param behavior the {@link JQueryAjaxBehavior}
+	 * @return the key
+	 */
+	static String getKey(Component component, JQueryAjaxBehavior behavior)
+	{
+		return component.getBehaviorId(behavior) + String.valueOf(SEPARATOR) + component.getPageRelativePath();
+	}
+
+	@Override
+	protected void updateAjaxAttributes(AjaxRequestAttributes attributes)
+	{
+		super.updateAjaxAttributes(attributes);
+
+		attributes.setMethod(AjaxRequestAttributes.Method.POST);
+	}
+
+	@Override
+	protected void respond(AjaxRequestTarget target)
+	{
+		RequestCycle requestCycle = RequestCycle.get();
+		WebRequest request = (WebRequest) requestCycle.getRequest();
+		IRequestParameters parameters = request.getPostParameters();
+
+		int count = parameters.getParameterValue(COUNT).toInt(0);
+
+		for (int i = 0; i < count; i++)
+		{
+			String prefix = PREFIX + i;
+			JQueryAjaxBehavior behavior = this.resolve(parameters.getParameterValue(prefix));
+
+			if (behavior != null)
+			{
+				boolean post = "POST".equalsIgnoreCase(parameters.getParameterValue(METHOD + i).toString());
+				requestCycle.setRequest(ScopedWebRequest.of(request, prefix + ".", post));
+
+				try
+				{
+					behavior.respond(target);
+				}
+				finally
+				{
+					requestCycle.setRequest(request);
+				}
+			}
+		}
+	}
+
+	// Helpers //
+
+	/**
+	 * Resolves the {@link JQueryAjaxBehavior} identified by the supplied key<br/>
+	 * The same checks as a direct listener call are applied: the component and the behavior should be enabled and visible.
+	 *
+	 * @param key the key, as returned by {@link #getKey(Component, JQueryAjaxBehavior)}
+	 * @return the {@link JQueryAjaxBehavior} or {@code null} if not found or not callable
+	 */
+	private JQueryAjaxBehavior resolve(StringValue key)
+	{
+		String value = key.toString();
+
+		if (Strings.isEmpty(value) || value.indexOf(SEPARATOR) < 1)
+		{
+			return null;
+		}
+
+		int index = value.indexOf(SEPARATOR);
+		String path = value.substring(index + 1);
+		Page page = this.getComponent().getPage();
+		Component component = path.isEmpty() ? page : page.get(path);
+
+		if (component != null)
+		{
+			Method method = IBehaviorListener.INTERFACE.getMethod();
+
+			try
+			{
+				Behavior behavior = component.getBehaviorById(Integer.parseInt(value.substring(0, index)));
+
+				if (behavior instanceof JQueryAjaxBehavior && behavior.canCallListenerInterface(component, method))
+				{
+					return (JQueryAjaxBehavior) behavior;
+				}
+			}
+			catch (RuntimeException e)
+			{
+				// invalid or stale behavior id, the call is ignored
+			}
+		}
+
+		return null;
+	}
+}
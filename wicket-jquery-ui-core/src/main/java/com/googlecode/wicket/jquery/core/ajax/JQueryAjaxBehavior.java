@@ -16,16 +16,26 @@
  */
 package com.googlecode.wicket.jquery.core.ajax;
 
+import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
 import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.attributes.AjaxCallListener;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.ajax.attributes.ThrottlingSettings;
 import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.core.util.string.JavaScriptUtils;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.util.time.Duration;
 
+import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.resource.JQueryAjaxBatchResourceReference;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
 
 /**
  * Base class for implementing AJAX GET calls to a {@link IJQueryAjaxAware} source, which is usually a {@link JQueryBehavior}<br />
@@ -133,6 +143,14 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
  * }
  * </pre>
  *
+ * <b>Rate-control</b><br/>
+ * Calls are rate-controlled according to {@link #getPolicy()} - throttle, debounce, latest-only - see {@link JQueryAjaxPolicy}.<br/>
+ * <br/>
+ * <b>Batching</b><br/>
+ * If {@link #getBatchDuration()} is different than {@link Duration#NONE} (see {@link JQueryLibrarySettings#setAjaxBatchDuration(Duration)}), calls raised within
+ * the batch window are coalesced client-side into one single request to the page's {@link JQueryAjaxBatchBehavior}, which dispatches them in order with one
+ * combined {@link AjaxRequestTarget}.
+ *
  * @author Sebastien Briquet - sebfz1
  *
  */
@@ -141,7 +159,7 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	private static final long serialVersionUID = 1L;
 
 	private final IJQueryAjaxAware source;
-	private final Duration duration;
+	private final JQueryAjaxPolicy policy;
 
 	/**
 	 * Constructor
@@ -150,7 +168,7 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	 */
 	public JQueryAjaxBehavior(IJQueryAjaxAware source)
 	{
-		this(source, Duration.NONE);
+		this(source, (JQueryAjaxPolicy) null);
 	}
 
 	/**
@@ -160,18 +178,103 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	 * @param duration {@link Duration}. If different than {@link Duration#NONE}, an {@link ThrottlingSettings} will be added with the specified {@link Duration}.
 	 */
 	public JQueryAjaxBehavior(IJQueryAjaxAware source, Duration duration)
+	{
+		this(source, duration.compareTo(Duration.NONE) > 0 ? JQueryAjaxPolicy.throttle(duration) : null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param source {@link Behavior} to which the event - returned by {@link #newEvent()} - will be broadcasted.
+	 * @param policy the {@link JQueryAjaxPolicy}. If {@code null}, {@link JQueryLibrarySettings#getAjaxPolicy()} applies.
+	 */
+	public JQueryAjaxBehavior(IJQueryAjaxAware source, JQueryAjaxPolicy policy)
 	{
 		this.source = source;
-		this.duration = duration;
+		this.policy = policy;
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * The call is recorded into {@link JQueryLibrarySettings#getCallbackMetrics()}, if any
+	 */
 	@Override
 	protected void respond(AjaxRequestTarget target)
 	{
 		if (this.source != null)
 		{
-			this.source.onAjax(target, this.newEvent());
+			CallbackSample sample = CallbackSample.start(this.getClass(), this.getComponent().getPageRelativePath());
+
+			if (sample != null)
+			{
+				sample.bind();
+			}
+
+			try
+			{
+				this.source.onAjax(target, this.newEvent(JQueryEventParameters.get()));
+			}
+			finally
+			{
+				if (sample != null)
+				{
+					sample.unbind();
+					sample.stop();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the rate-control policy<br/>
+	 * Default is the policy supplied to the constructor, or {@link JQueryLibrarySettings#getAjaxPolicy()}
+	 *
+	 * @return the {@link JQueryAjaxPolicy}
+	 */
+	protected JQueryAjaxPolicy getPolicy()
+	{
+		if (this.policy != null)
+		{
+			return this.policy;
+		}
+
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null)
+		{
+			return settings.getAjaxPolicy();
+		}
+
+		return JQueryAjaxPolicy.NONE;
+	}
+
+	/**
+	 * Gets the batch window<br/>
+	 * If different than {@link Duration#NONE}, calls raised within the window are coalesced into one single request.<br/>
+	 * Default is {@link JQueryLibrarySettings#getAjaxBatchDuration()}
+	 *
+	 * @return the {@link Duration}
+	 */
+	protected Duration getBatchDuration()
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null)
+		{
+			return settings.getAjaxBatchDuration();
 		}
+
+		return Duration.NONE;
+	}
+
+	/**
+	 * Indicates whether calls are batched
+	 *
+	 * @return {@code true} if {@link #getBatchDuration()} is different than {@link Duration#NONE}
+	 */
+	public boolean isBatched()
+	{
+		return this.getBatchDuration().compareTo(Duration.NONE) > 0;
 	}
 
 	/**
@@ -181,15 +284,62 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	 */
 	protected abstract JQueryEvent newEvent();
 
+	/**
+	 * Gets the {@link JQueryEvent} to be broadcasted to the {@link IJQueryAjaxAware} source when the behavior will respond<br/>
+	 * Default implementation calls {@link #newEvent()}; overrides should pass the parameters to the event constructor rather than reading the request again
+	 * 
+	 * @param parameters the {@link JQueryEventParameters} of the current request
+	 * @return the {@link JQueryEvent}
+	 */
+	protected JQueryEvent newEvent(JQueryEventParameters parameters)
+	{
+		return this.newEvent();
+	}
+
+	/**
+	 * {@inheritDoc}<br/>
+	 * Adds the page's {@link JQueryAjaxBatchBehavior} - if calls are batched - before rendering
+	 */
+	@Override
+	public void onConfigure(Component component)
+	{
+		super.onConfigure(component);
+
+		if (this.isBatched())
+		{
+			JQueryAjaxBatchBehavior.get(component.getPage());
+		}
+	}
+
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		if (this.isBatched())
+		{
+			response.render(JavaScriptHeaderItem.forReference(JQueryAjaxBatchResourceReference.get()));
+		}
+	}
+
 	// wicket 6.x //
 	@Override
 	protected void updateAjaxAttributes(AjaxRequestAttributes attributes)
 	{
 		super.updateAjaxAttributes(attributes);
 
-		if (this.duration.compareTo(Duration.NONE) > 0)
+		Component component = this.getComponent();
+		this.getPolicy().updateAjaxAttributes("jquery-" + component.getMarkupId() + "-" + component.getBehaviorId(this), attributes);
+
+		JQueryAjaxBatchBehavior batch = this.isBatched() ? JQueryAjaxBatchBehavior.find(component.getPage()) : null; // added in #onConfigure
+
+		if (batch != null)
 		{
-			attributes.setThrottlingSettings(new ThrottlingSettings("jquery-throttle", this.duration));
+			String url = JavaScriptUtils.escapeQuotes(batch.getCallbackUrl()).toString();
+			String key = JavaScriptUtils.escapeQuotes(JQueryAjaxBatchBehavior.getKey(component, this)).toString();
+			String script = String.format("return JQueryAjaxBatch.add('%s', '%s', %d, attrs);", url, key, this.getBatchDuration().getMilliseconds());
+
+			attributes.getAjaxCallListeners().add(new AjaxCallListener().onPrecondition(script));
 		}
 	}
 
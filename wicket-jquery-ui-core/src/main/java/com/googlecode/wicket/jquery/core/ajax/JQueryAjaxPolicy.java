@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.ajax.AjaxChannel;
+import org.apache.wicket.ajax.attributes.AjaxCallListener;
+import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
+import org.apache.wicket.ajax.attributes.ThrottlingSettings;
+import org.apache.wicket.core.util.string.JavaScriptUtils;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.resource.JQueryAjaxPolicyResourceReference;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+
+/**
+ * Provides the client-side rate-control policy of a {@link JQueryAjaxBehavior}<br/>
+ * <br/>
+ * Available modes are:
+ * <ul>
+ * <li>{@link Mode#THROTTLE}: at most one call per period, the latest call of the period wins</li>
+ * <li>{@link Mode#DEBOUNCE}: (trailing) the call is sent once no other call has been raised during the period, the latest call wins</li>
+ * <li>{@link Mode#DEBOUNCE_LEADING}: the first call is sent immediately, subsequent calls are dropped until the period elapsed without any call</li>
+ * <li>{@link Mode#LATEST}: only the latest call is kept; a pending call is dropped and the in-flight call is aborted</li>
+ * </ul>
+ * A policy can be set globally (see {@link JQueryLibrarySettings#setAjaxPolicy(JQueryAjaxPolicy)}) or per behavior.
+ *
+ * @author agent
+ */
+public class JQueryAjaxPolicy implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Rate-control modes
+	 */
+	public enum Mode
+	{
+		NONE, THROTTLE, DEBOUNCE, DEBOUNCE_LEADING, LATEST
+	}
+
+	/** no rate-control */
+	public static final JQueryAjaxPolicy NONE = new JQueryAjaxPolicy(Mode.NONE, Duration.NONE);
+
+	/**
+	 * Gets a {@link Mode#THROTTLE} policy
+	 *
+	 * @param duration the period
+	 * @return a new {@link JQueryAjaxPolicy}
+	 */
+	public static JQueryAjaxPolicy throttle(Duration duration)
+	{
+		return new JQueryAjaxPolicy(Mode.THROTTLE, duration);
+	}
+
+	/**
+	 * Gets a (trailing) {@link Mode#DEBOUNCE} policy
+	 *
+	 * @param duration the quiet period
+	 * @return a new {@link JQueryAjaxPolicy}
+	 */
+	public static JQueryAjaxPolicy debounce(Duration duration)
+	{
+		return new JQueryAjaxPolicy(Mode.DEBOUNCE, duration);
+	}
+
+	/**
+	 * Gets a {@link Mode#DEBOUNCE_LEADING} policy
+	 *
+	 * @param duration the quiet period
+	 * @return a new {@link JQueryAjaxPolicy}
+	 */
+	public static JQueryAjaxPolicy debounceLeading(Duration duration)
+	{
+		return new JQueryAjaxPolicy(Mode.DEBOUNCE_LEADING, duration);
+	}
+
+	/**
+	 * Gets a {@link Mode#LATEST} policy
+	 *
+	 * @return a new {@link JQueryAjaxPolicy}
+	 */
+	public static JQueryAjaxPolicy latest()
+	{
+		return new JQueryAjaxPolicy(Mode.LATEST, Duration.NONE);
+	}
+
+	private final Mode mode;
+	private final Duration duration;
+
+	/**
+	 * Constructor
+	 *
+	 * @param mode the {@link Mode}
+	 * @param duration the period, ignored for {@link Mode#NONE} and {@link Mode#LATEST}
+	 */
+	public JQueryAjaxPolicy(Mode mode, Duration duration)
+	{
+		this.mode = Args.notNull(mode, "mode");
+		this.duration = Args.notNull(duration, "duration");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link Mode}
+	 *
+	 * @return the {@link Mode}
+	 */
+	public Mode getMode()
+	{
+		return this.mode;
+	}
+
+	/**
+	 * Gets the period
+	 *
+	 * @return the {@link Duration}
+	 */
+	public Duration getDuration()
+	{
+		return this.duration;
+	}
+
+	// Methods //
+
+	/**
+	 * Updates the ajax attributes of a behavior according to the policy
+	 *
+	 * @param id the unique id of the behavior, used to identify its calls client-side
+	 * @param attributes the {@link AjaxRequestAttributes}
+	 */
+	public void updateAjaxAttributes(String id, AjaxRequestAttributes attributes)
+	{
+		boolean timed = this.duration.compareTo(Duration.NONE) > 0;
+
+		switch (this.mode)
+		{
+		case THROTTLE:
+			if (timed)
+			{
+				attributes.setThrottlingSettings(new ThrottlingSettings(id, this.duration, false));
+			}
+			break;
+
+		case DEBOUNCE:
+			if (timed)
+			{
+				attributes.setThrottlingSettings(new ThrottlingSettings(id, this.duration, true));
+			}
+			break;
+
+		case DEBOUNCE_LEADING:
+			if (timed)
+			{
+				String script = String.format("return JQueryAjaxPolicy.leading('%s', %d);", JavaScriptUtils.escapeQuotes(id), this.duration.getMilliseconds());
+				attributes.getAjaxCallListeners().add(new PolicyAjaxCallListener().onPrecondition(script));
+			}
+			break;
+
+		case LATEST:
+			String escaped = JavaScriptUtils.escapeQuotes(id).toString();
+			attributes.setChannel(new AjaxChannel(id, AjaxChannel.Type.DROP));
+			attributes.getAjaxCallListeners().add(new PolicyAjaxCallListener() // lf
+					.onInit(String.format("JQueryAjaxPolicy.abort('%s');", escaped))
+					.onBeforeSend(String.format("JQueryAjaxPolicy.track('%s', jqXHR);", escaped))
+					.onComplete(String.format("JQueryAjaxPolicy.untrack('%s', jqXHR);", escaped)));
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.mode + "(" + this.duration + ")";
+	}
+
+	/**
+	 * {@link AjaxCallListener} that contributes the policy javascript
+	 */
+	private static class PolicyAjaxCallListener extends AjaxCallListener
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void renderHead(Component component, IHeaderResponse response)
+		{
+			super.renderHead(component, response);
+
+			response.render(JavaScriptHeaderItem.forReference(JQueryAjaxPolicyResourceReference.get()));
+		}
+	}
+}
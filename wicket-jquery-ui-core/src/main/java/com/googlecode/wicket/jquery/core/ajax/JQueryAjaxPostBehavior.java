@@ -22,10 +22,12 @@ import org.apache.wicket.Component;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes.Method;
 import org.apache.wicket.markup.html.form.FormComponent;
+import org.apache.wicket.util.time.Duration;
 
 /**
  * Base class for implementing AJAX POST calls on JQuery {@link Component}<br/>
- * This behavior post a {@link FormComponent} so the receiver of the event can get the component back.
+ * This behavior post a {@link FormComponent} so the receiver of the event can get the component back.<br/>
+ * Posted calls are never batched.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -47,6 +49,12 @@ public abstract class JQueryAjaxPostBehavior extends JQueryAjaxBehavior
 		this.components = components;
 	}
 
+	@Override
+	protected Duration getBatchDuration()
+	{
+		return Duration.NONE; // form components are posted, the call cannot be batched
+	}
+
 	// wicket 6.x //
 	@Override
 	protected void updateAjaxAttributes(AjaxRequestAttributes attributes)
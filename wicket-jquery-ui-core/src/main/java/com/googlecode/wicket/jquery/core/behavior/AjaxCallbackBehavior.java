@@ -16,24 +16,67 @@
  */
 package com.googlecode.wicket.jquery.core.behavior;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.TreeSet;
+
 import org.apache.wicket.Application;
+import org.apache.wicket.Component;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.behavior.AbstractAjaxBehavior;
+import org.apache.wicket.core.util.string.JavaScriptUtils;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.request.cycle.RequestCycle;
-import org.apache.wicket.request.handler.TextRequestHandler;
+import org.apache.wicket.request.handler.EmptyRequestHandler;
+import org.apache.wicket.request.http.WebRequest;
 import org.apache.wicket.settings.RequestCycleSettings;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.time.Time;
+
+import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.resource.JQueryFanOutResourceReference;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+import com.googlecode.wicket.jquery.core.utils.ScopedWebRequest;
 
 /**
  * Provides an ajax endpoint that sends a "text" response<br/>
  * The default content type is "application/json" <br/>
- * The default encoding is the current {@code Application}'s {@link RequestCycleSettings} 
+ * The default encoding is the current {@code Application}'s {@link RequestCycleSettings}<br/>
+ * <br/>
+ * The response is streamed to the client through a {@link WriterRequestHandler}. Implementations should either override {@link #writeResponse(IRequestParameters, Writer)} (preferred) or {@link #getResponse(IRequestParameters)}<br/>
+ * <br/>
+ * <b>HTTP caching:</b> conditional requests are supported by overriding {@link #getVersion(IRequestParameters)} and/or {@link #getLastModified(IRequestParameters)}.
+ * Responses are then sent with validators and {@link #getCacheControl()}, and a {@code 304 Not Modified} is sent - without computing the response - if the
+ * client already holds the current version (see {@link ConditionalRequestHandler}).<br/>
+ * <br/>
+ * <b>Compression:</b> responses above {@link #getCompressionThreshold()} are gzip'ed, if the client accepts it.<br/>
+ * <br/>
+ * <b>Asynchronous responses:</b> if {@link #newAsyncResponseWriter(IRequestParameters)} supplies a writer and an executor is configured (see
+ * {@link JQueryLibrarySettings#getAsyncExecutor()}), the response is written by the executor, outside of the page lock (see {@link AsyncRequestHandler}).<br/>
+ * <br/>
+ * <b>Fan-out:</b> if {@link #isFanOut()}, the initial read is gathered with the other initial reads of the page into one single request; the responses
+ * having an asynchronous writer are computed in parallel (see {@link AjaxCallbackFanOutBehavior}).<br/>
+ * <br/>
+ * <b>Metrics:</b> if {@link JQueryLibrarySettings#getCallbackMetrics()} is set, each invocation is recorded as a {@link CallbackSample}.
  * 
  * @author Sebastien Briquet - sebfz1
- * @see TextRequestHandler
+ * @see WriterRequestHandler
+ * @see ConditionalRequestHandler
  */
 public abstract class AjaxCallbackBehavior extends AbstractAjaxBehavior
 {
 	private static final long serialVersionUID = 1L;
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
 
 	private final String mimetype;
 	private final String encoding;
@@ -70,15 +113,191 @@ public abstract class AjaxCallbackBehavior extends AbstractAjaxBehavior
 		this.encoding = encoding;
 	}
 
+	/**
+	 * Gets the content type
+	 *
+	 * @return the content type
+	 */
+	public String getMimetype()
+	{
+		return this.mimetype;
+	}
+
+	/**
+	 * Gets the encoding
+	 *
+	 * @return the encoding
+	 */
+	public String getEncoding()
+	{
+		return this.encoding;
+	}
+
 	// Methods //
 
 	/**
-	 * Gets the response text
+	 * Gets the response text<br/>
+	 * <b>Note:</b> this method is only called by the default {@link #writeResponse(IRequestParameters, Writer)} implementation
+	 * 
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the response text
+	 * @deprecated override {@link #writeResponse(IRequestParameters, Writer)} instead, which streams the response rather than buffering it into a {@code String}
+	 */
+	@Deprecated
+	protected String getResponse(IRequestParameters parameters)
+	{
+		throw new UnsupportedOperationException("Either #getResponse or #writeResponse should be overridden");
+	}
+
+	/**
+	 * Writes the response text to the supplied {@link Writer}, which is directly bound to the response's output stream
 	 * 
 	 * @param parameters the {@link IRequestParameters}
+	 * @param writer the {@link Writer}
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
+	{
+		writer.write(this.getResponse(parameters));
+	}
+
+	/**
+	 * Renders the response text for the supplied parameters, ie: to embed the response into the page and save the first round trip<br/>
+	 * This method is not called by the behavior itself.
+	 *
+	 * @param parameters the {@link IRequestParameters}
 	 * @return the response text
 	 */
-	protected abstract String getResponse(IRequestParameters parameters);
+	public final String renderResponse(IRequestParameters parameters)
+	{
+		StringWriter writer = new StringWriter();
+
+		try
+		{
+			this.writeResponse(parameters, writer);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to render the response", e);
+		}
+
+		return writer.toString();
+	}
+
+	/**
+	 * Gets a cheap version of the response for the supplied parameters, typically a modification counter of the underlying model<br/>
+	 * The response {@code ETag} is derived from the version and the request parameters.
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return {@code null} by default, meaning that no {@code ETag} is sent
+	 */
+	protected String getVersion(IRequestParameters parameters)
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the last modification time of the response for the supplied parameters
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return {@code null} by default, meaning that no {@code Last-Modified} header is sent
+	 */
+	protected Time getLastModified(IRequestParameters parameters)
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the {@code Cache-Control} header value, sent along with response validators<br/>
+	 * The default value allows the browser to keep the response, but requires it to be revalidated on each use.
+	 *
+	 * @return "private, no-cache" by default
+	 */
+	protected String getCacheControl()
+	{
+		return "private, no-cache";
+	}
+
+	/**
+	 * Gets the min size of the response to be gzip'ed<br/>
+	 * Default is {@link JQueryLibrarySettings#getCompressionThreshold()}
+	 *
+	 * @return the threshold, or {@code null} if the response should not be compressed
+	 */
+	protected Bytes getCompressionThreshold()
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null)
+		{
+			return settings.getCompressionThreshold();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Indicates whether the initial read of this callback can be gathered with the other initial reads of the page (see {@link AjaxCallbackFanOutBehavior})<br/>
+	 * The read is computed in parallel of the other ones only if {@link #newAsyncResponseWriter(IRequestParameters)} supplies a writer, by the request thread
+	 * otherwise. Only reads issued through {@code JQueryFanOut.read} (ie: Kendo UI data-sources) are concerned; conditional requests and caching do not apply to
+	 * fanned-out reads. Reads are only computed in parallel if {@link JQueryLibrarySettings#getFanOutExecutor()} is set.<br/>
+	 * <b>Note:</b> while the read is computed, {@code RequestCycle.get().getRequest()} is scoped to that read (see {@link ScopedWebRequest}): its query
+	 * parameters are the read parameters and it has no POST parameters. Implementations should nevertheless rely on the supplied parameters only.<br/>
+	 * Default is {@code false}
+	 *
+	 * @return {@code true} or {@code false}
+	 */
+	protected boolean isFanOut()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets a new {@link IResponseWriter} that will write the response asynchronously<br/>
+	 * This method is called by the request thread, while holding the page lock: the implementation should capture a snapshot of the state needed to write the
+	 * response (ie: parameters, sort state). The returned writer is then invoked outside of the request cycle and should not access components, models or
+	 * session.
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return {@code null} by default, meaning that the response is written synchronously
+	 */
+	protected IResponseWriter newAsyncResponseWriter(IRequestParameters parameters)
+	{
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}<br/>
+	 * Adds the page's {@link AjaxCallbackFanOutBehavior} - if the initial read is fanned-out - before rendering
+	 */
+	@Override
+	public void onConfigure(Component component)
+	{
+		super.onConfigure(component);
+
+		if (this.isFanOut())
+		{
+			AjaxCallbackFanOutBehavior.get(component.getPage());
+		}
+	}
+
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		AjaxCallbackFanOutBehavior behavior = this.isFanOut() ? AjaxCallbackFanOutBehavior.find(component.getPage()) : null;
+
+		if (behavior != null)
+		{
+			String url = JavaScriptUtils.escapeQuotes(this.getCallbackUrl()).toString();
+			String fanOutUrl = JavaScriptUtils.escapeQuotes(behavior.getCallbackUrl()).toString();
+			String key = JavaScriptUtils.escapeQuotes(AjaxCallbackFanOutBehavior.getKey(component, this)).toString();
+
+			response.render(JavaScriptHeaderItem.forReference(JQueryFanOutResourceReference.get()));
+			response.render(JavaScriptHeaderItem.forScript(String.format("JQueryFanOut.register('%s', '%s', '%s');", url, fanOutUrl, key), null));
+		}
+	}
 
 	// Events //
 
@@ -91,6 +310,194 @@ public abstract class AjaxCallbackBehavior extends AbstractAjaxBehavior
 	public void onRequest()
 	{
 		RequestCycle requestCycle = RequestCycle.get();
-		requestCycle.scheduleRequestHandlerAfterCurrent(new TextRequestHandler(this.mimetype, this.encoding, this.getResponse(requestCycle.getRequest().getQueryParameters())));
+		IRequestParameters parameters = requestCycle.getRequest().getQueryParameters();
+
+		// metrics //
+		CallbackSample sample = this.newSample();
+		boolean notModified = false;
+
+		if (sample != null)
+		{
+			sample.bind();
+		}
+
+		try
+		{
+			// conditional request //
+			String version = this.getVersion(parameters);
+			Time lastModified = this.getLastModified(parameters);
+			String etag = version != null ? AjaxCallbackBehavior.newETag(version, parameters) : null;
+
+			if (etag != null || lastModified != null)
+			{
+				notModified = ConditionalRequestHandler.isNotModified((WebRequest) requestCycle.getRequest(), etag, lastModified);
+			}
+
+			if (notModified)
+			{
+				// the response is neither computed nor captured //
+				requestCycle.scheduleRequestHandlerAfterCurrent(new ConditionalRequestHandler(new EmptyRequestHandler(), etag, lastModified, this.getCacheControl()));
+
+				return;
+			}
+
+			IRequestHandler handler = this.newAsyncRequestHandler(parameters, sample);
+
+			if (handler == null)
+			{
+				handler = this.newRequestHandler(parameters);
+
+				if (sample != null)
+				{
+					handler = new SampledRequestHandler(handler, sample);
+				}
+			}
+
+			if (etag != null || lastModified != null)
+			{
+				handler = new ConditionalRequestHandler(handler, etag, lastModified, this.getCacheControl());
+			}
+
+			requestCycle.scheduleRequestHandlerAfterCurrent(handler);
+		}
+		finally
+		{
+			if (sample != null)
+			{
+				sample.unbind(); // bound again by the handler
+
+				if (notModified)
+				{
+					sample.stop(); // no handler will stop it
+				}
+			}
+		}
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link IRequestHandler} that will write the response
+	 * 
+	 * @param parameters the {@link IRequestParameters}
+	 * @return a new {@code IRequestHandler}
+	 */
+	protected IRequestHandler newRequestHandler(final IRequestParameters parameters)
+	{
+		return new WriterRequestHandler(this.mimetype, this.encoding, this.getCompressionThreshold()) {
+
+			@Override
+			protected void write(Writer writer) throws IOException
+			{
+				AjaxCallbackBehavior.this.writeResponse(parameters, writer);
+			}
+		};
+	}
+
+	/**
+	 * Gets a new {@link CallbackSample}, if metrics are enabled
+	 *
+	 * @return a new {@link CallbackSample} or {@code null}
+	 */
+	final CallbackSample newSample()
+	{
+		return CallbackSample.start(this.getClass(), this.getComponent().getPageRelativePath());
+	}
+
+	/**
+	 * Gets a new {@link AsyncRequestHandler}, if the response can be written asynchronously
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @param sample the {@link CallbackSample}, or {@code null}
+	 * @return a new {@link AsyncRequestHandler} or {@code null}
+	 */
+	private IRequestHandler newAsyncRequestHandler(IRequestParameters parameters, CallbackSample sample)
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null && settings.getAsyncExecutor() != null)
+		{
+			IResponseWriter writer = this.newAsyncResponseWriter(parameters);
+
+			if (writer != null)
+			{
+				return new AsyncRequestHandler(this.mimetype, this.encoding, writer, settings.getAsyncExecutor(), settings.getAsyncTimeout(), this.getCompressionThreshold() != null, sample);
+			}
+		}
+
+		return null;
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets a new (weak) entity tag, derived from the version and the request parameters<br/>
+	 * The tag is a SHA-256 digest of the version and of the parameters, sorted by name; the anti-cache parameter is ignored.
+	 *
+	 * @param version the version
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the quoted entity tag
+	 */
+	private static String newETag(String version, IRequestParameters parameters)
+	{
+		MessageDigest digest;
+
+		try
+		{
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new WicketRuntimeException(e); // SHA-256 is supported by every JRE
+		}
+
+		AjaxCallbackBehavior.update(digest, version);
+
+		Set<String> names = new TreeSet<String>(parameters.getParameterNames());
+
+		for (String name : names)
+		{
+			if (!WebRequest.PARAM_AJAX_REQUEST_ANTI_CACHE.equals(name))
+			{
+				for (StringValue value : parameters.getParameterValues(name))
+				{
+					AjaxCallbackBehavior.update(digest, name);
+					AjaxCallbackBehavior.update(digest, value.toString());
+				}
+			}
+		}
+
+		StringBuilder builder = new StringBuilder("W/\"");
+
+		for (byte b : digest.digest())
+		{
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Updates the digest with a length-prefixed string, so that consecutive strings cannot be confused
+	 *
+	 * @param digest the {@link MessageDigest}
+	 * @param value the string, which may be {@code null}
+	 */
+	private static void update(MessageDigest digest, String value)
+	{
+		if (value == null)
+		{
+			digest.update((byte) 0xFF); // distinct from an empty string
+		}
+		else
+		{
+			byte[] bytes = value.getBytes(UTF_8);
+
+			digest.update((byte) (bytes.length >>> 24));
+			digest.update((byte) (bytes.length >>> 16));
+			digest.update((byte) (bytes.length >>> 8));
+			digest.update((byte) bytes.length);
+			digest.update(bytes);
+		}
 	}
 }
@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.behavior.AbstractAjaxBehavior;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.behavior.IBehaviorListener;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.util.lang.Generics;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.string.Strings;
+import org.apache.wicket.util.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+import com.googlecode.wicket.jquery.core.utils.ScopedWebRequest;
+
+/**
+ * Provides the page-wide endpoint of fanned-out {@link AjaxCallbackBehavior}{@code s}<br/>
+ * The initial reads of the page's data-sources are gathered client-side into one single request, and are returned together as a JSON array of
+ * {@code { status, data }} objects.<br/>
+ * <br/>
+ * Only the reads of behaviors declaring that their response can be written outside of the request cycle - by supplying an
+ * {@link AjaxCallbackBehavior#newAsyncResponseWriter(IRequestParameters)} - are computed in parallel by {@link JQueryLibrarySettings#getFanOutExecutor()}; their
+ * state is captured by the request thread. Other reads are computed one after the other by the request thread, so no page-bound work is run concurrently nor
+ * left running once the request is over.<br/>
+ * While a read is computed or captured by the request thread, the request of the {@link RequestCycle} is scoped to that read (see {@link ScopedWebRequest}),
+ * so it does not expose the combined request parameters.<br/>
+ * <br/>
+ * The behavior is added to the page, on demand, by the first fanned-out {@link AjaxCallbackBehavior} being configured (see {@link #get(Page)})
+ *
+ * @author agent
+ */
+public class AjaxCallbackFanOutBehavior extends AbstractAjaxBehavior
+{
+	private static final long serialVersionUID = 1L;
+	private static final Logger LOG = LoggerFactory.getLogger(AjaxCallbackFanOutBehavior.class);
+
+	/** the parameter containing the number of reads */
+	static final String COUNT = "n";
+
+	/** the parameter prefix of reads */
+	static final String PREFIX = "b";
+
+	/** the separator between the behavior id and the component path */
+	static final char SEPARATOR = '|';
+
+	private static final int SC_OK = 200;
+	private static final int SC_NOT_FOUND = 404;
+	private static final int SC_ERROR = 500;
+	private static final int SC_TIMEOUT = 504;
+
+	/**
+	 * Gets the {@link AjaxCallbackFanOutBehavior} of the supplied page, which will be added if not already present<br/>
+	 * <b>Note:</b> as it may add the behavior, this method should not be called while rendering, but rather in {@code onConfigure}
+	 *
+	 * @param page the {@link Page}
+	 * @return the {@link AjaxCallbackFanOutBehavior}
+	 */
+	public static AjaxCallbackFanOutBehavior get(Page page)
+	{
+		List<AjaxCallbackFanOutBehavior> behaviors = page.getBehaviors(AjaxCallbackFanOutBehavior.class);
+
+		if (behaviors.isEmpty())
+		{
+			AjaxCallbackFanOutBehavior behavior = new AjaxCallbackFanOutBehavior();
+			page.add(behavior);
+
+			return behavior;
+		}
+
+		return behaviors.get(0);
+	}
+
+	/**
+	 * Finds the {@link AjaxCallbackFanOutBehavior} of the supplied page
+	 *
+	 * @param page the {@link Page}
+	 * @return the {@link AjaxCallbackFanOutBehavior}, or {@code null} if not present
+	 */
+	public static AjaxCallbackFanOutBehavior find(Page page)
+	{
+		List<AjaxCallbackFanOutBehavior> behaviors = page.getBehaviors(AjaxCallbackFanOutBehavior.class);
+
+		return behaviors.isEmpty() ? null : behaviors.get(0);
+	}
+
+	/**
+	 * Constructor
+	 */
+	public AjaxCallbackFanOutBehavior()
+	{
+		super();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the max time to wait for the reads to complete; reads that are not completed in time are sent back with a 504 status and are retried by the client<br/>
+	 * Default is {@link JQueryLibrarySettings#getAsyncTimeout()}
+	 *
+	 * @return the {@link Duration}
+	 */
+	protected Duration getTimeout()
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null)
+		{
+			return settings.getAsyncTimeout();
+		}
+
+		return Duration.seconds(30);
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the key identifying the supplied behavior in a fanned-out request
+	 *
+	 * @param component the {@link Component} the behavior is bound to
+	 * @param behavior the {@link AjaxCallbackBehavior}
+	 * @return the key
+	 */
+	static String getKey(Component component, AjaxCallbackBehavior behavior)
+	{
+		return component.getBehaviorId(behavior) + String.valueOf(SEPARATOR) + component.getPageRelativePath();
+	}
+
+	// Events //
+
+	@Override
+	public void onRequest()
+	{
+		RequestCycle requestCycle = RequestCycle.get();
+		WebRequest request = (WebRequest) requestCycle.getRequest();
+		IRequestParameters parameters = request.getPostParameters();
+
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+		Executor executor = settings != null ? settings.getFanOutExecutor() : null;
+
+		int count = parameters.getParameterValue(COUNT).toInt(0);
+		List<FutureTask<String>> tasks = Generics.newArrayList(count);
+		List<FutureTask<String>> sequential = Generics.newArrayList(count);
+
+		for (int i = 0; i < count; i++)
+		{
+			String prefix = PREFIX + i;
+			AjaxCallbackBehavior behavior = this.resolve(parameters.getParameterValue(prefix));
+
+			if (behavior != null)
+			{
+				ScopedWebRequest scoped = ScopedWebRequest.of(request, prefix + ".", false);
+				IResponseWriter writer = null;
+				CallbackSample sample = null;
+
+				if (executor != null)
+				{
+					sample = behavior.newSample();
+
+					if (sample != null)
+					{
+						sample.bind(); // the provider time is recorded by the request thread
+					}
+
+					requestCycle.setRequest(scoped);
+
+					try
+					{
+						writer = behavior.newAsyncResponseWriter(scoped.getQueryParameters());
+					}
+					finally
+					{
+						requestCycle.setRequest(request);
+
+						if (sample != null)
+						{
+							sample.unbind();
+						}
+					}
+				}
+
+				if (writer != null)
+				{
+					FutureTask<String> task = AjaxCallbackFanOutBehavior.newTask(writer, sample);
+					AjaxCallbackFanOutBehavior.execute(executor, task);
+					tasks.add(task);
+				}
+				else
+				{
+					FutureTask<String> task = AjaxCallbackFanOutBehavior.newTask(behavior, scoped);
+					sequential.add(task);
+					tasks.add(task);
+				}
+			}
+			else
+			{
+				tasks.add(null);
+			}
+		}
+
+		for (FutureTask<String> task : sequential)
+		{
+			task.run(); // by the request thread
+		}
+
+		requestCycle.scheduleRequestHandlerAfterCurrent(this.newRequestHandler(tasks));
+	}
+
+	// Helpers //
+
+	/**
+	 * Executes the task by the supplied executor, or by the request thread if the executor is not available
+	 *
+	 * @param executor the {@link Executor}, or {@code null}
+	 * @param task the task
+	 */
+	private static void execute(Executor executor, FutureTask<String> task)
+	{
+		if (executor != null)
+		{
+			try
+			{
+				executor.execute(task);
+
+				return;
+			}
+			catch (RejectedExecutionException e)
+			{
+				LOG.debug("Read rejected by the executor, it will be run by the request thread");
+			}
+		}
+
+		task.run();
+	}
+
+	/**
+	 * Resolves the {@link AjaxCallbackBehavior} identified by the supplied key<br/>
+	 * The same checks as a direct listener call are applied: the component and the behavior should be enabled and visible.
+	 *
+	 * @param key the key, as returned by {@link #getKey(Component, AjaxCallbackBehavior)}
+	 * @return the {@link AjaxCallbackBehavior} or {@code null} if not found or not callable
+	 */
+	private AjaxCallbackBehavior resolve(StringValue key)
+	{
+		String value = key.toString();
+
+		if (Strings.isEmpty(value) || value.indexOf(SEPARATOR) < 1)
+		{
+			return null;
+		}
+
+		int index = value.indexOf(SEPARATOR);
+		String path = value.substring(index + 1);
+		Page page = this.getComponent().getPage();
+		Component component = path.isEmpty() ? page : page.get(path);
+
+		if (component != null)
+		{
+			Method method = IBehaviorListener.INTERFACE.getMethod();
+
+			try
+			{
+				Behavior behavior = component.getBehaviorById(Integer.parseInt(value.substring(0, index)));
+
+				if (behavior instanceof AjaxCallbackBehavior && behavior.canCallListenerInterface(component, method))
+				{
+					return (AjaxCallbackBehavior) behavior;
+				}
+			}
+			catch (RuntimeException e)
+			{
+				// invalid or stale behavior id, the read is retried individually
+			}
+		}
+
+		return null;
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new task that computes the response of the supplied behavior<br/>
+	 * The task should be run by the request thread; the request of the {@link RequestCycle} is replaced by the scoped request while the task runs.
+	 *
+	 * @param behavior the {@link AjaxCallbackBehavior}
+	 * @param request the {@link ScopedWebRequest} of the read
+	 * @return a new {@link FutureTask}
+	 */
+	private static FutureTask<String> newTask(final AjaxCallbackBehavior behavior, final ScopedWebRequest request)
+	{
+		final CallbackSample sample = behavior.newSample();
+
+		return AjaxCallbackFanOutBehavior.newTask(new IResponseWriter() {
+
+			@Override
+			public void write(Writer writer) throws IOException
+			{
+				RequestCycle requestCycle = RequestCycle.get();
+				Request original = requestCycle.getRequest();
+				requestCycle.setRequest(request);
+
+				try
+				{
+					behavior.writeResponse(request.getQueryParameters(), writer);
+				}
+				finally
+				{
+					requestCycle.setRequest(original);
+				}
+			}
+		}, sample);
+	}
+
+	/**
+	 * Gets a new task that computes a response by the supplied {@link IResponseWriter}<br/>
+	 * The task can be run by an executor thread if the writer is an asynchronous one (see {@link AjaxCallbackBehavior#newAsyncResponseWriter(IRequestParameters)}).
+	 *
+	 * @param writer the {@link IResponseWriter}
+	 * @param sample the {@link CallbackSample}, or {@code null}
+	 * @return a new {@link FutureTask}
+	 */
+	private static FutureTask<String> newTask(final IResponseWriter writer, final CallbackSample sample)
+	{
+		return new FutureTask<String>(new Callable<String>() {
+
+			@Override
+			public String call() throws Exception
+			{
+				if (sample != null)
+				{
+					sample.bind();
+				}
+
+				try
+				{
+					StringWriter buffer = new StringWriter();
+					writer.write(buffer);
+					CallbackSample.recordSize(buffer.getBuffer().length()); // approximated by the number of chars
+
+					return buffer.toString();
+				}
+				finally
+				{
+					if (sample != null)
+					{
+						sample.unbind();
+						sample.stop();
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Gets a new {@link WriterRequestHandler} that will write the results of the tasks
+	 *
+	 * @param tasks the tasks, which may contain {@code null} elements
+	 * @return a new {@link WriterRequestHandler}
+	 */
+	private WriterRequestHandler newRequestHandler(final List<FutureTask<String>> tasks)
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+		String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
+		final long deadline = System.currentTimeMillis() + this.getTimeout().getMilliseconds();
+
+		return new WriterRequestHandler("application/json", encoding, settings != null ? settings.getCompressionThreshold() : null) {
+
+			@Override
+			protected void write(Writer writer) throws IOException
+			{
+				JsonWriter json = new JsonWriter(writer);
+				json.beginArray();
+
+				for (FutureTask<String> task : tasks)
+				{
+					json.beginObject();
+
+					if (task == null)
+					{
+						json.property("status", SC_NOT_FOUND);
+					}
+					else
+					{
+						try
+						{
+							String data = task.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+
+							json.property("status", SC_OK);
+							json.key("data").raw(data);
+						}
+						catch (TimeoutException e)
+						{
+							task.cancel(true); // only asynchronous writers can time out, they do not rely on the page
+							json.property("status", SC_TIMEOUT);
+						}
+						catch (ExecutionException e)
+						{
+							LOG.error("Unable to compute the fanned-out response", e.getCause());
+							json.property("status", SC_ERROR);
+						}
+						catch (InterruptedException e)
+						{
+							Thread.currentThread().interrupt();
+							json.property("status", SC_ERROR);
+						}
+					}
+
+					json.endObject();
+				}
+
+				json.endArray();
+			}
+		};
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils.GzipOutputStream;
+
+/**
+ * Provides a {@link IRequestHandler} that writes the response asynchronously, using the Servlet 3 {@code AsyncContext}<br/>
+ * The response headers are sent by the request thread - before the async processing starts - the {@link IResponseWriter} is then invoked by the supplied
+ * {@link Executor} - outside of the request cycle, hence without holding the page lock - and the async context is completed once the response is written.<br/>
+ * If the async processing times out or fails before, the context is completed by the container thread and the pending write is skipped (or aborted).<br/>
+ * <br/>
+ * If the container request does not support async processing (ie: the Wicket filter is not declared as {@code async-supported}), the response is written
+ * synchronously.<br/>
+ * <b>Note:</b> as the response size is not known when headers are sent, the response is gzip'ed whatever its size if compression is enabled and accepted.
+ *
+ * @author agent
+ */
+public class AsyncRequestHandler implements IRequestHandler
+{
+	private static final Logger LOG = LoggerFactory.getLogger(AsyncRequestHandler.class);
+	private static final int BUFFER_SIZE = 8192;
+
+	private final String mimetype;
+	private final String encoding;
+	private final IResponseWriter writer;
+	private final Executor executor;
+	private final Duration timeout;
+	private final boolean compression;
+	private final CallbackSample sample;
+
+	/**
+	 * Constructor
+	 *
+	 * @param mimetype the content type
+	 * @param encoding the encoding
+	 * @param writer the {@link IResponseWriter}
+	 * @param executor the {@link Executor} that will invoke the writer
+	 * @param timeout the async timeout
+	 * @param compression whether the response can be gzip'ed
+	 */
+	public AsyncRequestHandler(String mimetype, String encoding, IResponseWriter writer, Executor executor, Duration timeout, boolean compression)
+	{
+		this(mimetype, encoding, writer, executor, timeout, compression, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param mimetype the content type
+	 * @param encoding the encoding
+	 * @param writer the {@link IResponseWriter}
+	 * @param executor the {@link Executor} that will invoke the writer
+	 * @param timeout the async timeout
+	 * @param compression whether the response can be gzip'ed
+	 * @param sample the {@link CallbackSample} to be recorded once the response is written, or {@code null}
+	 */
+	public AsyncRequestHandler(String mimetype, String encoding, IResponseWriter writer, Executor executor, Duration timeout, boolean compression, CallbackSample sample)
+	{
+		this.mimetype = Args.notEmpty(mimetype, "mimetype");
+		this.encoding = Args.notEmpty(encoding, "encoding");
+		this.writer = Args.notNull(writer, "writer");
+		this.executor = Args.notNull(executor, "executor");
+		this.timeout = Args.notNull(timeout, "timeout");
+		this.compression = compression;
+		this.sample = sample;
+	}
+
+	// Methods //
+
+	@Override
+	public void respond(IRequestCycle requestCycle)
+	{
+		WebRequest request = (WebRequest) requestCycle.getRequest();
+		WebResponse response = (WebResponse) requestCycle.getResponse();
+		HttpServletRequest containerRequest = (HttpServletRequest) request.getContainerRequest();
+
+		response.setContentType(this.mimetype + "; charset=" + this.encoding);
+
+		if (this.compression)
+		{
+			response.setHeader("Vary", "Accept-Encoding");
+		}
+
+		final boolean gzip = this.compression && CompressionUtils.acceptsGzip(request);
+
+		if (gzip)
+		{
+			response.setHeader("Content-Encoding", CompressionUtils.GZIP);
+		}
+
+		if (!containerRequest.isAsyncSupported())
+		{
+			this.write(response.getOutputStream(), gzip);
+
+			return;
+		}
+
+		// the headers are buffered by the cycle response, they are sent to the container before the async processing starts //
+		response.flush();
+
+		final AsyncContext context = containerRequest.startAsync();
+		final AtomicBoolean completed = new AtomicBoolean(false);
+
+		context.setTimeout(this.timeout.getMilliseconds());
+		context.addListener(new AsyncListener() {
+
+			@Override
+			public void onStartAsync(AsyncEvent event) throws IOException
+			{
+				// noop
+			}
+
+			@Override
+			public void onComplete(AsyncEvent event) throws IOException
+			{
+				completed.set(true);
+			}
+
+			@Override
+			public void onTimeout(AsyncEvent event) throws IOException
+			{
+				LOG.warn("Asynchronous response timed out after {}", AsyncRequestHandler.this.timeout);
+				AsyncRequestHandler.complete(event.getAsyncContext(), completed);
+			}
+
+			@Override
+			public void onError(AsyncEvent event) throws IOException
+			{
+				LOG.warn("Asynchronous response failed", event.getThrowable());
+				AsyncRequestHandler.complete(event.getAsyncContext(), completed);
+			}
+		});
+
+		Runnable task = new Runnable() {
+
+			@Override
+			public void run()
+			{
+				if (completed.get())
+				{
+					if (AsyncRequestHandler.this.sample != null)
+					{
+						AsyncRequestHandler.this.sample.stop();
+					}
+
+					return; // timed out or failed meanwhile, the context is no longer usable
+				}
+
+				try
+				{
+					AsyncRequestHandler.this.write(context.getResponse().getOutputStream(), gzip);
+				}
+				catch (IOException e)
+				{
+					LOG.error("Unable to write the asynchronous response", e);
+				}
+				catch (RuntimeException e)
+				{
+					if (completed.get())
+					{
+						LOG.debug("Asynchronous response aborted, the context has been completed meanwhile", e);
+					}
+					else
+					{
+						LOG.error("Unable to write the asynchronous response", e);
+					}
+				}
+				finally
+				{
+					AsyncRequestHandler.complete(context, completed);
+				}
+			}
+		};
+
+		try
+		{
+			this.executor.execute(task);
+		}
+		catch (RejectedExecutionException e)
+		{
+			LOG.warn("Asynchronous response rejected by the executor, it will be written by the request thread");
+			task.run();
+		}
+	}
+
+	@Override
+	public void detach(IRequestCycle requestCycle)
+	{
+		// noop
+	}
+
+	// Helpers //
+
+	/**
+	 * Writes the response text
+	 *
+	 * @param stream the {@link OutputStream}
+	 * @param gzip whether the response should be gzip'ed
+	 */
+	private void write(OutputStream stream, boolean gzip)
+	{
+		GzipOutputStream compressed = gzip ? new GzipOutputStream(stream) : null;
+
+		if (this.sample != null)
+		{
+			this.sample.bind();
+		}
+
+		try
+		{
+			OutputStream out = CallbackSample.newCountingStream(compressed != null ? compressed : stream);
+			Writer w = new BufferedWriter(new OutputStreamWriter(out, this.encoding), BUFFER_SIZE);
+
+			this.writer.write(w);
+			w.flush(); // the underlying stream belongs to the container, it should not be closed
+
+			if (compressed != null)
+			{
+				compressed.finish();
+			}
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to write the response", e);
+		}
+		finally
+		{
+			if (compressed != null)
+			{
+				compressed.release();
+			}
+
+			if (this.sample != null)
+			{
+				this.sample.unbind();
+				this.sample.stop();
+			}
+		}
+	}
+
+	/**
+	 * Completes the async context, unless it is already completed
+	 *
+	 * @param context the {@link AsyncContext}
+	 * @param completed the completion flag
+	 */
+	private static void complete(AsyncContext context, AtomicBoolean completed)
+	{
+		if (completed.compareAndSet(false, true))
+		{
+			try
+			{
+				context.complete();
+			}
+			catch (IllegalStateException e)
+			{
+				LOG.debug("The async context is already completed", e);
+			}
+		}
+	}
+}
@@ -16,25 +16,52 @@
  */
 package com.googlecode.wicket.jquery.core.behavior;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
+import org.apache.wicket.Session;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.mapper.info.PageComponentInfo;
+import org.apache.wicket.util.encoding.UrlEncoder;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.string.StringValue;
 
-import com.googlecode.wicket.jquery.core.data.IChoiceProvider;
+import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceCache;
+import com.googlecode.wicket.jquery.core.data.ICachedChoiceProvider;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 import com.googlecode.wicket.jquery.core.utils.ListUtils;
 
 /**
- * Provides the choice {@link AjaxCallbackBehavior}
+ * Provides the choice {@link AjaxCallbackBehavior}<br/>
+ * <br/>
+ * If {@link #getCacheKey()} is overridden to supply a key, the rendered choices are shared application-wide through the {@link ChoiceCache} (see
+ * {@link JQueryLibrarySettings#getChoiceCache()}) and served with an {@code ETag}, allowing {@code 304 Not Modified} responses (see
+ * {@link ConditionalRequestHandler}). Requests with distinct parameters (ie: distinct search terms) are cached separately, see
+ * {@link #getCacheVariant(IRequestParameters)}.
  *
  * @author Sebastien Briquet - sebfz1
  *
  * @param <T> the model object type
  */
-public abstract class ChoiceModelBehavior<T> extends AjaxCallbackBehavior implements IChoiceProvider<T>
+public abstract class ChoiceModelBehavior<T> extends AjaxCallbackBehavior implements ICachedChoiceProvider<T>
 {
 	private static final long serialVersionUID = 1L;
 
@@ -81,42 +108,198 @@ public abstract class ChoiceModelBehavior<T> extends AjaxCallbackBehavior implem
 		return Collections.emptyList();
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * Default is {@code null}, meaning that choices are not cached
+	 */
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	public String getCacheKey()
 	{
-		StringBuilder builder = new StringBuilder("[");
+		return null;
+	}
 
-		List<T> choices = this.getChoices();
+	/**
+	 * Gets the part of the cache key that depends on the request parameters, so that requests with distinct parameters are not served the same choices<br/>
+	 * Default is all the parameters - except the anti-cache and the listener ones - sorted by name. Overrides may narrow it to the parameters
+	 * {@link #getChoices()} actually depends on, or return {@code null} if the choices do not depend on any.
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the variant, or {@code null}
+	 */
+	protected String getCacheVariant(IRequestParameters parameters)
+	{
+		Set<String> names = new TreeSet<String>(parameters.getParameterNames());
+		StringBuilder builder = new StringBuilder();
 
-		if (choices != null)
+		for (String name : names)
 		{
-			int index = 0;
+			if ("_".equals(name) || PageComponentInfo.parse(name) != null)
+			{
+				continue; // jQuery's anti-cache timestamp & wicket's listener parameter
+			}
 
-			for (T choice : choices)
+			for (StringValue value : parameters.getParameterValues(name))
 			{
-				if (index++ > 0)
+				if (builder.length() > 0)
 				{
-					builder.append(", ");
+					builder.append('&');
 				}
 
-				builder.append("{ ");
+				builder.append(UrlEncoder.QUERY_INSTANCE.encode(name, this.getEncoding()));
+				builder.append('=').append(UrlEncoder.QUERY_INSTANCE.encode(value.toString(""), this.getEncoding()));
+			}
+		}
 
-				// ITextRenderer //
-				builder.append(this.renderer.render(choice));
+		return builder.length() > 0 ? builder.toString() : null;
+	}
 
-				// Additional properties (like template properties) //
-				List<String> properties = this.getProperties();
+	@Override
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
+	{
+		JsonWriter json = new JsonWriter(writer);
+		json.beginArray();
 
+		long start = System.nanoTime();
+		List<T> choices = this.getChoices();
+		CallbackSample.recordProviderTime(start);
+
+		if (choices != null)
+		{
+			CallbackSample.recordRows(choices.size());
+
+			// Additional properties (like template properties) //
+			List<String> properties = this.getProperties(); // resolved once per request
+
+			for (T choice : choices)
+			{
+				json.beginObject();
+
+				// ITextRenderer //
+				this.renderer.render(choice, json);
+
+				// Additional properties //
 				for (String property : properties)
 				{
-					builder.append(", ");
-					BuilderUtils.append(builder, property, this.renderer.getText(choice, property));
+					json.property(property, this.renderer.getText(choice, property));
 				}
 
-				builder.append(" }");
+				json.endObject();
 			}
 		}
 
-		return builder.append("]").toString();
+		json.endArray();
+	}
+
+	// Factories //
+
+	@Override
+	protected IRequestHandler newRequestHandler(IRequestParameters parameters)
+	{
+		String key = this.getCacheKey();
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (key != null && settings != null && settings.getChoiceCache() != null)
+		{
+			ChoiceCache cache = settings.getChoiceCache();
+			String variant = this.getCacheVariant(parameters);
+			ChoiceCache.Entry entry = cache.get(key, variant, Session.get().getLocale(), this.getEncoding());
+
+			if (entry == null)
+			{
+				entry = cache.put(key, variant, Session.get().getLocale(), this.getEncoding(), this.render(parameters));
+			}
+
+			// compression //
+			Bytes threshold = this.getCompressionThreshold();
+			boolean compressible = threshold != null && entry.getBytes().length >= threshold.bytes();
+			boolean compressed = compressible && CompressionUtils.acceptsGzip((WebRequest) RequestCycle.get().getRequest());
+
+			// the representations should have distinct entity tags //
+			String etag = compressed ? entry.getETag().replaceFirst("\"$", "-" + CompressionUtils.GZIP + "\"") : entry.getETag();
+			IRequestHandler handler = new CachedRequestHandler(this.getMimetype(), this.getEncoding(), entry, compressible, compressed);
+
+			return new ConditionalRequestHandler(handler, etag, null, this.getCacheControl());
+		}
+
+		return super.newRequestHandler(parameters);
+	}
+
+	// Helpers //
+
+	/**
+	 * Renders the choices to an encoded payload
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the bytes
+	 */
+	private byte[] render(IRequestParameters parameters)
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+		try
+		{
+			Writer writer = new OutputStreamWriter(stream, this.getEncoding());
+
+			this.writeResponse(parameters, writer);
+			writer.close();
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to render the choices", e);
+		}
+
+		return stream.toByteArray();
+	}
+
+	/**
+	 * {@link IRequestHandler} that serves a {@link ChoiceCache.Entry}
+	 */
+	private static class CachedRequestHandler implements IRequestHandler
+	{
+		private final String mimetype;
+		private final String encoding;
+		private final ChoiceCache.Entry entry;
+		private final boolean compressible;
+		private final boolean compressed;
+
+		public CachedRequestHandler(String mimetype, String encoding, ChoiceCache.Entry entry, boolean compressible, boolean compressed)
+		{
+			this.mimetype = mimetype;
+			this.encoding = encoding;
+			this.entry = entry;
+			this.compressible = compressible;
+			this.compressed = compressed;
+		}
+
+		@Override
+		public void respond(IRequestCycle requestCycle)
+		{
+			WebResponse response = (WebResponse) requestCycle.getResponse();
+			response.setContentType(this.mimetype + "; charset=" + this.encoding);
+
+			if (this.compressible)
+			{
+				response.setHeader("Vary", "Accept-Encoding");
+			}
+
+			byte[] bytes = this.entry.getBytes();
+
+			if (this.compressed)
+			{
+				bytes = this.entry.getCompressedBytes();
+				response.setHeader("Content-Encoding", CompressionUtils.GZIP);
+			}
+
+			response.setContentLength(bytes.length);
+			response.write(bytes);
+
+			CallbackSample.recordSize(this.entry.getBytes().length);
+		}
+
+		@Override
+		public void detach(IRequestCycle requestCycle)
+		{
+			// noop
+		}
 	}
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.apache.wicket.request.http.WebResponse;
+
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils.GzipOutputStream;
+
+/**
+ * Provides an {@link OutputStream} that buffers the response until the threshold is reached, and then switches to a gzip stream<br/>
+ * Responses smaller than the threshold are sent uncompressed.
+ *
+ * @author agent
+ */
+class CompressingOutputStream extends OutputStream
+{
+	private static final int BUFFER_SIZE = 1024;
+
+	private final WebResponse response;
+	private final int threshold;
+
+	private byte[] buffer;
+	private int count = 0;
+	private GzipOutputStream gzip = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param response the {@link WebResponse}
+	 * @param threshold the min number of bytes to compress
+	 */
+	public CompressingOutputStream(WebResponse response, int threshold)
+	{
+		this.response = response;
+		this.threshold = threshold;
+		this.buffer = new byte[Math.max(1, Math.min(threshold, BUFFER_SIZE))];
+	}
+
+	@Override
+	public void write(int b) throws IOException
+	{
+		this.write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException
+	{
+		if (this.gzip != null)
+		{
+			this.gzip.write(b, off, len);
+		}
+		else if (this.count + len < this.threshold)
+		{
+			if (this.count + len > this.buffer.length)
+			{
+				this.buffer = Arrays.copyOf(this.buffer, Math.min(this.threshold, Math.max(this.count + len, this.buffer.length * 2)));
+			}
+
+			System.arraycopy(b, off, this.buffer, this.count, len);
+			this.count += len;
+		}
+		else
+		{
+			this.response.setHeader("Content-Encoding", CompressionUtils.GZIP); // nothing has been sent yet
+			this.gzip = new GzipOutputStream(this.response.getOutputStream());
+			this.gzip.write(this.buffer, 0, this.count);
+			this.gzip.write(b, off, len);
+			this.buffer = null;
+		}
+	}
+
+	/**
+	 * Sends the buffered bytes, or writes the gzip trailer, without closing the response's output stream
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void finish() throws IOException
+	{
+		if (this.gzip != null)
+		{
+			this.gzip.finish();
+		}
+		else if (this.count > 0)
+		{
+			this.response.getOutputStream().write(this.buffer, 0, this.count);
+		}
+	}
+
+	/**
+	 * Gives back the pooled resources
+	 */
+	public void release()
+	{
+		if (this.gzip != null)
+		{
+			this.gzip.release();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.util.List;
+
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Time;
+
+/**
+ * Provides a {@link IRequestHandler} that handles conditional requests on behalf of another handler<br/>
+ * The response validators ({@code ETag} and/or {@code Last-Modified}) are sent along with the {@code Cache-Control} header. If the client already holds the
+ * current version of the response - according to the {@code If-None-Match} or {@code If-Modified-Since} header - a {@code 304 Not Modified} response is sent and
+ * the underlying handler is not invoked.
+ *
+ * @author agent
+ */
+public class ConditionalRequestHandler implements IRequestHandler
+{
+	private static final int SC_NOT_MODIFIED = 304;
+	private static final String WEAK_PREFIX = "W/";
+
+	private final IRequestHandler handler;
+	private final String etag;
+	private final Time lastModified;
+	private final String cacheControl;
+
+	/**
+	 * Constructor
+	 *
+	 * @param handler the {@link IRequestHandler} that writes the full response
+	 * @param etag the (quoted) entity tag, or {@code null}
+	 * @param lastModified the last modification {@link Time}, or {@code null}
+	 * @param cacheControl the {@code Cache-Control} header value, or {@code null}
+	 */
+	public ConditionalRequestHandler(IRequestHandler handler, String etag, Time lastModified, String cacheControl)
+	{
+		this.handler = Args.notNull(handler, "handler");
+		this.etag = etag;
+		this.lastModified = lastModified;
+		this.cacheControl = cacheControl;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the entity tag
+	 *
+	 * @return the entity tag or {@code null}
+	 */
+	public String getETag()
+	{
+		return this.etag;
+	}
+
+	/**
+	 * Gets the last modification {@link Time}
+	 *
+	 * @return the {@link Time} or {@code null}
+	 */
+	public Time getLastModified()
+	{
+		return this.lastModified;
+	}
+
+	// Methods //
+
+	/**
+	 * Indicates whether the client holds the current version of the response<br/>
+	 * As per RFC 7232, {@code If-Modified-Since} is ignored if {@code If-None-Match} is present
+	 *
+	 * @param request the {@link WebRequest}
+	 * @return {@code true} or {@code false}
+	 */
+	protected boolean isNotModified(WebRequest request)
+	{
+		return ConditionalRequestHandler.isNotModified(request, this.etag, this.lastModified);
+	}
+
+	/**
+	 * Indicates whether the client holds the version of the response identified by the supplied validators<br/>
+	 * This enables callers to check the request before building the response handler.
+	 *
+	 * @param request the {@link WebRequest}
+	 * @param etag the (quoted) entity tag, or {@code null}
+	 * @param lastModified the last modification {@link Time}, or {@code null}
+	 * @return {@code true} or {@code false}
+	 * @see #isNotModified(WebRequest)
+	 */
+	public static boolean isNotModified(WebRequest request, String etag, Time lastModified)
+	{
+		List<String> matches = request.getHeaders("If-None-Match");
+
+		if (matches != null && !matches.isEmpty())
+		{
+			return etag != null && ConditionalRequestHandler.matches(matches, etag);
+		}
+
+		if (lastModified != null)
+		{
+			Time since = request.getIfModifiedSinceHeader();
+
+			return since != null && (lastModified.getMilliseconds() / 1000) <= (since.getMilliseconds() / 1000); // http dates have a 1s precision
+		}
+
+		return false;
+	}
+
+	@Override
+	public void respond(IRequestCycle requestCycle)
+	{
+		WebResponse response = (WebResponse) requestCycle.getResponse();
+
+		if (this.etag != null)
+		{
+			response.setHeader("ETag", this.etag);
+		}
+
+		if (this.lastModified != null)
+		{
+			response.setLastModifiedTime(this.lastModified);
+		}
+
+		if (this.cacheControl != null)
+		{
+			response.setHeader("Cache-Control", this.cacheControl);
+		}
+
+		if (this.isNotModified((WebRequest) requestCycle.getRequest()))
+		{
+			response.setStatus(SC_NOT_MODIFIED);
+		}
+		else
+		{
+			this.handler.respond(requestCycle);
+		}
+	}
+
+	@Override
+	public void detach(IRequestCycle requestCycle)
+	{
+		this.handler.detach(requestCycle);
+	}
+
+	// Helpers //
+
+	/**
+	 * Indicates whether the {@code If-None-Match} header values match the entity tag (weak comparison)
+	 *
+	 * @param headers the {@code If-None-Match} header values
+	 * @param etag the entity tag
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean matches(List<String> headers, String etag)
+	{
+		String opaque = ConditionalRequestHandler.opaque(etag);
+
+		for (String header : headers)
+		{
+			for (String value : header.split(","))
+			{
+				String tag = value.trim();
+
+				if ("*".equals(tag) || ConditionalRequestHandler.opaque(tag).equals(opaque))
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the opaque part of an entity tag, without the weak indicator
+	 *
+	 * @param etag the entity tag
+	 * @return the opaque tag
+	 */
+	private static String opaque(String etag)
+	{
+		return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Specifies a writer of a "text" response, which can be invoked outside of the request cycle (see {@link AsyncRequestHandler})<br/>
+ * Implementations should only rely on the state captured at creation time: no component, model, session or request cycle should be accessed.
+ *
+ * @author agent
+ */
+public interface IResponseWriter
+{
+	/**
+	 * Writes the response text to the supplied {@link Writer}<br/>
+	 * The writer should neither be flushed nor closed by the implementation.
+	 *
+	 * @param writer the {@link Writer}
+	 * @throws IOException if an I/O error occurs
+	 */
+	void write(Writer writer) throws IOException;
+}
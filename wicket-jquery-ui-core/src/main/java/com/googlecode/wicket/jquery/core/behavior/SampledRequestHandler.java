@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
+
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+
+/**
+ * Provides a {@link IRequestHandler} that binds a {@link CallbackSample} to the request thread while the wrapped handler responds, and records it afterward
+ *
+ * @author agent
+ */
+class SampledRequestHandler implements IRequestHandler
+{
+	private final IRequestHandler handler;
+	private final CallbackSample sample;
+
+	/**
+	 * Constructor
+	 *
+	 * @param handler the wrapped {@link IRequestHandler}
+	 * @param sample the {@link CallbackSample}
+	 */
+	public SampledRequestHandler(IRequestHandler handler, CallbackSample sample)
+	{
+		this.handler = handler;
+		this.sample = sample;
+	}
+
+	@Override
+	public void respond(IRequestCycle requestCycle)
+	{
+		this.sample.bind();
+
+		try
+		{
+			this.handler.respond(requestCycle);
+		}
+		finally
+		{
+			this.sample.unbind();
+			this.sample.stop();
+		}
+	}
+
+	@Override
+	public void detach(IRequestCycle requestCycle)
+	{
+		this.handler.detach(requestCycle);
+	}
+}
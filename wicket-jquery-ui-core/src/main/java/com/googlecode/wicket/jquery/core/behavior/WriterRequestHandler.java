@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.behavior;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.IRequestCycle;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.handler.TextRequestHandler;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Bytes;
+
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils;
+
+/**
+ * Provides a {@link IRequestHandler} that streams a "text" response directly to the response's output stream<br/>
+ * Unlike {@link TextRequestHandler}, the whole response text is never held in memory.<br/>
+ * If a compression threshold is supplied and the client accepts it, responses above the threshold are gzip'ed on the fly.
+ *
+ * @author agent
+ */
+public abstract class WriterRequestHandler implements IRequestHandler
+{
+	private static final int BUFFER_SIZE = 8192;
+
+	private final String mimetype;
+	private final String encoding;
+	private final Bytes threshold;
+
+	/**
+	 * Constructor, without compression
+	 *
+	 * @param mimetype the content type
+	 * @param encoding the encoding
+	 */
+	public WriterRequestHandler(String mimetype, String encoding)
+	{
+		this(mimetype, encoding, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param mimetype the content type
+	 * @param encoding the encoding
+	 * @param threshold the min response size to be compressed, or {@code null} to disable compression
+	 */
+	public WriterRequestHandler(String mimetype, String encoding, Bytes threshold)
+	{
+		this.mimetype = Args.notEmpty(mimetype, "mimetype");
+		this.encoding = Args.notEmpty(encoding, "encoding");
+		this.threshold = threshold;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the content type
+	 *
+	 * @return the content type
+	 */
+	public String getMimetype()
+	{
+		return this.mimetype;
+	}
+
+	/**
+	 * Gets the encoding
+	 *
+	 * @return the encoding
+	 */
+	public String getEncoding()
+	{
+		return this.encoding;
+	}
+
+	/**
+	 * Gets the compression threshold
+	 *
+	 * @return the min response size to be compressed, or {@code null} if compression is disabled
+	 */
+	public Bytes getCompressionThreshold()
+	{
+		return this.threshold;
+	}
+
+	// Methods //
+
+	/**
+	 * Writes the response text to the supplied {@link Writer}<br/>
+	 * The writer should neither be flushed nor closed by the implementation.
+	 *
+	 * @param writer the {@link Writer}
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected abstract void write(Writer writer) throws IOException;
+
+	@Override
+	public void respond(IRequestCycle requestCycle)
+	{
+		WebResponse response = (WebResponse) requestCycle.getResponse();
+		response.setContentType(this.mimetype + "; charset=" + this.encoding);
+
+		if (this.threshold != null)
+		{
+			response.setHeader("Vary", "Accept-Encoding");
+
+			if (CompressionUtils.acceptsGzip((WebRequest) requestCycle.getRequest()))
+			{
+				this.respondCompressed(response);
+
+				return;
+			}
+		}
+
+		this.respond(response.getOutputStream());
+	}
+
+	/**
+	 * Writes the response text, gzip'ed if its size reaches the threshold
+	 *
+	 * @param response the {@link WebResponse}
+	 */
+	private void respondCompressed(WebResponse response)
+	{
+		CompressingOutputStream stream = new CompressingOutputStream(response, (int) Math.min(this.threshold.bytes(), Integer.MAX_VALUE));
+
+		try
+		{
+			this.respond(stream);
+			stream.finish();
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to write the response", e);
+		}
+		finally
+		{
+			stream.release();
+		}
+	}
+
+	/**
+	 * Writes the response text to the supplied stream
+	 *
+	 * @param stream the {@link OutputStream}
+	 */
+	private void respond(OutputStream stream)
+	{
+		try
+		{
+			Writer writer = new BufferedWriter(new OutputStreamWriter(CallbackSample.newCountingStream(stream), this.encoding), BUFFER_SIZE);
+
+			this.write(writer);
+			writer.flush(); // the underlying stream belongs to the container, it should not be closed
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to write the response", e);
+		}
+	}
+
+	@Override
+	public void detach(IRequestCycle requestCycle)
+	{
+		// noop
+	}
+}
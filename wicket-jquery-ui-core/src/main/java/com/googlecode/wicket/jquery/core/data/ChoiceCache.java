@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Objects;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+import com.googlecode.wicket.jquery.core.utils.CompressionUtils;
+
+/**
+ * Provides an application-wide cache of rendered choice lists<br/>
+ * Entries are the encoded (JSON) payloads of {@link ICachedChoiceProvider}{@code s}, keyed by {@link ICachedChoiceProvider#getCacheKey()}, the request
+ * parameters the payload depends on (the variant), {@link Locale} and encoding. Entries are evicted in least-recently-used order once the max size is reached, or when their time-to-live is elapsed.<br/>
+ * <br/>
+ * The cache is thread-safe; the application instance is available through {@link JQueryLibrarySettings#getChoiceCache()}
+ *
+ * @author agent
+ */
+public class ChoiceCache
+{
+	/** default max number of entries */
+	public static final int MAX_SIZE = 256;
+
+	private final Map<Key, Entry> entries;
+	private volatile int maxSize = MAX_SIZE;
+	private volatile Duration timeToLive = Duration.NONE; // none by default, meaning entries never expire
+
+	/**
+	 * Constructor
+	 */
+	public ChoiceCache()
+	{
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+			{
+				return this.size() > ChoiceCache.this.maxSize;
+			}
+		};
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the max number of entries
+	 *
+	 * @return the max number of entries
+	 */
+	public int getMaxSize()
+	{
+		return this.maxSize;
+	}
+
+	/**
+	 * Sets the max number of entries
+	 *
+	 * @param maxSize the max number of entries
+	 * @return this, for chaining
+	 */
+	public ChoiceCache setMaxSize(int maxSize)
+	{
+		this.maxSize = Args.withinRange(1, Integer.MAX_VALUE, maxSize, "maxSize");
+
+		return this;
+	}
+
+	/**
+	 * Gets the time-to-live of entries
+	 *
+	 * @return the {@link Duration}
+	 */
+	public Duration getTimeToLive()
+	{
+		return this.timeToLive;
+	}
+
+	/**
+	 * Sets the time-to-live of entries<br/>
+	 * {@link Duration#NONE} means that entries never expire (they still can be evicted or invalidated)
+	 *
+	 * @param timeToLive the {@link Duration}
+	 * @return this, for chaining
+	 */
+	public ChoiceCache setTimeToLive(Duration timeToLive)
+	{
+		this.timeToLive = Args.notNull(timeToLive, "timeToLive");
+
+		return this;
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the cached entry
+	 *
+	 * @param key the provider's cache key
+	 * @param variant the request parameters the payload depends on, or {@code null}
+	 * @param locale the {@link Locale}
+	 * @param encoding the payload encoding
+	 * @return the {@link Entry} or {@code null} if not found or expired
+	 */
+	public Entry get(String key, String variant, Locale locale, String encoding)
+	{
+		Key k = new Key(key, variant, locale, encoding);
+
+		synchronized (this.entries)
+		{
+			Entry entry = this.entries.get(k);
+
+			if (entry != null && entry.isExpired(System.currentTimeMillis()))
+			{
+				this.entries.remove(k);
+
+				return null;
+			}
+
+			return entry;
+		}
+	}
+
+	/**
+	 * Caches a payload
+	 *
+	 * @param key the provider's cache key
+	 * @param variant the request parameters the payload depends on, or {@code null}
+	 * @param locale the {@link Locale}
+	 * @param encoding the payload encoding
+	 * @param bytes the encoded payload
+	 * @return the new {@link Entry}
+	 */
+	public Entry put(String key, String variant, Locale locale, String encoding, byte[] bytes)
+	{
+		long ttl = this.timeToLive.getMilliseconds();
+		Entry entry = new Entry(bytes, ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE);
+
+		synchronized (this.entries)
+		{
+			this.entries.put(new Key(key, variant, locale, encoding), entry);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Invalidates all entries of a provider, whatever the variant, locale and encoding
+	 *
+	 * @param key the provider's cache key
+	 */
+	public void invalidate(String key)
+	{
+		synchronized (this.entries)
+		{
+			for (Iterator<Key> iterator = this.entries.keySet().iterator(); iterator.hasNext();)
+			{
+				if (iterator.next().key.equals(key))
+				{
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Invalidates all entries
+	 */
+	public void clear()
+	{
+		synchronized (this.entries)
+		{
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of entries, including expired ones that are not yet evicted
+	 *
+	 * @return the number of entries
+	 */
+	public int size()
+	{
+		synchronized (this.entries)
+		{
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Cache key
+	 */
+	private static class Key
+	{
+		private final String key;
+		private final String variant;
+		private final Locale locale;
+		private final String encoding;
+
+		public Key(String key, String variant, Locale locale, String encoding)
+		{
+			this.key = Args.notNull(key, "key");
+			this.variant = variant;
+			this.locale = locale;
+			this.encoding = encoding;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hashCode(this.key, this.variant, this.locale, this.encoding);
+		}
+
+		@Override
+		public boolean equals(Object object)
+		{
+			if (object instanceof Key)
+			{
+				Key other = (Key) object;
+
+				return this.key.equals(other.key) && Objects.equal(this.variant, other.variant) && Objects.equal(this.locale, other.locale) && Objects.equal(this.encoding, other.encoding);
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * Cache entry, holding the encoded payload - and its gzip'ed form, once requested - and its entity tag
+	 */
+	public static class Entry
+	{
+		private final byte[] bytes;
+		private final String etag;
+		private final long expires;
+		private volatile byte[] compressed = null;
+
+		/**
+		 * Constructor
+		 *
+		 * @param bytes the encoded payload
+		 * @param expires the expiration time, in milliseconds
+		 */
+		Entry(byte[] bytes, long expires)
+		{
+			this.bytes = Args.notNull(bytes, "bytes");
+			this.expires = expires;
+
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			this.etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(bytes.length) + "\"";
+		}
+
+		/**
+		 * Gets the encoded payload<br/>
+		 * <b>Warning:</b> the array is shared and should not be modified
+		 *
+		 * @return the bytes
+		 */
+		public byte[] getBytes()
+		{
+			return this.bytes;
+		}
+
+		/**
+		 * Gets the gzip'ed payload, which is compressed on first call<br/>
+		 * <b>Warning:</b> the array is shared and should not be modified
+		 *
+		 * @return the gzip'ed bytes
+		 */
+		public byte[] getCompressedBytes()
+		{
+			byte[] result = this.compressed;
+
+			if (result == null)
+			{
+				result = CompressionUtils.gzip(this.bytes); // concurrent calls may compress twice, which is harmless
+				this.compressed = result;
+			}
+
+			return result;
+		}
+
+		/**
+		 * Gets the (strong) entity tag of the payload
+		 *
+		 * @return the quoted etag
+		 */
+		public String getETag()
+		{
+			return this.etag;
+		}
+
+		/**
+		 * Indicates whether the entry is expired
+		 *
+		 * @param now the current time, in milliseconds
+		 * @return {@code true} or {@code false}
+		 */
+		boolean isExpired(long now)
+		{
+			return now >= this.expires;
+		}
+	}
+}
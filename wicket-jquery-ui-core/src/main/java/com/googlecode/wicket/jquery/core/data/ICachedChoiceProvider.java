@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+/**
+ * Specifies that the implementing class provides a list of choices that can be shared - once rendered - across users (see {@link ChoiceCache})
+ *
+ * @param <T> the model object type
+ * @author agent
+ */
+public interface ICachedChoiceProvider<T> extends IChoiceProvider<T>
+{
+	/**
+	 * Gets the application-wide key identifying the rendered choices (ie: "countries")<br/>
+	 * Providers sharing the same key should render the same payload for a given locale and given request parameters: the key should therefore also reflect the
+	 * renderer and the template, if they differ.
+	 *
+	 * @return the cache key, or {@code null} if the choices should not be cached
+	 */
+	String getCacheKey();
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.apache.wicket.request.IRequestParameters;
+
+import com.googlecode.wicket.jquery.core.resource.DataFeedResource;
+
+/**
+ * Specifies a stateless, read-only, data feed served by the {@link DataFeedResource}<br/>
+ * A feed is shared application-wide and invoked concurrently, without any page: it should be thread-safe and should only rely on the request parameters and on
+ * the (signed) argument of the token.
+ *
+ * @author agent
+ */
+public interface IDataFeed
+{
+	/**
+	 * Writes the feed data to the supplied {@link Writer}<br/>
+	 * The writer should neither be flushed nor closed by the implementation.
+	 *
+	 * @param parameters the request parameters (ie: the data-source paging, sorting and filtering parameters)
+	 * @param argument the argument the token has been signed with, or {@code null}
+	 * @param writer the {@link Writer}
+	 * @throws IOException if an I/O error occurs
+	 */
+	void write(IRequestParameters parameters, String argument, Writer writer) throws IOException;
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+/**
+ * Specifies that the implementing class (typically a data provider) is able to supply a cheap version of its underlying data<br/>
+ * The version is used to answer conditional requests without querying the data (see {@code AjaxCallbackBehavior#getVersion(IRequestParameters)})
+ *
+ * @author agent
+ */
+public interface IVersionProvider
+{
+	/**
+	 * Gets the current version of the underlying data (ie: a modification counter or timestamp)<br/>
+	 * The version should change whenever the data changes.
+	 *
+	 * @return the version, or {@code null} if unknown
+	 */
+	String getVersion();
+}
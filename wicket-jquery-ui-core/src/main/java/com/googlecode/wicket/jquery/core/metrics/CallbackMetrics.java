@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.wicket.WicketRuntimeException;
+
+/**
+ * Provides the default {@link ICallbackMetrics}, which aggregates the samples per behavior class and component path and exposes them through JMX<br/>
+ * <br/>
+ * Usage:
+ *
+ * <pre>
+ * <code>
+ * CallbackMetrics metrics = new CallbackMetrics();
+ * metrics.register(this.getName()); // the application name
+ *
+ * settings.setCallbackMetrics(metrics);
+ * </code>
+ * </pre>
+ *
+ * @author agent
+ */
+public class CallbackMetrics implements ICallbackMetrics, CallbackMetricsMXBean
+{
+	/** the JMX domain */
+	public static final String DOMAIN = "com.googlecode.wicket.jquery";
+
+	private static final double NANOS_PER_MILLI = 1000000d;
+
+	private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<String, Counters>();
+
+	/**
+	 * Constructor
+	 */
+	public CallbackMetrics()
+	{
+		// noop
+	}
+
+	// Methods //
+
+	@Override
+	public void record(CallbackSample sample)
+	{
+		String key = sample.getBehavior() + " @ " + sample.getPath();
+		Counters c = this.counters.get(key);
+
+		if (c == null)
+		{
+			Counters value = new Counters();
+			c = this.counters.putIfAbsent(key, value);
+
+			if (c == null)
+			{
+				c = value;
+			}
+		}
+
+		c.add(sample);
+	}
+
+	@Override
+	public Map<String, CallbackStatistics> getStatistics()
+	{
+		Map<String, CallbackStatistics> map = new TreeMap<String, CallbackStatistics>();
+
+		for (Map.Entry<String, Counters> entry : this.counters.entrySet())
+		{
+			map.put(entry.getKey(), entry.getValue().toStatistics());
+		}
+
+		return map;
+	}
+
+	@Override
+	public void reset()
+	{
+		this.counters.clear();
+	}
+
+	/**
+	 * Registers the metrics into the platform {@link MBeanServer}
+	 *
+	 * @param name the name of the metrics (ie: the application name)
+	 * @return the {@link ObjectName}
+	 */
+	public ObjectName register(String name)
+	{
+		try
+		{
+			Hashtable<String, String> properties = new Hashtable<String, String>();
+			properties.put("type", "CallbackMetrics");
+			properties.put("name", ObjectName.quote(name));
+
+			ObjectName objectName = new ObjectName(DOMAIN, properties);
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+			if (!server.isRegistered(objectName))
+			{
+				server.registerMBean(this, objectName);
+			}
+
+			return objectName;
+		}
+		catch (JMException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Unregisters the metrics from the platform {@link MBeanServer}
+	 *
+	 * @param objectName the {@link ObjectName}, as returned by {@link #register(String)}
+	 */
+	public void unregister(ObjectName objectName)
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+			if (server.isRegistered(objectName))
+			{
+				server.unregisterMBean(objectName);
+			}
+		}
+		catch (JMException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	/**
+	 * The cumulated counters of a callback
+	 */
+	private static class Counters
+	{
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalTime = new AtomicLong();
+		private final AtomicLong maxTime = new AtomicLong();
+		private final AtomicLong providerTime = new AtomicLong();
+		private final AtomicLong bytes = new AtomicLong();
+		private final AtomicLong rows = new AtomicLong();
+
+		/**
+		 * Adds the sample to the counters
+		 *
+		 * @param sample the {@link CallbackSample}
+		 */
+		void add(CallbackSample sample)
+		{
+			this.count.incrementAndGet();
+			this.totalTime.addAndGet(sample.getDuration());
+			this.providerTime.addAndGet(sample.getProviderTime());
+			this.bytes.addAndGet(sample.getSize());
+			this.rows.addAndGet(sample.getRows());
+
+			long max = this.maxTime.get();
+
+			while (sample.getDuration() > max && !this.maxTime.compareAndSet(max, sample.getDuration()))
+			{
+				max = this.maxTime.get();
+			}
+		}
+
+		/**
+		 * Gets a snapshot of the counters
+		 *
+		 * @return the {@link CallbackStatistics}
+		 */
+		CallbackStatistics toStatistics()
+		{
+			long total = this.totalTime.get();
+			long provider = this.providerTime.get();
+
+			return new CallbackStatistics(this.count.get(), total / NANOS_PER_MILLI, this.maxTime.get() / NANOS_PER_MILLI, provider / NANOS_PER_MILLI, Math.max(total - provider, 0L) / NANOS_PER_MILLI, this.bytes.get(), this.rows.get());
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+
+/**
+ * Provides the measures of one callback invocation<br/>
+ * While the response is computed, the sample is bound to the current thread (see {@link #current()}) so data providers can report their own time and row
+ * count through {@link #recordProviderTime(long)} and {@link #recordRows(long)}. Serialization time is the remaining time.
+ *
+ * @author agent
+ */
+public class CallbackSample
+{
+	private static final ThreadLocal<CallbackSample> CURRENT = new ThreadLocal<CallbackSample>();
+
+	private final ICallbackMetrics metrics;
+	private final String behavior;
+	private final String path;
+	private final long start;
+	private long duration = 0L;
+	private long providerTime = 0L;
+	private long size = 0L;
+	private long rows = 0L;
+
+	/**
+	 * Gets a new {@link CallbackSample}, if metrics are enabled
+	 *
+	 * @param behavior the behavior class
+	 * @param path the page-relative path of the component
+	 * @return a new {@link CallbackSample}, or {@code null} if no {@link ICallbackMetrics} is registered
+	 */
+	public static CallbackSample start(Class<?> behavior, String path)
+	{
+		JQueryLibrarySettings settings = JQueryAbstractBehavior.getJQueryLibrarySettings();
+
+		if (settings != null && settings.getCallbackMetrics() != null)
+		{
+			return new CallbackSample(settings.getCallbackMetrics(), behavior.getName(), path);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the {@link CallbackSample} bound to the current thread
+	 *
+	 * @return the {@link CallbackSample}, or {@code null}
+	 */
+	public static CallbackSample current()
+	{
+		return CURRENT.get();
+	}
+
+	/**
+	 * Adds the time elapsed since {@code start} to the provider time of the current sample, if any
+	 *
+	 * @param start the start time, as returned by {@link System#nanoTime()}
+	 */
+	public static void recordProviderTime(long start)
+	{
+		CallbackSample sample = CURRENT.get();
+
+		if (sample != null)
+		{
+			sample.providerTime += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Adds the supplied row count to the current sample, if any
+	 *
+	 * @param rows the number of rows
+	 */
+	public static void recordRows(long rows)
+	{
+		CallbackSample sample = CURRENT.get();
+
+		if (sample != null)
+		{
+			sample.rows += rows;
+		}
+	}
+
+	/**
+	 * Adds the supplied response size to the current sample, if any
+	 *
+	 * @param size the number of (uncompressed) bytes
+	 */
+	public static void recordSize(long size)
+	{
+		CallbackSample sample = CURRENT.get();
+
+		if (sample != null)
+		{
+			sample.size += size;
+		}
+	}
+
+	/**
+	 * Gets a stream that adds the number of bytes written to the response size of the current sample<br/>
+	 * If no sample is bound to the current thread, the supplied stream is returned as is.
+	 *
+	 * @param stream the {@link OutputStream}
+	 * @return the counting {@link OutputStream}
+	 */
+	public static OutputStream newCountingStream(OutputStream stream)
+	{
+		final CallbackSample sample = CURRENT.get();
+
+		if (sample == null)
+		{
+			return stream;
+		}
+
+		return new FilterOutputStream(stream) {
+
+			@Override
+			public void write(int b) throws IOException
+			{
+				this.out.write(b);
+				sample.size++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException
+			{
+				this.out.write(b, off, len);
+				sample.size += len;
+			}
+		};
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param metrics the {@link ICallbackMetrics} the sample will be recorded into
+	 * @param behavior the behavior class name
+	 * @param path the page-relative path of the component
+	 */
+	public CallbackSample(ICallbackMetrics metrics, String behavior, String path)
+	{
+		this.metrics = metrics;
+		this.behavior = behavior;
+		this.path = path;
+		this.start = System.nanoTime();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the behavior class name
+	 *
+	 * @return the behavior class name
+	 */
+	public String getBehavior()
+	{
+		return this.behavior;
+	}
+
+	/**
+	 * Gets the page-relative path of the component
+	 *
+	 * @return the component path
+	 */
+	public String getPath()
+	{
+		return this.path;
+	}
+
+	/**
+	 * Gets the total duration, in nanoseconds
+	 *
+	 * @return the duration
+	 */
+	public long getDuration()
+	{
+		return this.duration;
+	}
+
+	/**
+	 * Gets the time spent by the data provider, in nanoseconds
+	 *
+	 * @return the provider time
+	 */
+	public long getProviderTime()
+	{
+		return this.providerTime;
+	}
+
+	/**
+	 * Gets the time spent serializing the response, in nanoseconds
+	 *
+	 * @return the serialization time
+	 */
+	public long getSerializationTime()
+	{
+		return Math.max(this.duration - this.providerTime, 0L);
+	}
+
+	/**
+	 * Gets the response size, in (uncompressed) bytes
+	 *
+	 * @return the response size, or 0 if not measured
+	 */
+	public long getSize()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Gets the number of rows returned
+	 *
+	 * @return the number of rows, or 0 if not reported
+	 */
+	public long getRows()
+	{
+		return this.rows;
+	}
+
+	// Methods //
+
+	/**
+	 * Binds the sample to the current thread
+	 */
+	public void bind()
+	{
+		CURRENT.set(this);
+	}
+
+	/**
+	 * Unbinds the sample from the current thread
+	 */
+	public void unbind()
+	{
+		CURRENT.remove();
+	}
+
+	/**
+	 * Stops the sample and records it into the {@link ICallbackMetrics}<br/>
+	 * This method can be called outside of the request cycle (ie: by an asynchronous response writer).
+	 */
+	public void stop()
+	{
+		this.duration = System.nanoTime() - this.start;
+		this.metrics.record(this);
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Provides an immutable snapshot of the statistics of a callback, as exposed by {@link CallbackMetrics}<br/>
+ * Times are in milliseconds, sizes are in (uncompressed) bytes.
+ *
+ * @author agent
+ */
+public class CallbackStatistics
+{
+	private final long count;
+	private final double totalTime;
+	private final double maxTime;
+	private final double providerTime;
+	private final double serializationTime;
+	private final long bytes;
+	private final long rows;
+
+	/**
+	 * Constructor
+	 *
+	 * @param count the invocation count
+	 * @param totalTime the cumulated duration
+	 * @param maxTime the max duration
+	 * @param providerTime the cumulated provider time
+	 * @param serializationTime the cumulated serialization time
+	 * @param bytes the cumulated response size
+	 * @param rows the cumulated number of rows
+	 */
+	@ConstructorProperties({ "count", "totalTime", "maxTime", "providerTime", "serializationTime", "bytes", "rows" })
+	public CallbackStatistics(long count, double totalTime, double maxTime, double providerTime, double serializationTime, long bytes, long rows)
+	{
+		this.count = count;
+		this.totalTime = totalTime;
+		this.maxTime = maxTime;
+		this.providerTime = providerTime;
+		this.serializationTime = serializationTime;
+		this.bytes = bytes;
+		this.rows = rows;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the invocation count
+	 *
+	 * @return the invocation count
+	 */
+	public long getCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Gets the cumulated duration
+	 *
+	 * @return the cumulated duration, in milliseconds
+	 */
+	public double getTotalTime()
+	{
+		return this.totalTime;
+	}
+
+	/**
+	 * Gets the max duration
+	 *
+	 * @return the max duration, in milliseconds
+	 */
+	public double getMaxTime()
+	{
+		return this.maxTime;
+	}
+
+	/**
+	 * Gets the cumulated provider time
+	 *
+	 * @return the cumulated provider time, in milliseconds
+	 */
+	public double getProviderTime()
+	{
+		return this.providerTime;
+	}
+
+	/**
+	 * Gets the cumulated serialization time
+	 *
+	 * @return the cumulated serialization time, in milliseconds
+	 */
+	public double getSerializationTime()
+	{
+		return this.serializationTime;
+	}
+
+	/**
+	 * Gets the cumulated response size
+	 *
+	 * @return the cumulated response size, in bytes
+	 */
+	public long getBytes()
+	{
+		return this.bytes;
+	}
+
+	/**
+	 * Gets the cumulated number of rows
+	 *
+	 * @return the cumulated number of rows
+	 */
+	public long getRows()
+	{
+		return this.rows;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("count=%d, totalTime=%.1fms, maxTime=%.1fms, providerTime=%.1fms, serializationTime=%.1fms, bytes=%d, rows=%d", this.count, this.totalTime, this.maxTime, this.providerTime, this.serializationTime, this.bytes, this.rows);
+	}
+}
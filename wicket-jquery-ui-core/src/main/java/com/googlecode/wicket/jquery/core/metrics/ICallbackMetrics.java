@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.metrics;
+
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+
+/**
+ * Specifies the metrics SPI of callback behaviors, registered through {@link JQueryLibrarySettings#setCallbackMetrics(ICallbackMetrics)}<br/>
+ * Implementations are invoked concurrently, once per completed callback, and should therefore be thread-safe and cheap.
+ *
+ * @author agent
+ * @see CallbackMetrics
+ */
+public interface ICallbackMetrics
+{
+	/**
+	 * Records a completed callback
+	 *
+	 * @param sample the {@link CallbackSample}
+	 */
+	void record(CallbackSample sample);
+}
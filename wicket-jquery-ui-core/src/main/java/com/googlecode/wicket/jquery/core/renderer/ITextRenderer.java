@@ -16,10 +16,13 @@
  */
 package com.googlecode.wicket.jquery.core.renderer;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.apache.wicket.util.io.IClusterable;
 
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+
 /**
  * Provides the ability to get a specific text (likely from a property) of a bean type, for rendering purpose
  *
@@ -71,6 +74,18 @@ public interface ITextRenderer<T> extends IClusterable
 
 	/**
 	 * Renders the object. This typically returns a JSON body (without brackets)
+	 *
+	 * @param object the T object
+	 * @return the JSON body
 	 */
 	String render(T object);
+
+	/**
+	 * Renders the object's properties to the supplied {@link JsonWriter}, into the current JSON object
+	 *
+	 * @param object the T object
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	void render(T object, JsonWriter writer) throws IOException;
 }
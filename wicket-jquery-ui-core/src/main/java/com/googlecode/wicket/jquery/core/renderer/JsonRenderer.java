@@ -16,7 +16,9 @@
  */
 package com.googlecode.wicket.jquery.core.renderer;
 
-import org.apache.wicket.ajax.json.JSONObject;
+import java.io.IOException;
+
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 
 /**
  * Provides a Json {@link TextRenderer}
@@ -49,10 +51,8 @@ public class JsonRenderer<T> extends TextRenderer<T>
 	// Methods //
 
 	@Override
-	public String render(T object)
+	public void render(T object, JsonWriter writer) throws IOException
 	{
-		String json = new JSONObject(object).toString();
-
-		return json.substring(1, json.length() - 1); // keep body only
+		writer.properties(object);
 	}
 }
@@ -16,11 +16,14 @@
  */
 package com.googlecode.wicket.jquery.core.renderer;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.wicket.ajax.json.JSONObject;
-import org.apache.wicket.core.util.lang.PropertyResolver;
+import org.apache.wicket.WicketRuntimeException;
+
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+import com.googlecode.wicket.jquery.core.utils.PropertyAccessor;
 
 /**
  * Provides the default {@link ITextRenderer}
@@ -95,7 +98,7 @@ public class TextRenderer<T> implements ITextRenderer<T>
 	{
 		if (expression != null)
 		{
-			Object value = PropertyResolver.getValue(expression, object); // if the object is null, null is returned
+			Object value = PropertyAccessor.getValue(expression, object); // if the object is null, null is returned
 
 			if (value != null)
 			{
@@ -117,7 +120,24 @@ public class TextRenderer<T> implements ITextRenderer<T>
 	@Override
 	public String render(T object)
 	{
-		return String.format("%s: %s", JSONObject.quote(this.getTextField()), JSONObject.quote(this.getText(object)));
+		StringBuilder builder = new StringBuilder();
+
+		try
+		{
+			this.render(object, new JsonWriter(builder)); // properties written at top level, so without brackets
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // should not happen using a StringBuilder
+		}
+
+		return builder.toString();
+	}
+
+	@Override
+	public void render(T object, JsonWriter writer) throws IOException
+	{
+		writer.property(this.getTextField(), this.getText(object));
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.cycle.RequestCycle;
+
+import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+
+/**
+ * Provides the page-bound callback that issues a new data feed url - holding a new token - once the previous token has expired<br/>
+ * The callback answers the feed url as a JSON string; the data-source read function requests it when the feed responds {@code 403 Forbidden}, then retries
+ * the read with the new url. The callback being page-bound, the new token is only issued as long as the page is still available to the user.
+ *
+ * @author agent
+ * @see DataFeedResource
+ */
+public abstract class DataFeedRenewBehavior extends AjaxCallbackBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor
+	 */
+	public DataFeedRenewBehavior()
+	{
+		super();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the data feed url, including a new signed token (see {@link DataFeedResourceReference#urlFor(String, String)})
+	 *
+	 * @return the data feed url
+	 */
+	protected abstract CharSequence getDataFeedUrl();
+
+	// Methods //
+
+	@Override
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
+	{
+		CharSequence url = this.getDataFeedUrl();
+
+		if (url == null)
+		{
+			throw new WicketRuntimeException("The data feed url is not available");
+		}
+
+		// the url is rendered relative to the callback url, which may differ from the page url
+		new JsonWriter(writer).value(RequestCycle.get().getUrlRenderer().renderFullUrl(Url.parse(url)));
+	}
+}
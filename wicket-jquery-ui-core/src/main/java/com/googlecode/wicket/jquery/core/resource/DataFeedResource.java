@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.util.crypt.Base64;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.string.Strings;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.data.IDataFeed;
+
+/**
+ * Provides a stateless, shared, resource that serves {@link IDataFeed}{@code s}<br/>
+ * Unlike component-bound callbacks, feeds are not attached to any page: requests neither deserialize the page nor wait for the page lock, so several widgets of
+ * the same page can be loaded concurrently.<br/>
+ * <br/>
+ * Requests are authorized by a token - passed as the {@value #TOKEN} parameter - which is signed (HMAC-SHA256) with the resource's secret. The token holds the
+ * feed name, an optional argument (ie: an entity id) and an expiration time; it is issued by {@link #newToken(String, String)} while rendering the page.<br/>
+ * The token is also bound to the http session it has been issued for: the session id is part of the signed content - not of the token itself - so the token
+ * cannot be replayed outside of that session. Once expired, a new token should be issued by a page-bound callback (see {@link DataFeedRenewBehavior}).
+ *
+ * @author agent
+ * @see DataFeedResourceReference
+ */
+public class DataFeedResource extends AbstractResource
+{
+	private static final long serialVersionUID = 1L;
+
+	/** the token parameter name */
+	public static final String TOKEN = "t";
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final String CHARSET = "UTF-8";
+	private static final int BUFFER_SIZE = 8192;
+	private static final int SC_FORBIDDEN = 403;
+	private static final int SC_NOT_FOUND = 404;
+
+	private final byte[] secret;
+	private final ConcurrentMap<String, IDataFeed> feeds;
+	private volatile Duration timeToLive = Duration.hours(1);
+
+	/**
+	 * Constructor
+	 *
+	 * @param secret the secret key the tokens are signed with (it should be the same for all nodes of a cluster)
+	 */
+	public DataFeedResource(byte[] secret)
+	{
+		Args.isTrue(secret != null && secret.length >= 16, "the secret should be at least 16 bytes long");
+
+		this.secret = secret.clone();
+		this.feeds = new ConcurrentHashMap<String, IDataFeed>();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the validity duration of the tokens
+	 *
+	 * @return the {@link Duration}
+	 */
+	public Duration getTimeToLive()
+	{
+		return this.timeToLive;
+	}
+
+	/**
+	 * Sets the validity duration of the tokens
+	 *
+	 * @param timeToLive the {@link Duration}
+	 * @return this, for chaining
+	 */
+	public DataFeedResource setTimeToLive(Duration timeToLive)
+	{
+		this.timeToLive = Args.notNull(timeToLive, "timeToLive");
+
+		return this;
+	}
+
+	// Methods //
+
+	/**
+	 * Registers a feed
+	 *
+	 * @param name the feed name
+	 * @param feed the {@link IDataFeed}
+	 * @return this, for chaining
+	 */
+	public DataFeedResource register(String name, IDataFeed feed)
+	{
+		this.feeds.put(Args.notEmpty(name, "name"), Args.notNull(feed, "feed"));
+
+		return this;
+	}
+
+	/**
+	 * Unregisters a feed
+	 *
+	 * @param name the feed name
+	 */
+	public void unregister(String name)
+	{
+		this.feeds.remove(name);
+	}
+
+	/**
+	 * Gets a new signed token, granting access to the feed - within the current session - until the time-to-live elapsed<br/>
+	 * The http session is created if it does not exist yet.
+	 *
+	 * @param name the feed name
+	 * @param argument the argument that will be supplied to the feed, or {@code null}
+	 * @return the token
+	 */
+	public String newToken(String name, String argument)
+	{
+		Args.isTrue(this.feeds.containsKey(name), "the feed '%s' is not registered", name);
+
+		long expires = System.currentTimeMillis() + this.timeToLive.getMilliseconds();
+		String payload = encode(name) + "." + encode(argument != null ? argument : "") + "." + Long.toString(expires, 36);
+
+		String session = getSessionId(RequestCycle.get().getRequest(), true);
+
+		return payload + "." + Base64.encodeBase64URLSafeString(this.sign(payload, session));
+	}
+
+	@Override
+	protected ResourceResponse newResourceResponse(final Attributes attributes)
+	{
+		ResourceResponse response = new ResourceResponse();
+		Request request = attributes.getRequest();
+		String[] parts = this.verify(request.getQueryParameters().getParameterValue(TOKEN).toString(), getSessionId(request, false));
+
+		if (parts == null)
+		{
+			return response.setError(SC_FORBIDDEN, "Invalid or expired token");
+		}
+
+		final IDataFeed feed = this.feeds.get(parts[0]);
+		final String argument = Strings.isEmpty(parts[1]) ? null : parts[1];
+
+		if (feed == null)
+		{
+			return response.setError(SC_NOT_FOUND, "Unknown feed");
+		}
+
+		response.setContentType("application/json");
+		response.setTextEncoding(CHARSET);
+		response.disableCaching();
+		response.setWriteCallback(new WriteCallback() {
+
+			@Override
+			public void writeData(Attributes attributes) throws IOException
+			{
+				IRequestParameters parameters = attributes.getRequest().getQueryParameters();
+				Writer writer = new BufferedWriter(new OutputStreamWriter(attributes.getResponse().getOutputStream(), CHARSET), BUFFER_SIZE);
+
+				feed.write(parameters, argument, writer);
+				writer.flush(); // the underlying stream belongs to the container, it should not be closed
+			}
+		});
+
+		return response;
+	}
+
+	// Helpers //
+
+	/**
+	 * Verifies the token
+	 *
+	 * @param token the token
+	 * @param session the id of the current http session, or {@code null}
+	 * @return the feed name and the argument, or {@code null} if the token is invalid, expired or issued for another session
+	 */
+	private String[] verify(String token, String session)
+	{
+		if (token == null || session == null)
+		{
+			return null;
+		}
+
+		int index = token.lastIndexOf('.');
+		String[] parts = token.substring(0, Math.max(index, 0)).split("\\.", -1);
+
+		if (index < 0 || parts.length != 3)
+		{
+			return null;
+		}
+
+		try
+		{
+			byte[] signature = Base64.decodeBase64(token.substring(index + 1));
+
+			if (!MessageDigest.isEqual(signature, this.sign(token.substring(0, index), session)))
+			{
+				return null;
+			}
+
+			if (Long.parseLong(parts[2], 36) < System.currentTimeMillis())
+			{
+				return null; // expired
+			}
+
+			return new String[] { decode(parts[0]), decode(parts[1]) };
+		}
+		catch (RuntimeException e)
+		{
+			return null; // malformed token
+		}
+	}
+
+	/**
+	 * Signs the payload, for the supplied session
+	 *
+	 * @param payload the payload
+	 * @param session the http session id
+	 * @return the signature
+	 */
+	private byte[] sign(String payload, String session)
+	{
+		try
+		{
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(new SecretKeySpec(this.secret, ALGORITHM));
+
+			return mac.doFinal((payload + "." + session).getBytes(CHARSET));
+		}
+		catch (GeneralSecurityException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+		catch (UnsupportedEncodingException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Gets the id of the http session of the supplied request
+	 *
+	 * @param request the {@link Request}
+	 * @param create whether the session should be created if it does not exist
+	 * @return the session id, or {@code null} if there is no session and {@code create} is false
+	 */
+	private static String getSessionId(Request request, boolean create)
+	{
+		return Application.get().getSessionStore().getSessionId(request, create);
+	}
+
+	/**
+	 * Encodes a token part
+	 *
+	 * @param value the value
+	 * @return the url-safe base64 value
+	 */
+	private static String encode(String value)
+	{
+		try
+		{
+			return Base64.encodeBase64URLSafeString(value.getBytes(CHARSET));
+		}
+		catch (UnsupportedEncodingException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Decodes a token part
+	 *
+	 * @param value the url-safe base64 value
+	 * @return the value
+	 */
+	private static String decode(String value)
+	{
+		try
+		{
+			return new String(Base64.decodeBase64(value), CHARSET);
+		}
+		catch (UnsupportedEncodingException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+}
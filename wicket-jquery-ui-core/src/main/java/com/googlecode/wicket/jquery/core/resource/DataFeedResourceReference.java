@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.data.IDataFeed;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+
+/**
+ * Provides the resource reference of the {@link DataFeedResource}<br/>
+ * <br/>
+ * Usage:
+ *
+ * <pre>
+ * <code>
+ * public class MyApplication extends WebApplication
+ * {
+ *     public void init()
+ *     {
+ *         super.init();
+ *
+ *         DataFeedResourceReference reference = new DataFeedResourceReference(secret);
+ *         reference.getResource().register("products", new ProductsFeed());
+ *
+ *         this.mountResource("/feeds", reference);
+ *
+ *         JQueryLibrarySettings settings = new JQueryLibrarySettings();
+ *         settings.setDataFeedReference(reference);
+ *         this.setJavaScriptLibrarySettings(settings);
+ *     }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author agent
+ * @see JQueryLibrarySettings#getDataFeedReference()
+ */
+public class DataFeedResourceReference extends ResourceReference
+{
+	private static final long serialVersionUID = 1L;
+
+	private final DataFeedResource resource;
+
+	/**
+	 * Constructor
+	 *
+	 * @param secret the secret key the tokens are signed with (it should be the same for all nodes of a cluster)
+	 */
+	public DataFeedResourceReference(byte[] secret)
+	{
+		this(new DataFeedResource(secret));
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param resource the {@link DataFeedResource}
+	 */
+	public DataFeedResourceReference(DataFeedResource resource)
+	{
+		super(DataFeedResourceReference.class, "data-feed");
+
+		this.resource = Args.notNull(resource, "resource");
+	}
+
+	// Properties //
+
+	@Override
+	public DataFeedResource getResource()
+	{
+		return this.resource;
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the url of a feed, including a new signed token
+	 *
+	 * @param name the feed name, as registered in the {@link DataFeedResource}
+	 * @param argument the argument that will be supplied to the {@link IDataFeed}, or {@code null}
+	 * @return the url
+	 */
+	public CharSequence urlFor(String name, String argument)
+	{
+		PageParameters parameters = new PageParameters();
+		parameters.add(DataFeedResource.TOKEN, this.resource.newToken(name, argument));
+
+		return RequestCycle.get().urlFor(this, parameters);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import org.apache.wicket.resource.JQueryPluginResourceReference;
+
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+
+/**
+ * The resource reference of the client-side part of batched {@link JQueryAjaxBehavior}{@code s}.
+ *
+ * @author agent
+ *
+ */
+public class JQueryAjaxBatchResourceReference extends JQueryPluginResourceReference
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final JQueryAjaxBatchResourceReference INSTANCE = new JQueryAjaxBatchResourceReference();
+
+	/**
+	 * Gets the instance of the resource reference
+	 *
+	 * @return the single instance of the resource reference
+	 */
+	public static JQueryAjaxBatchResourceReference get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Private constructor
+	 */
+	private JQueryAjaxBatchResourceReference()
+	{
+		super(JQueryAjaxBatchResourceReference.class, "jquery-ajax-batch.js");
+	}
+}
@@ -16,8 +16,23 @@
  */
 package com.googlecode.wicket.jquery.core.settings;
 
+import java.util.concurrent.Executor;
+
 import org.apache.wicket.request.resource.ResourceReference;
 import org.apache.wicket.settings.JavaScriptLibrarySettings;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Bytes;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxPolicy;
+import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackFanOutBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceCache;
+import com.googlecode.wicket.jquery.core.data.ICachedChoiceProvider;
+import com.googlecode.wicket.jquery.core.metrics.CallbackMetrics;
+import com.googlecode.wicket.jquery.core.metrics.ICallbackMetrics;
+import com.googlecode.wicket.jquery.core.resource.DataFeedResourceReference;
 
 /**
  * Provides library settings for jQuery UI resource references<br/>
@@ -46,6 +61,15 @@ import org.apache.wicket.settings.JavaScriptLibrarySettings;
 public class JQueryLibrarySettings extends JavaScriptLibrarySettings
 {
 	private ResourceReference globalizeReference = null; // null by default, meaning the user has to set it explicitly
+	private Duration ajaxBatchDuration = Duration.NONE; // none by default, meaning ajax calls are not batched
+	private JQueryAjaxPolicy ajaxPolicy = JQueryAjaxPolicy.NONE; // none by default, meaning ajax calls are not rate-controlled
+	private ChoiceCache choiceCache = new ChoiceCache();
+	private Bytes compressionThreshold = null; // disabled by default, applications opt in
+	private Executor asyncExecutor = null; // null by default, meaning callback responses are written synchronously
+	private Duration asyncTimeout = Duration.seconds(30);
+	private Executor fanOutExecutor = null; // null by default, meaning fanned-out reads are computed by the request thread
+	private DataFeedResourceReference dataFeedReference = null; // null by default, meaning the user has to set (and mount) it explicitly
+	private ICallbackMetrics callbackMetrics = null; // null by default, meaning callbacks are not measured
 
 	/**
 	 * Constructor
@@ -73,4 +97,195 @@ public class JQueryLibrarySettings extends JavaScriptLibrarySettings
 	{
 		this.globalizeReference = reference;
 	}
+
+	/**
+	 * Gets the batch window of {@link JQueryAjaxBehavior}{@code s}
+	 *
+	 * @return the {@link Duration}
+	 * @see #setAjaxBatchDuration(Duration)
+	 */
+	public Duration getAjaxBatchDuration()
+	{
+		return this.ajaxBatchDuration;
+	}
+
+	/**
+	 * Sets the batch window of {@link JQueryAjaxBehavior}{@code s}<br/>
+	 * If different than {@link Duration#NONE}, ajax calls raised within the window are coalesced into one single request (opt-in)
+	 *
+	 * @param duration the {@link Duration}
+	 */
+	public void setAjaxBatchDuration(Duration duration)
+	{
+		this.ajaxBatchDuration = Args.notNull(duration, "duration");
+	}
+
+	/**
+	 * Gets the default rate-control policy of {@link JQueryAjaxBehavior}{@code s}
+	 *
+	 * @return the {@link JQueryAjaxPolicy}
+	 */
+	public JQueryAjaxPolicy getAjaxPolicy()
+	{
+		return this.ajaxPolicy;
+	}
+
+	/**
+	 * Sets the default rate-control policy of {@link JQueryAjaxBehavior}{@code s}<br/>
+	 * The policy applies to behaviors which do not specify their own
+	 *
+	 * @param policy the {@link JQueryAjaxPolicy}
+	 */
+	public void setAjaxPolicy(JQueryAjaxPolicy policy)
+	{
+		this.ajaxPolicy = Args.notNull(policy, "policy");
+	}
+
+	/**
+	 * Gets the application-wide cache of rendered choices
+	 *
+	 * @return the {@link ChoiceCache}, or {@code null} if disabled
+	 */
+	public ChoiceCache getChoiceCache()
+	{
+		return this.choiceCache;
+	}
+
+	/**
+	 * Sets the application-wide cache of rendered choices<br/>
+	 * The cache only applies to {@link ICachedChoiceProvider}{@code s} which supply a cache key (opt-in)
+	 *
+	 * @param cache the {@link ChoiceCache}, or {@code null} to disable caching
+	 */
+	public void setChoiceCache(ChoiceCache cache)
+	{
+		this.choiceCache = cache;
+	}
+
+	/**
+	 * Gets the min size of {@link AjaxCallbackBehavior} responses to be gzip'ed<br/>
+	 * Default is {@code null}, meaning that compression is disabled
+	 *
+	 * @return the threshold, or {@code null} if compression is disabled
+	 */
+	public Bytes getCompressionThreshold()
+	{
+		return this.compressionThreshold;
+	}
+
+	/**
+	 * Sets the min size of {@link AjaxCallbackBehavior} responses to be gzip'ed (ie: {@code Bytes.kilobytes(8)})<br/>
+	 * Responses are compressed only if the client accepts it (see {@code Accept-Encoding} header)
+	 *
+	 * @param threshold the threshold, or {@code null} to disable compression (ie: if a reverse proxy already compresses responses)
+	 */
+	public void setCompressionThreshold(Bytes threshold)
+	{
+		this.compressionThreshold = threshold;
+	}
+
+	/**
+	 * Gets the {@link Executor} writing the asynchronous {@link AjaxCallbackBehavior} responses
+	 *
+	 * @return the {@link Executor}, or {@code null} if asynchronous responses are disabled
+	 */
+	public Executor getAsyncExecutor()
+	{
+		return this.asyncExecutor;
+	}
+
+	/**
+	 * Sets the {@link Executor} writing the asynchronous {@link AjaxCallbackBehavior} responses<br/>
+	 * Asynchronous responses require the Wicket filter to be declared as {@code async-supported}, otherwise they are written synchronously.
+	 *
+	 * @param executor the {@link Executor}, or {@code null} to disable asynchronous responses
+	 */
+	public void setAsyncExecutor(Executor executor)
+	{
+		this.asyncExecutor = executor;
+	}
+
+	/**
+	 * Gets the timeout of asynchronous {@link AjaxCallbackBehavior} responses
+	 *
+	 * @return the {@link Duration}
+	 */
+	public Duration getAsyncTimeout()
+	{
+		return this.asyncTimeout;
+	}
+
+	/**
+	 * Sets the timeout of asynchronous {@link AjaxCallbackBehavior} responses
+	 *
+	 * @param timeout the {@link Duration}
+	 */
+	public void setAsyncTimeout(Duration timeout)
+	{
+		this.asyncTimeout = Args.notNull(timeout, "timeout");
+	}
+
+	/**
+	 * Gets the {@link Executor} computing the fanned-out {@link AjaxCallbackBehavior} responses in parallel
+	 *
+	 * @return the {@link Executor}, or {@code null} if fanned-out reads are computed by the request thread
+	 */
+	public Executor getFanOutExecutor()
+	{
+		return this.fanOutExecutor;
+	}
+
+	/**
+	 * Sets the {@link Executor} computing the fanned-out {@link AjaxCallbackBehavior} responses in parallel (see {@link AjaxCallbackFanOutBehavior})<br/>
+	 * Fan-out is enabled per behavior (see {@link AjaxCallbackBehavior#isFanOut()}). The executor should be bounded; reads rejected by the executor are computed
+	 * by the request thread.
+	 *
+	 * @param executor the {@link Executor}, or {@code null} to compute fanned-out reads by the request thread
+	 */
+	public void setFanOutExecutor(Executor executor)
+	{
+		this.fanOutExecutor = executor;
+	}
+
+	/**
+	 * Gets the {@link DataFeedResourceReference}
+	 *
+	 * @return the {@link DataFeedResourceReference}, or {@code null} if data feeds are not enabled
+	 */
+	public DataFeedResourceReference getDataFeedReference()
+	{
+		return this.dataFeedReference;
+	}
+
+	/**
+	 * Sets the {@link DataFeedResourceReference}<br/>
+	 * The reference should also be mounted by the application (see {@code WebApplication#mountResource(String, ResourceReference)})
+	 *
+	 * @param reference the {@link DataFeedResourceReference}, or {@code null} to disable data feeds
+	 */
+	public void setDataFeedReference(DataFeedResourceReference reference)
+	{
+		this.dataFeedReference = reference;
+	}
+
+	/**
+	 * Gets the {@link ICallbackMetrics}
+	 *
+	 * @return the {@link ICallbackMetrics}, or {@code null} if callbacks are not measured
+	 */
+	public ICallbackMetrics getCallbackMetrics()
+	{
+		return this.callbackMetrics;
+	}
+
+	/**
+	 * Sets the {@link ICallbackMetrics}, recording the invocations of {@link AjaxCallbackBehavior}{@code s} and {@link JQueryAjaxBehavior}{@code s} (see
+	 * {@link CallbackMetrics} for the default JMX implementation)
+	 *
+	 * @param metrics the {@link ICallbackMetrics}, or {@code null} to disable metrics
+	 */
+	public void setCallbackMetrics(ICallbackMetrics metrics)
+	{
+		this.callbackMetrics = metrics;
+	}
 }
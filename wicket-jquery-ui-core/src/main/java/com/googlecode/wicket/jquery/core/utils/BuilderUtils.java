@@ -16,10 +16,11 @@
  */
 package com.googlecode.wicket.jquery.core.utils;
 
-import org.apache.wicket.ajax.json.JSONObject;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
- * Utility class for {@link StringBuilder}
+ * Utility class for {@link StringBuilder} and {@link Writer}
  *
  * @author Sebastien Briquet - sebfz1
  */
@@ -42,7 +43,7 @@ public class BuilderUtils
 	 */
 	public static void append(StringBuilder builder, String key, Object value)
 	{
-		builder.append(JSONObject.quote(key)).append(": ").append(String.valueOf(value));
+		JsonWriter.quote(key, builder).append(": ").append(String.valueOf(value));
 	}
 
 	/**
@@ -54,6 +55,38 @@ public class BuilderUtils
 	 */
 	public static void append(StringBuilder builder, String key, String value)
 	{
-		builder.append(JSONObject.quote(key)).append(": ").append(JSONObject.quote(value));
+		JsonWriter.quote(key, builder).append(": ");
+		JsonWriter.quote(value, builder);
+	}
+
+	/**
+	 * Helper method that writes a key/value JSON pair to the specified writer<br/>
+	 * The value will *not* be quoted, except if the value is {@code null}, {@code "null"} will be written.
+	 *
+	 * @param writer the {@link Writer}
+	 * @param key the key
+	 * @param value the object
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void append(Writer writer, String key, Object value) throws IOException
+	{
+		JsonWriter.quote(key, writer);
+		writer.write(": ");
+		writer.write(String.valueOf(value));
+	}
+
+	/**
+	 * Helper method that writes a key/value JSON pair to the specified writer. The value will be quoted
+	 *
+	 * @param writer the {@link Writer}
+	 * @param key the key
+	 * @param value the value
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void append(Writer writer, String key, String value) throws IOException
+	{
+		JsonWriter.quote(key, writer);
+		writer.write(": ");
+		JsonWriter.quote(value, writer);
 	}
 }
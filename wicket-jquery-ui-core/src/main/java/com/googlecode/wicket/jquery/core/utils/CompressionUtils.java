@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.http.WebRequest;
+
+/**
+ * Utility class for gzip compression of responses<br/>
+ * {@link Deflater}{@code s} are pooled, to avoid per-request native allocations.
+ *
+ * @author agent
+ */
+public class CompressionUtils
+{
+	/** the gzip content coding */
+	public static final String GZIP = "gzip";
+
+	/** the max number of idle {@link Deflater}{@code s} */
+	private static final int POOL_SIZE = 16;
+	private static final BlockingQueue<Deflater> POOL = new ArrayBlockingQueue<Deflater>(POOL_SIZE);
+
+	/** gzip header: magic number, deflate, no flag, no mtime, no extra flag, unknown OS */
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+	/**
+	 * Utility class
+	 */
+	private CompressionUtils()
+	{
+	}
+
+	/**
+	 * Indicates whether the request accepts the gzip content coding, according to its {@code Accept-Encoding} header
+	 *
+	 * @param request the {@link WebRequest}
+	 * @return {@code true} or {@code false}
+	 */
+	public static boolean acceptsGzip(WebRequest request)
+	{
+		List<String> headers = request.getHeaders("Accept-Encoding");
+
+		if (headers != null)
+		{
+			for (String header : headers)
+			{
+				for (String coding : header.split(","))
+				{
+					String[] parts = coding.trim().split(";");
+					String name = parts[0].trim();
+
+					if (GZIP.equalsIgnoreCase(name) || "*".equals(name))
+					{
+						return !CompressionUtils.isZeroQuality(parts);
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Compresses the supplied bytes
+	 *
+	 * @param bytes the bytes
+	 * @return the gzip'ed bytes
+	 */
+	public static byte[] gzip(byte[] bytes)
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream(bytes.length / 4 + HEADER.length);
+		GzipOutputStream gzip = new GzipOutputStream(stream);
+
+		try
+		{
+			gzip.write(bytes);
+			gzip.finish();
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // cannot happen
+		}
+		finally
+		{
+			gzip.release();
+		}
+
+		return stream.toByteArray();
+	}
+
+	/**
+	 * Gets a {@link Deflater} from the pool, or a new one if the pool is empty
+	 *
+	 * @return the {@link Deflater}
+	 */
+	private static Deflater acquire()
+	{
+		Deflater deflater = POOL.poll();
+
+		return deflater != null ? deflater : new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+	}
+
+	/**
+	 * Gives back a {@link Deflater} to the pool, or releases its native resources if the pool is full
+	 *
+	 * @param deflater the {@link Deflater}
+	 */
+	private static void release(Deflater deflater)
+	{
+		deflater.reset();
+
+		if (!POOL.offer(deflater))
+		{
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Indicates whether the content coding parameters specify a zero quality (ie: "gzip;q=0")
+	 *
+	 * @param parts the content coding, followed by its parameters
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean isZeroQuality(String[] parts)
+	{
+		for (int i = 1; i < parts.length; i++)
+		{
+			String parameter = parts[i].trim();
+
+			if (parameter.startsWith("q="))
+			{
+				try
+				{
+					return Double.parseDouble(parameter.substring(2)) <= 0;
+				}
+				catch (NumberFormatException e)
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Provides a gzip {@link OutputStream} that uses a pooled {@link Deflater}<br/>
+	 * {@link #finish()} writes the gzip trailer but does not close the underlying stream; {@link #release()} should always be called once the stream is no
+	 * longer used.
+	 */
+	public static class GzipOutputStream extends DeflaterOutputStream
+	{
+		private static final int BUFFER_SIZE = 8192;
+
+		private final CRC32 crc = new CRC32();
+		private boolean header = false;
+		private boolean released = false;
+
+		/**
+		 * Constructor
+		 *
+		 * @param out the underlying {@link OutputStream}
+		 */
+		public GzipOutputStream(OutputStream out)
+		{
+			super(out, CompressionUtils.acquire(), BUFFER_SIZE);
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			this.write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			this.writeHeader();
+
+			super.write(b, off, len);
+			this.crc.update(b, off, len);
+		}
+
+		@Override
+		public void finish() throws IOException
+		{
+			this.writeHeader();
+
+			if (!this.def.finished())
+			{
+				super.finish();
+
+				this.writeInt((int) this.crc.getValue());
+				this.writeInt(this.def.getTotalIn()); // ISIZE, modulo 2^32
+			}
+		}
+
+		/**
+		 * Gives back the {@link Deflater} to the pool
+		 */
+		public void release()
+		{
+			if (!this.released)
+			{
+				this.released = true;
+				CompressionUtils.release(this.def);
+			}
+		}
+
+		/**
+		 * Writes the gzip header, if not already written
+		 *
+		 * @throws IOException if an I/O error occurs
+		 */
+		private void writeHeader() throws IOException
+		{
+			if (!this.header)
+			{
+				this.header = true;
+				this.out.write(HEADER);
+			}
+		}
+
+		/**
+		 * Writes a little-endian int
+		 *
+		 * @param i the int
+		 * @throws IOException if an I/O error occurs
+		 */
+		private void writeInt(int i) throws IOException
+		{
+			this.out.write(i & 0xff);
+			this.out.write((i >> 8) & 0xff);
+			this.out.write((i >> 16) & 0xff);
+			this.out.write((i >> 24) & 0xff);
+		}
+	}
+}
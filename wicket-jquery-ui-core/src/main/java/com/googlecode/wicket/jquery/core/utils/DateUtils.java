@@ -17,20 +17,23 @@
 package com.googlecode.wicket.jquery.core.utils;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.text.ParsePosition;
 import java.util.Date;
 import java.util.TimeZone;
 
+import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
 import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatter;
 
 /**
- * Utility class for {@link Date}({@code s})
+ * Utility class for {@link Date}({@code s})<br/>
+ * Formatters are immutable and cached, ISO8601 representations are written without any formatter (see {@link #toString(long, StringBuilder)} and
+ * {@link #toUTCString(long, StringBuilder)}).
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -56,6 +59,15 @@ public class DateUtils
 	/** UTC timezone */
 	public static final TimeZone UTC = TimeZone.getTimeZone("UTC");
 
+	/** ISO8601 formatter (without timezone) */
+	public static final DateTimeFormatter ISO8601_FORMATTER = DateTimeFormatter.ofPattern(ISO8601);
+
+	/** milliseconds per hour */
+	private static final long MILLIS_PER_HOUR = 3600000L;
+
+	/** milliseconds per day */
+	private static final long MILLIS_PER_DAY = 86400000L;
+
 	/**
 	 * Utility class
 	 */
@@ -121,7 +133,8 @@ public class DateUtils
 	}
 
 	/**
-	 * Converts a ISO8601 string date (without timezone) to a {@link Date}
+	 * Converts a ISO8601 string date (without timezone) to a {@link Date}<br/>
+	 * As for {@link java.text.DateFormat#parse(String)}, trailing characters (ie: a timezone) are ignored
 	 *
 	 * @param date ISO8601 string date
 	 * @return the {@code Date}
@@ -129,7 +142,21 @@ public class DateUtils
 	 */
 	public static Date parse(String date) throws ParseException
 	{
-		return new SimpleDateFormat(ISO8601).parse(date);
+		try
+		{
+			LocalDateTime datetime = LocalDateTime.from(ISO8601_FORMATTER.parse(date, new ParsePosition(0)));
+			long local = datetime.toLocalDate().toEpochDay() * MILLIS_PER_DAY + datetime.toLocalTime().toNanoOfDay() / 1000000L;
+			TimeZone timezone = TimeZone.getDefault();
+
+			return new Date(local - timezone.getOffset(local - timezone.getRawOffset())); // same as SimpleDateFormat, with the JDK timezone rules
+		}
+		catch (DateTimeException e)
+		{
+			ParseException exception = new ParseException("Unparseable date: \"" + date + "\"", 0);
+			exception.initCause(e);
+
+			throw exception;
+		}
 	}
 
 	/**
@@ -140,7 +167,27 @@ public class DateUtils
 	 */
 	public static String toString(Date date)
 	{
-		return new SimpleDateFormat(ISO8601_TZ).format(date);
+		return DateUtils.toString(date.getTime(), new StringBuilder(28)).toString();
+	}
+
+	/**
+	 * Writes the ISO8601/javascript representation (with timezone) of a date to the supplied {@link StringBuilder}. ie: 2009-11-05T13:15:00.000+0200
+	 *
+	 * @param time the date to convert, in milliseconds
+	 * @param builder the {@link StringBuilder}
+	 * @return the {@link StringBuilder}
+	 */
+	public static StringBuilder toString(long time, StringBuilder builder)
+	{
+		int offset = TimeZone.getDefault().getOffset(time);
+		int minutes = Math.abs(offset) / 60000;
+
+		DateUtils.append(time + offset, builder);
+		builder.append(offset < 0 ? '-' : '+');
+		DateUtils.pad(minutes / 60, 2, builder);
+		DateUtils.pad(minutes % 60, 2, builder);
+
+		return builder;
 	}
 
 	/**
@@ -151,10 +198,19 @@ public class DateUtils
 	 */
 	public static String toUTCString(Date date)
 	{
-		SimpleDateFormat formatter = new SimpleDateFormat(ISO8601_UTC);
-		formatter.setTimeZone(DateUtils.UTC);
+		return DateUtils.toUTCString(date.getTime(), new StringBuilder(24)).toString();
+	}
 
-		return formatter.format(date);
+	/**
+	 * Writes the ISO8601/javascript representation (UTC) of a date to the supplied {@link StringBuilder}. ie: 2009-11-05T13:15:00.000Z
+	 *
+	 * @param time the date to convert, in milliseconds
+	 * @param builder the {@link StringBuilder}
+	 * @return the {@link StringBuilder}
+	 */
+	public static StringBuilder toUTCString(long time, StringBuilder builder)
+	{
+		return DateUtils.append(time, builder).append('Z');
 	}
 
 	/**
@@ -166,11 +222,7 @@ public class DateUtils
 	 */
 	public static long addHours(long date, int hours)
 	{
-		Calendar calendar = Calendar.getInstance(UTC);
-		calendar.setTimeInMillis(date);
-		calendar.add(Calendar.HOUR, hours);
-
-		return calendar.getTimeInMillis();
+		return date + hours * MILLIS_PER_HOUR; // UTC has no daylight saving time
 	}
 
 	/**
@@ -182,11 +234,68 @@ public class DateUtils
 	 */
 	public static Date addHours(Date date, int hours)
 	{
-		Calendar calendar = Calendar.getInstance(UTC);
-		calendar.setTime(date);
-		calendar.add(Calendar.HOUR, hours);
+		return new Date(DateUtils.addHours(date.getTime(), hours));
+	}
+
+	/**
+	 * Writes the "yyyy-MM-dd'T'HH:mm:ss.SSS" representation of a time to the supplied {@link StringBuilder}, as if the time was UTC
+	 *
+	 * @param time the time, in milliseconds
+	 * @param builder the {@link StringBuilder}
+	 * @return the {@link StringBuilder}
+	 */
+	private static StringBuilder append(long time, StringBuilder builder)
+	{
+		long days = time / MILLIS_PER_DAY;
+		long millis = time % MILLIS_PER_DAY;
+
+		if (millis < 0)
+		{
+			days--;
+			millis += MILLIS_PER_DAY;
+		}
+
+		// civil date from days (proleptic gregorian calendar), see http://howardhinnant.github.io/date_algorithms.html
+		long z = days + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		long doe = z - era * 146097;
+		long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		long mp = (5 * doy + 2) / 153;
+		long day = doy - (153 * mp + 2) / 5 + 1;
+		long month = mp < 10 ? mp + 3 : mp - 9;
+		long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+		DateUtils.pad(year, 4, builder).append('-');
+		DateUtils.pad(month, 2, builder).append('-');
+		DateUtils.pad(day, 2, builder).append('T');
+		DateUtils.pad(millis / MILLIS_PER_HOUR, 2, builder).append(':');
+		DateUtils.pad(millis / 60000 % 60, 2, builder).append(':');
+		DateUtils.pad(millis / 1000 % 60, 2, builder).append('.');
+		DateUtils.pad(millis % 1000, 3, builder);
+
+		return builder;
+	}
+
+	/**
+	 * Writes a zero-padded number to the supplied {@link StringBuilder}
+	 *
+	 * @param value the (positive) number
+	 * @param length the minimum length
+	 * @param builder the {@link StringBuilder}
+	 * @return the {@link StringBuilder}
+	 */
+	private static StringBuilder pad(long value, int length, StringBuilder builder)
+	{
+		for (long limit = 10; length > 1; length--, limit *= 10)
+		{
+			if (value < limit)
+			{
+				builder.append('0');
+			}
+		}
 
-		return calendar.getTime();
+		return builder.append(value);
 	}
 
 	// java8 date handling & conversion //
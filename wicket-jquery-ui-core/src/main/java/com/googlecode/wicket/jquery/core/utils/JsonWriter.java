@@ -0,0 +1,628 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Date;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.ajax.json.JSONArray;
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.ajax.json.JSONString;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a lightweight JSON emitter that appends keys and values directly to an {@link Appendable}, without any intermediate {@code JSONObject}, {@code Map} or {@code String}<br/>
+ * Separators are handled by the writer. Properties can also be written at the top level, which produces an object body (without brackets).
+ *
+ * <pre>
+ * new JsonWriter(builder).beginObject().property("id", 1).property("text", "my text").endObject(); // {"id":1,"text":"my text"}
+ * </pre>
+ *
+ * @author agent
+ */
+public class JsonWriter
+{
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/** The max nesting level of objects and arrays */
+	private static final int MAX_DEPTH = 63;
+
+	private final Appendable out;
+
+	/** bit n is set when the container at level n already has an element */
+	private long elements = 0L;
+
+	/** the current nesting level, 0 being the top level */
+	private int depth = 0;
+
+	/** indicates whether a key has just been written */
+	private boolean pending = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param out the {@link Appendable}, ie: a {@code StringBuilder} or a {@code Writer}
+	 */
+	public JsonWriter(Appendable out)
+	{
+		this.out = Args.notNull(out, "out");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the underlying {@link Appendable}
+	 *
+	 * @return the {@code Appendable}
+	 */
+	public Appendable getAppendable()
+	{
+		return this.out;
+	}
+
+	// Methods //
+
+	/**
+	 * Begins a new JSON object
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter beginObject() throws IOException
+	{
+		return this.begin('{');
+	}
+
+	/**
+	 * Ends the current JSON object
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter endObject() throws IOException
+	{
+		return this.end('}');
+	}
+
+	/**
+	 * Begins a new JSON array
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter beginArray() throws IOException
+	{
+		return this.begin('[');
+	}
+
+	/**
+	 * Ends the current JSON array
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter endArray() throws IOException
+	{
+		return this.end(']');
+	}
+
+	/**
+	 * Writes a key. The next call should write its value
+	 *
+	 * @param key the key
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter key(String key) throws IOException
+	{
+		this.separate();
+		JsonWriter.quote(key, this.out);
+		this.out.append(':');
+		this.pending = true;
+
+		return this;
+	}
+
+	/**
+	 * Writes a quoted string value, or {@code null}
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(CharSequence value) throws IOException
+	{
+		this.separate();
+
+		if (value == null)
+		{
+			this.out.append("null");
+		}
+		else
+		{
+			JsonWriter.quote(value, this.out);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Writes a number value
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(long value) throws IOException
+	{
+		this.separate();
+		this.out.append(Long.toString(value));
+
+		return this;
+	}
+
+	/**
+	 * Writes a number value<br/>
+	 * Integral values are written without decimals, {@code NaN} and infinite values are written as {@code null}
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(double value) throws IOException
+	{
+		this.separate();
+
+		if (Double.isNaN(value) || Double.isInfinite(value))
+		{
+			this.out.append("null");
+		}
+		else if (value == Math.rint(value) && Math.abs(value) < 1e15)
+		{
+			this.out.append(Long.toString((long) value));
+		}
+		else
+		{
+			this.out.append(Double.toString(value));
+		}
+
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(boolean value) throws IOException
+	{
+		this.separate();
+		this.out.append(value ? "true" : "false");
+
+		return this;
+	}
+
+	/**
+	 * Writes a date value, as a quoted ISO8601 string (with timezone), or {@code null}<br/>
+	 * <b>Note:</b> this format is opt-in, {@link #value(Object)} writes {@link Date}{@code s} as their quoted {@code toString()}, like {@link JSONObject} does
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 * @see DateUtils#toString(Date)
+	 */
+	public JsonWriter value(Date value) throws IOException
+	{
+		if (value == null)
+		{
+			return this.value((CharSequence) null);
+		}
+
+		return this.value(DateUtils.toString(value));
+	}
+
+	/**
+	 * Writes an arbitrary value<br/>
+	 * Strings, numbers, booleans, enums, maps, iterables and arrays are written according to their type; others java types are written as quoted strings and
+	 * any other object is written as a bean (its non-null readable properties).<br/>
+	 * <b>Note:</b> dates are written as their quoted {@code toString()}, as {@link JSONObject} does, use {@link #value(Date)} to write them in the ISO8601 format.
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(Object value) throws IOException
+	{
+		if (value == null || value == JSONObject.NULL)
+		{
+			return this.value((CharSequence) null);
+		}
+
+		if (value instanceof CharSequence || value instanceof Character)
+		{
+			return this.value(value.toString());
+		}
+
+		if (value instanceof Number)
+		{
+			if (value instanceof Double)
+			{
+				return this.value(((Double) value).doubleValue());
+			}
+
+			if (value instanceof Float)
+			{
+				Float f = (Float) value;
+
+				return f.isNaN() || f.isInfinite() ? this.raw("null") : this.raw(f.toString()); // prevents float to double widening artifacts
+			}
+
+			if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+			{
+				return this.value(((Number) value).longValue());
+			}
+
+			return this.raw(value.toString()); // BigDecimal, BigInteger, etc
+		}
+
+		if (value instanceof Boolean)
+		{
+			return this.value(((Boolean) value).booleanValue());
+		}
+
+		if (value instanceof Date)
+		{
+			return this.value(value.toString()); // same as JSONObject
+		}
+
+		if (value instanceof Enum<?>)
+		{
+			return this.value(((Enum<?>) value).name());
+		}
+
+		if (value instanceof JSONString)
+		{
+			return this.raw(((JSONString) value).toJSONString());
+		}
+
+		if (value instanceof JSONObject || value instanceof JSONArray)
+		{
+			return this.raw(value.toString());
+		}
+
+		if (value instanceof Map<?, ?>)
+		{
+			this.beginObject();
+
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+			{
+				this.key(String.valueOf(entry.getKey())).value(entry.getValue());
+			}
+
+			return this.endObject();
+		}
+
+		if (value instanceof Iterable<?>)
+		{
+			this.beginArray();
+
+			for (Object object : (Iterable<?>) value)
+			{
+				this.value(object);
+			}
+
+			return this.endArray();
+		}
+
+		if (value.getClass().isArray())
+		{
+			this.beginArray();
+
+			for (int i = 0, length = Array.getLength(value); i < length; i++)
+			{
+				this.value(Array.get(value, i));
+			}
+
+			return this.endArray();
+		}
+
+		if (JsonWriter.isStandardType(value.getClass()))
+		{
+			return this.value(value.toString());
+		}
+
+		this.beginObject();
+		this.properties(value);
+
+		return this.endObject();
+	}
+
+	/**
+	 * Writes a raw value, which is supposed to be valid JSON (or javascript)
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter raw(CharSequence value) throws IOException
+	{
+		this.separate();
+		this.out.append(value != null ? value : "null");
+
+		return this;
+	}
+
+	/**
+	 * Writes a key/value pair, the value being quoted
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter property(String key, CharSequence value) throws IOException
+	{
+		return this.key(key).value(value);
+	}
+
+	/**
+	 * Writes a key/value pair
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter property(String key, long value) throws IOException
+	{
+		return this.key(key).value(value);
+	}
+
+	/**
+	 * Writes a key/value pair
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter property(String key, double value) throws IOException
+	{
+		return this.key(key).value(value);
+	}
+
+	/**
+	 * Writes a key/value pair
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter property(String key, boolean value) throws IOException
+	{
+		return this.key(key).value(value);
+	}
+
+	/**
+	 * Writes a key/value pair
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 * @see #value(Object)
+	 */
+	public JsonWriter property(String key, Object value) throws IOException
+	{
+		return this.key(key).value(value);
+	}
+
+	/**
+	 * Writes the non-null readable properties of a bean as key/value pairs, into the current object
+	 *
+	 * @param bean the bean
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter properties(Object bean) throws IOException
+	{
+		if (bean != null)
+		{
+			for (PropertyAccessor accessor : PropertyAccessor.getProperties(bean.getClass()))
+			{
+				Object value = accessor.getValue(bean);
+
+				if (value != null)
+				{
+					this.property(accessor.getName(), value);
+				}
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Writes the comma separator, if needed
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void separate() throws IOException
+	{
+		if (this.pending)
+		{
+			this.pending = false; // value of a key
+		}
+		else
+		{
+			long mask = 1L << this.depth;
+
+			if ((this.elements & mask) != 0)
+			{
+				this.out.append(',');
+			}
+			else
+			{
+				this.elements |= mask;
+			}
+		}
+	}
+
+	private JsonWriter begin(char c) throws IOException
+	{
+		if (this.depth == MAX_DEPTH)
+		{
+			throw new IllegalStateException("Max depth reached: " + MAX_DEPTH);
+		}
+
+		this.separate();
+		this.out.append(c);
+		this.depth++;
+		this.elements &= ~(1L << this.depth);
+
+		return this;
+	}
+
+	private JsonWriter end(char c) throws IOException
+	{
+		if (this.depth == 0)
+		{
+			throw new IllegalStateException("No object or array to end");
+		}
+
+		this.depth--;
+		this.out.append(c);
+
+		return this;
+	}
+
+	// Helpers //
+
+	/**
+	 * Appends the quoted &amp; escaped representation of a string to the supplied {@link Appendable}<br/>
+	 * Escaping rules are the same as {@link JSONObject#quote(String)}
+	 *
+	 * @param value the string
+	 * @param out the {@code Appendable}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void quote(CharSequence value, Appendable out) throws IOException
+	{
+		out.append('"');
+
+		if (value != null)
+		{
+			final int length = value.length();
+			int start = 0;
+			char previous = 0;
+
+			for (int i = 0; i < length; i++)
+			{
+				char c = value.charAt(i);
+				String escape = null;
+
+				switch (c)
+				{
+				case '"':
+					escape = "\\\"";
+					break;
+				case '\\':
+					escape = "\\\\";
+					break;
+				case '/':
+					escape = previous == '<' ? "\\/" : null;
+					break;
+				case '\b':
+					escape = "\\b";
+					break;
+				case '\t':
+					escape = "\\t";
+					break;
+				case '\n':
+					escape = "\\n";
+					break;
+				case '\f':
+					escape = "\\f";
+					break;
+				case '\r':
+					escape = "\\r";
+					break;
+				default:
+					if (c < ' ' || (c >= 0x80 && c < 0xa0) || (c >= 0x2000 && c < 0x2100))
+					{
+						out.append(value, start, i);
+						out.append("\\u").append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+						start = i + 1;
+					}
+				}
+
+				if (escape != null)
+				{
+					out.append(value, start, i);
+					out.append(escape);
+					start = i + 1;
+				}
+
+				previous = c;
+			}
+
+			out.append(value, start, length);
+		}
+
+		out.append('"');
+	}
+
+	/**
+	 * Appends the quoted &amp; escaped representation of a string to the supplied {@link StringBuilder}
+	 *
+	 * @param value the string
+	 * @param builder the {@code StringBuilder}
+	 * @return the {@code StringBuilder}
+	 * @see #quote(CharSequence, Appendable)
+	 */
+	public static StringBuilder quote(CharSequence value, StringBuilder builder)
+	{
+		try
+		{
+			JsonWriter.quote(value, (Appendable) builder);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // should not happen using a StringBuilder
+		}
+
+		return builder;
+	}
+
+	/**
+	 * Indicates whether the type is a standard java type, that should be written as a string rather than as a bean
+	 *
+	 * @param type the {@link Class}
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean isStandardType(Class<?> type)
+	{
+		return type.getClassLoader() == null || type.getName().startsWith("java.");
+	}
+}
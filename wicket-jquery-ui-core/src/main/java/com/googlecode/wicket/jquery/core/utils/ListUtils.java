@@ -18,8 +18,14 @@ package com.googlecode.wicket.jquery.core.utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.util.io.IClusterable;
+
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
 
 /**
  * Utility class for {@link List}({@code s})
@@ -43,7 +49,7 @@ public class ListUtils
 	 * @param list the {@link List} to search in
 	 * @return the list-item or {@code null} if not found
 	 */
-	public static synchronized <T> T fromHash(int hash, List<T> list)
+	public static <T> T fromHash(int hash, List<T> list)
 	{
 		int index = ListUtils.indexOf(hash, list);
 
@@ -55,6 +61,47 @@ public class ListUtils
 		return null;
 	}
 
+	/**
+	 * Gets the list-item matching the given hash against the list, using the supplied {@link HashIndex}
+	 *
+	 * @param hash the hashcode to match
+	 * @param list the {@link List} to search in
+	 * @param index the {@link HashIndex}
+	 * @return the list-item or {@code null} if not found
+	 */
+	public static <T> T fromHash(int hash, List<T> list, HashIndex index)
+	{
+		int i = index.indexOf(hash, list);
+
+		if (i > -1)
+		{
+			return list.get(i);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the list-item matching the given hash against the list, using the supplied {@link HashIndex}
+	 *
+	 * @param hash the hashcode to match
+	 * @param list the {@link List} to search in
+	 * @param index the {@link HashIndex}
+	 * @param version the version of the list content, or {@code null} to key the index on the list instance
+	 * @return the list-item or {@code null} if not found
+	 */
+	public static <T> T fromHash(int hash, List<T> list, HashIndex index, String version)
+	{
+		int i = index.indexOf(hash, list, version);
+
+		if (i > -1)
+		{
+			return list.get(i);
+		}
+
+		return null;
+	}
+
 	/**
 	 * Gets the index of the item occurrence matching the specified hashcode.
 	 *
@@ -62,7 +109,7 @@ public class ListUtils
 	 * @param hash the hashcode to match
 	 * @return the index of the item matching the hashcode or -1 if not found
 	 */
-	public static synchronized int indexOf(int hash, List<?> list)
+	public static int indexOf(int hash, List<?> list)
 	{
 		Iterator<?> iterator = list.iterator();
 
@@ -79,17 +126,45 @@ public class ListUtils
 
 	/**
 	 * Utility method to move a list-item at a new position in the specified list<br/>
-	 * This method will use the hashcode of the list-item to retrieve it against the list.
+	 * This method will use the hashcode of the list-item to retrieve it against the list. The list is left unchanged if the item is not found.
 	 *
 	 * @param list the {@link List}
 	 * @param item the item
 	 * @param index the position to move to
 	 */
-	public static synchronized <T> void move(final T item, int index, final List<T> list)
+	public static <T> void move(final T item, int index, final List<T> list)
 	{
 		if (index < list.size())
 		{
-			list.add(index, list.remove(ListUtils.indexOf(item.hashCode(), list)));
+			int i = ListUtils.indexOf(item.hashCode(), list);
+
+			if (i > -1)
+			{
+				list.add(index, list.remove(i));
+			}
+		}
+	}
+
+	/**
+	 * Utility method to move a list-item at a new position in the specified list, using the supplied {@link HashIndex}<br/>
+	 * This method will use the hashcode of the list-item to retrieve it against the list. The list is left unchanged if the item is not found.
+	 *
+	 * @param list the {@link List}
+	 * @param item the item
+	 * @param index the position to move to
+	 * @param hashIndex the {@link HashIndex}, which is invalidated
+	 */
+	public static <T> void move(final T item, int index, final List<T> list, HashIndex hashIndex)
+	{
+		if (index < list.size())
+		{
+			int i = hashIndex.indexOf(item.hashCode(), list);
+
+			if (i > -1)
+			{
+				list.add(index, list.remove(i));
+				hashIndex.invalidate();
+			}
 		}
 	}
 
@@ -111,6 +186,7 @@ public class ListUtils
 
 	/**
 	 * Returns a sub list of items of type T having their textual representation (toString()) containing the search criteria<br/>
+	 * <b>Note:</b> the list is scanned on each call; large or shared lists should rather be searched through a {@link SearchIndex}
 	 *
 	 * @param <T> the type
 	 * @param search search criteria
@@ -156,6 +232,7 @@ public class ListUtils
 
 	/**
 	 * Returns a sub list of items of type T having their textual representation (toString()) starting with the search criteria<br/>
+	 * <b>Note:</b> the list is scanned on each call; large or shared lists should rather be searched through a {@link SearchIndex}
 	 *
 	 * @param <T> the type
 	 * @param search search criteria
@@ -215,4 +292,101 @@ public class ListUtils
 
 		return copy;
 	}
+
+	/**
+	 * Provides a hashcode-to-index lookup of a {@link List}, built lazily<br/>
+	 * The index is keyed on the version of the list content, as supplied by the caller or by the list itself if it implements {@link IVersionProvider}; lists
+	 * having no version are keyed on their instance, so a list that is loaded again on each request (ie: by a detachable model) should be supplied with a
+	 * version for the index to be reused. The index is also rebuilt whenever the list size changes, or when a lookup misses or finds a stale entry.<br/>
+	 * It holds no lock: an instance is meant to be owned by one component (hence one session), the same way its list is.
+	 */
+	public static class HashIndex implements IClusterable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private transient Object key = null;
+		private transient Map<Integer, Integer> indexes = null;
+		private transient int size = -1;
+
+		/**
+		 * Gets the index of the (first) item matching the specified hashcode.
+		 *
+		 * @param hash the hashcode to match
+		 * @param list the {@link List}
+		 * @return the index of the item matching the hashcode or -1 if not found
+		 */
+		public int indexOf(int hash, List<?> list)
+		{
+			return this.indexOf(hash, list, list instanceof IVersionProvider ? ((IVersionProvider) list).getVersion() : null);
+		}
+
+		/**
+		 * Gets the index of the (first) item matching the specified hashcode.
+		 *
+		 * @param hash the hashcode to match
+		 * @param list the {@link List}
+		 * @param version the version of the list content, or {@code null} to key the index on the list instance
+		 * @return the index of the item matching the hashcode or -1 if not found
+		 */
+		public int indexOf(int hash, List<?> list, String version)
+		{
+			final Object key = version != null ? version : list;
+			boolean built = false;
+
+			if ((version != null ? !version.equals(this.key) : list != this.key) || this.size != list.size() || this.indexes == null)
+			{
+				this.build(key, list);
+				built = true;
+			}
+
+			Integer index = this.indexes.get(hash);
+
+			if (index != null && list.get(index).hashCode() == hash)
+			{
+				return index;
+			}
+
+			if (!built)
+			{
+				this.build(key, list); // stale or modified in place
+
+				index = this.indexes.get(hash);
+			}
+
+			return index != null ? index : -1;
+		}
+
+		/**
+		 * Invalidates the index, which will be rebuilt on next lookup
+		 */
+		public void invalidate()
+		{
+			this.indexes = null;
+		}
+
+		/**
+		 * Builds the index
+		 *
+		 * @param key the version or the {@link List} instance
+		 * @param list the {@link List}
+		 */
+		private void build(Object key, List<?> list)
+		{
+			this.key = key;
+			this.size = list.size();
+			this.indexes = new HashMap<Integer, Integer>(this.size * 4 / 3 + 1);
+
+			Iterator<?> iterator = list.iterator();
+
+			for (int i = 0; iterator.hasNext(); i++)
+			{
+				Integer hash = iterator.next().hashCode();
+
+				if (!this.indexes.containsKey(hash))
+				{
+					this.indexes.put(hash, i); // first occurrence wins, as for ListUtils#indexOf
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.core.util.lang.PropertyResolver;
+import org.apache.wicket.util.lang.Generics;
+
+/**
+ * Provides a resolved, cached, property getter for a given class and property expression<br/>
+ * Accessors are resolved once per (class, expression) and reused across rows and requests. Simple and dotted expressions (ie: "name", "address.city") are
+ * resolved to their getter, public field or map entry; other expressions (ie: indexed ones) fall back to {@link PropertyResolver}.
+ *
+ * @author agent
+ */
+public class PropertyAccessor
+{
+	/** accessors, by class then by expression */
+	private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> ACCESSORS = new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+
+		@Override
+		protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type)
+		{
+			return new ConcurrentHashMap<String, PropertyAccessor>();
+		}
+	};
+
+	/** readable bean properties, by class */
+	private static final ClassValue<List<PropertyAccessor>> PROPERTIES = new ClassValue<List<PropertyAccessor>>() {
+
+		@Override
+		protected List<PropertyAccessor> computeValue(Class<?> type)
+		{
+			return PropertyAccessor.introspect(type);
+		}
+	};
+
+	/**
+	 * Gets the value of a property expression for the supplied object, using the cached {@link PropertyAccessor}
+	 *
+	 * @param expression the property expression
+	 * @param object the object
+	 * @return the value, or {@code null} if the object is {@code null}
+	 */
+	public static Object getValue(String expression, Object object)
+	{
+		if (object == null)
+		{
+			return null;
+		}
+
+		return PropertyAccessor.of(object.getClass(), expression).getValue(object);
+	}
+
+	/**
+	 * Gets the (cached) {@link PropertyAccessor} for the supplied class and property expression
+	 *
+	 * @param type the {@link Class}
+	 * @param expression the property expression
+	 * @return the {@code PropertyAccessor}
+	 */
+	public static PropertyAccessor of(Class<?> type, String expression)
+	{
+		ConcurrentMap<String, PropertyAccessor> accessors = ACCESSORS.get(type);
+		PropertyAccessor accessor = accessors.get(expression);
+
+		if (accessor == null)
+		{
+			accessor = PropertyAccessor.resolve(type, expression);
+			accessors.putIfAbsent(expression, accessor);
+		}
+
+		return accessor;
+	}
+
+	/**
+	 * Gets the (cached) {@link PropertyAccessor}{@code s} of the readable bean properties of the supplied class (excluding {@code getClass()})
+	 *
+	 * @param type the {@link Class}
+	 * @return the unmodifiable {@code List} of {@code PropertyAccessor}{@code s}
+	 */
+	public static List<PropertyAccessor> getProperties(Class<?> type)
+	{
+		return PROPERTIES.get(type);
+	}
+
+	private final String expression;
+	private final String name;
+	private final String next;
+	private final Method method;
+	private final Field field;
+	private final boolean map;
+
+	/**
+	 * Constructor
+	 *
+	 * @param expression the whole property expression
+	 * @param name the first segment of the expression
+	 * @param next the remaining expression, or {@code null}
+	 * @param method the getter, or {@code null}
+	 * @param field the public field, or {@code null}
+	 * @param map whether the value is read from a {@code Map}
+	 */
+	private PropertyAccessor(String expression, String name, String next, Method method, Field field, boolean map)
+	{
+		this.expression = expression;
+		this.name = name;
+		this.next = next;
+		this.method = method;
+		this.field = field;
+		this.map = map;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the property expression
+	 *
+	 * @return the property expression
+	 */
+	public String getExpression()
+	{
+		return this.expression;
+	}
+
+	/**
+	 * Gets the property name, which is the first segment of the expression
+	 *
+	 * @return the property name
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the property value of the supplied object<br/>
+	 * The object is expected to be an instance of the class for which this accessor has been resolved.
+	 *
+	 * @param object the object
+	 * @return the value, or {@code null} if the object is {@code null}
+	 */
+	public Object getValue(Object object)
+	{
+		if (object == null)
+		{
+			return null;
+		}
+
+		Object value;
+
+		if (this.method != null)
+		{
+			value = PropertyAccessor.invoke(this.method, object);
+		}
+		else if (this.field != null)
+		{
+			value = PropertyAccessor.get(this.field, object);
+		}
+		else if (this.map)
+		{
+			value = ((Map<?, ?>) object).get(this.name);
+		}
+		else
+		{
+			return PropertyResolver.getValue(this.expression, object);
+		}
+
+		if (this.next != null)
+		{
+			return PropertyAccessor.getValue(this.next, value); // resolved against the actual class of the value
+		}
+
+		return value;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.expression;
+	}
+
+	// Helpers //
+
+	/**
+	 * Resolves the accessor of the first segment of the expression
+	 *
+	 * @param type the {@link Class}
+	 * @param expression the property expression
+	 * @return a new {@link PropertyAccessor}
+	 */
+	private static PropertyAccessor resolve(Class<?> type, String expression)
+	{
+		if (expression.indexOf('[') < 0 && expression.indexOf('(') < 0)
+		{
+			int index = expression.indexOf('.');
+			String name = index < 0 ? expression : expression.substring(0, index);
+			String next = index < 0 ? null : expression.substring(index + 1);
+
+			if (!name.isEmpty() && !Character.isDigit(name.charAt(0)))
+			{
+				if (Map.class.isAssignableFrom(type))
+				{
+					return new PropertyAccessor(expression, name, next, null, null, true);
+				}
+
+				Method method = PropertyAccessor.findGetter(type, name);
+
+				if (method != null)
+				{
+					return new PropertyAccessor(expression, name, next, method, null, false);
+				}
+
+				Field field = PropertyAccessor.findField(type, name);
+
+				if (field != null)
+				{
+					return new PropertyAccessor(expression, name, next, null, field, false);
+				}
+			}
+		}
+
+		return new PropertyAccessor(expression, expression, null, null, null, false); // PropertyResolver fallback
+	}
+
+	private static Method findGetter(Class<?> type, String name)
+	{
+		String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+		for (String prefix : new String[] { "get", "is" })
+		{
+			try
+			{
+				Method method = type.getMethod(prefix + suffix);
+
+				if (method.getReturnType() != void.class)
+				{
+					return PropertyAccessor.accessible(method);
+				}
+			}
+			catch (NoSuchMethodException e)
+			{
+				// continue
+			}
+		}
+
+		return null;
+	}
+
+	private static Field findField(Class<?> type, String name)
+	{
+		try
+		{
+			Field field = type.getField(name);
+
+			if (!Modifier.isStatic(field.getModifiers()))
+			{
+				return PropertyAccessor.accessible(field);
+			}
+		}
+		catch (NoSuchFieldException e)
+		{
+			// continue
+		}
+
+		return null;
+	}
+
+	private static List<PropertyAccessor> introspect(Class<?> type)
+	{
+		List<PropertyAccessor> list = Generics.newArrayList();
+
+		try
+		{
+			for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors())
+			{
+				Method method = descriptor.getReadMethod();
+
+				if (method != null)
+				{
+					list.add(new PropertyAccessor(descriptor.getName(), descriptor.getName(), null, PropertyAccessor.accessible(method), null, false));
+				}
+			}
+		}
+		catch (IntrospectionException e)
+		{
+			// no readable properties
+		}
+
+		return Collections.unmodifiableList(list);
+	}
+
+	private static <T extends AccessibleObject> T accessible(T object)
+	{
+		try
+		{
+			object.setAccessible(true); // public members of non-public classes
+		}
+		catch (RuntimeException e)
+		{
+			// not permitted, the member is used as is
+		}
+
+		return object;
+	}
+
+	private static Object invoke(Method method, Object object)
+	{
+		try
+		{
+			return method.invoke(object);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new WicketRuntimeException("Error calling method: " + method + " on object: " + object, e.getCause());
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new WicketRuntimeException("Error calling method: " + method + " on object: " + object, e);
+		}
+	}
+
+	private static Object get(Field field, Object object)
+	{
+		try
+		{
+			return field.get(object);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new WicketRuntimeException("Error getting field value of field " + field + " from object " + object, e);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.Cookie;
+
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.parameter.EmptyRequestParameters;
+import org.apache.wicket.request.parameter.UrlRequestParametersAdapter;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.time.Time;
+
+/**
+ * Provides a {@link WebRequest} scoped to one of the calls combined into a single request (ie: batched or fanned-out calls)<br/>
+ * The call parameters are sent prefixed in the POST body of the combined request; the scoped request exposes them - unprefixed - either as its query
+ * parameters or as its POST parameters, as the call would have been sent on its own. Everything else is delegated to the combined request.
+ *
+ * @author agent
+ */
+public class ScopedWebRequest extends WebRequest
+{
+	/**
+	 * Gets a new {@link ScopedWebRequest} for the call whose parameters are prefixed by the supplied prefix
+	 *
+	 * @param request the combined {@link WebRequest}
+	 * @param prefix the prefix of the call parameters, ie: "b0."
+	 * @param post whether the call parameters are exposed as POST parameters rather than as query parameters
+	 * @return a new {@link ScopedWebRequest}
+	 */
+	public static ScopedWebRequest of(WebRequest request, String prefix, boolean post)
+	{
+		IRequestParameters parameters = request.getPostParameters();
+
+		Url url = new Url(request.getUrl());
+		url.getQueryParameters().clear();
+
+		Url scope = post ? new Url() : url;
+
+		for (String name : parameters.getParameterNames())
+		{
+			if (name.startsWith(prefix))
+			{
+				for (StringValue value : parameters.getParameterValues(name))
+				{
+					scope.addQueryParameter(name.substring(prefix.length()), value.toString());
+				}
+			}
+		}
+
+		return new ScopedWebRequest(request, url, post ? new UrlRequestParametersAdapter(scope) : EmptyRequestParameters.INSTANCE);
+	}
+
+	private final WebRequest request;
+	private final Url url;
+	private final IRequestParameters postParameters;
+
+	/**
+	 * Constructor
+	 *
+	 * @param request the combined {@link WebRequest}
+	 * @param url the {@link Url} of the call, holding its query parameters
+	 * @param postParameters the POST parameters of the call
+	 */
+	public ScopedWebRequest(WebRequest request, Url url, IRequestParameters postParameters)
+	{
+		this.request = Args.notNull(request, "request");
+		this.url = Args.notNull(url, "url");
+		this.postParameters = Args.notNull(postParameters, "postParameters");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the combined request
+	 *
+	 * @return the {@link WebRequest}
+	 */
+	public WebRequest getDelegate()
+	{
+		return this.request;
+	}
+
+	@Override
+	public Url getUrl()
+	{
+		return this.url;
+	}
+
+	@Override
+	public Url getClientUrl()
+	{
+		return this.request.getClientUrl();
+	}
+
+	@Override
+	public Url getOriginalUrl()
+	{
+		return this.request.getOriginalUrl();
+	}
+
+	@Override
+	public IRequestParameters getPostParameters()
+	{
+		return this.postParameters;
+	}
+
+	@Override
+	public Locale getLocale()
+	{
+		return this.request.getLocale();
+	}
+
+	@Override
+	public Charset getCharset()
+	{
+		return this.request.getCharset();
+	}
+
+	@Override
+	public Object getContainerRequest()
+	{
+		return this.request.getContainerRequest();
+	}
+
+	@Override
+	public String getPrefixToContextPath()
+	{
+		return this.request.getPrefixToContextPath();
+	}
+
+	@Override
+	public String getContextPath()
+	{
+		return this.request.getContextPath();
+	}
+
+	@Override
+	public String getFilterPath()
+	{
+		return this.request.getFilterPath();
+	}
+
+	@Override
+	public List<Cookie> getCookies()
+	{
+		return this.request.getCookies();
+	}
+
+	@Override
+	public List<String> getHeaders(String name)
+	{
+		return this.request.getHeaders(name);
+	}
+
+	@Override
+	public String getHeader(String name)
+	{
+		return this.request.getHeader(name);
+	}
+
+	@Override
+	public Time getDateHeader(String name)
+	{
+		return this.request.getDateHeader(name);
+	}
+
+	@Override
+	public boolean isAjax()
+	{
+		return this.request.isAjax();
+	}
+
+	// Methods //
+
+	@Override
+	public ScopedWebRequest cloneWithUrl(Url url)
+	{
+		return new ScopedWebRequest(this.request, url, this.postParameters);
+	}
+}
@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Generics;
+
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+
+/**
+ * Provides an immutable, in-memory, search index over a list of choices<br/>
+ * It is the indexed equivalent of {@link ListUtils#startsWith(String, List, int)} and {@link ListUtils#contains(String, List, int)}: results are returned in the
+ * list order and limited to the max number of results.<br/>
+ * <br/>
+ * The index is built once per choice list: texts are case-folded according to the supplied {@link Locale}, sorted for prefix searches and split into trigrams for
+ * substring searches. The index is thread-safe and can be shared across sessions (ie: held in a static field or in the application), it is not meant to be
+ * serialized along with a page.
+ *
+ * @param <T> the type of the choices
+ * @author agent
+ */
+public class SearchIndex<T>
+{
+	/** the n-gram length */
+	private static final int GRAM = 3;
+
+	private final List<T> choices;
+	private final Locale locale;
+
+	/** the case-folded texts, by choice index */
+	private final String[] texts;
+
+	/** the choice indexes, sorted by case-folded text */
+	private final int[] sorted;
+
+	/** the choice indexes (ascending), by trigram */
+	private final Map<String, int[]> grams;
+
+	/**
+	 * Constructor, using the choices' {@code toString()} and the default {@link Locale}
+	 *
+	 * @param choices the choices
+	 */
+	public SearchIndex(List<T> choices)
+	{
+		this(choices, null, Locale.getDefault());
+	}
+
+	/**
+	 * Constructor, using the choices' {@code toString()}
+	 *
+	 * @param choices the choices
+	 * @param locale the {@link Locale} used for case-folding
+	 */
+	public SearchIndex(List<T> choices, Locale locale)
+	{
+		this(choices, null, locale);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param choices the choices
+	 * @param renderer the {@link ITextRenderer} providing the text of the choices, or {@code null} to use {@code toString()}
+	 * @param locale the {@link Locale} used for case-folding
+	 */
+	public SearchIndex(List<T> choices, ITextRenderer<? super T> renderer, Locale locale)
+	{
+		this.choices = Collections.unmodifiableList(new ArrayList<T>(Args.notNull(choices, "choices")));
+		this.locale = Args.notNull(locale, "locale");
+
+		final int size = this.choices.size();
+		this.texts = new String[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			T choice = this.choices.get(i);
+			this.texts[i] = this.fold(renderer != null ? renderer.getText(choice) : String.valueOf(choice));
+		}
+
+		this.sorted = SearchIndex.sort(this.texts);
+		this.grams = SearchIndex.grams(this.texts);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the indexed choices
+	 *
+	 * @return the unmodifiable {@link List} of choices
+	 */
+	public List<T> getChoices()
+	{
+		return this.choices;
+	}
+
+	/**
+	 * Gets the {@link Locale} used for case-folding
+	 *
+	 * @return the {@link Locale}
+	 */
+	public Locale getLocale()
+	{
+		return this.locale;
+	}
+
+	// Methods //
+
+	/**
+	 * Returns a sub list of choices having their text starting with the search criteria
+	 *
+	 * @param search search criteria
+	 * @param max max size of the sub list to be returned
+	 * @return the sub list
+	 */
+	public List<T> startsWith(String search, int max)
+	{
+		Args.withinRange(0, Integer.MAX_VALUE, max, "max");
+
+		String prefix = this.fold(search);
+		int from = this.bound(prefix, false);
+		int to = this.bound(prefix, true);
+
+		// only the first max indexes, in list order, are kept //
+		int[] indexes = new int[Math.min(to - from, max)];
+		int count = 0;
+
+		for (int i = from; i < to && indexes.length > 0; i++)
+		{
+			int index = this.sorted[i];
+
+			if (count < indexes.length || index < indexes[count - 1])
+			{
+				int position = -Arrays.binarySearch(indexes, 0, count, index) - 1; // indexes are unique
+
+				if (count < indexes.length)
+				{
+					count++;
+				}
+
+				System.arraycopy(indexes, position, indexes, position + 1, count - position - 1);
+				indexes[position] = index;
+			}
+		}
+
+		return this.choicesOf(indexes, count, max);
+	}
+
+	/**
+	 * Returns a sub list of choices having their text containing the search criteria
+	 *
+	 * @param search search criteria
+	 * @param max max size of the sub list to be returned
+	 * @return the sub list
+	 */
+	public List<T> contains(String search, int max)
+	{
+		Args.withinRange(0, Integer.MAX_VALUE, max, "max");
+
+		String text = this.fold(search);
+
+		if (text.length() < GRAM)
+		{
+			return this.scan(text, max);
+		}
+
+		// posting lists of the search's trigrams, the shortest first //
+		List<int[]> postings = Generics.newArrayList();
+
+		for (int i = 0; i + GRAM <= text.length(); i++)
+		{
+			int[] posting = this.grams.get(text.substring(i, i + GRAM));
+
+			if (posting == null)
+			{
+				return Generics.newArrayList(); // no choice contains this trigram
+			}
+
+			postings.add(posting);
+		}
+
+		Collections.sort(postings, new Comparator<int[]>() {
+
+			@Override
+			public int compare(int[] o1, int[] o2)
+			{
+				return o1.length < o2.length ? -1 : (o1.length == o2.length ? 0 : 1);
+			}
+		});
+
+		// candidates are verified in list order, until max is reached //
+		int[] shortest = postings.get(0);
+		int[] indexes = new int[Math.min(shortest.length, max)];
+		int count = 0;
+
+		for (int k = 0; k < shortest.length && count < max; k++)
+		{
+			int index = shortest[k];
+
+			if (SearchIndex.containsAll(postings, index) && this.texts[index].contains(text))
+			{
+				indexes[count++] = index;
+			}
+		}
+
+		return this.choicesOf(indexes, count, max);
+	}
+
+	/**
+	 * Gets the number of indexed choices
+	 *
+	 * @return the number of choices
+	 */
+	public int size()
+	{
+		return this.choices.size();
+	}
+
+	// Helpers //
+
+	/**
+	 * Case-folds a text
+	 *
+	 * @param text the text
+	 * @return the case-folded text
+	 */
+	private String fold(String text)
+	{
+		return text.toLowerCase(this.locale);
+	}
+
+	/**
+	 * Linear scan of the (pre-folded) texts, for searches too short to use trigrams
+	 *
+	 * @param text the case-folded search
+	 * @param max max size of the sub list to be returned
+	 * @return the sub list
+	 */
+	private List<T> scan(String text, int max)
+	{
+		List<T> list = Generics.newArrayList();
+
+		for (int i = 0; i < this.texts.length && list.size() < max; i++)
+		{
+			if (this.texts[i].contains(text))
+			{
+				list.add(this.choices.get(i));
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Gets the position of the first sorted text greater than or equal to the prefix (lower bound), or of the first sorted text greater than the prefix and
+	 * not starting with it (upper bound)
+	 *
+	 * @param prefix the case-folded prefix
+	 * @param upper whether to get the upper bound
+	 * @return the position
+	 */
+	private int bound(String prefix, boolean upper)
+	{
+		int low = 0;
+		int high = this.sorted.length;
+
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			String text = this.texts[this.sorted[middle]];
+
+			if (text.compareTo(prefix) < 0 || (upper && text.startsWith(prefix)))
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Gets the choices at the supplied indexes
+	 *
+	 * @param indexes the choice indexes, in list order
+	 * @param length the number of indexes to consider
+	 * @param max max size of the sub list to be returned
+	 * @return the sub list
+	 */
+	private List<T> choicesOf(int[] indexes, int length, int max)
+	{
+		int size = Math.min(length, max);
+		List<T> list = new ArrayList<T>(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			list.add(this.choices.get(indexes[i]));
+		}
+
+		return list;
+	}
+
+	/**
+	 * Indicates whether all posting lists - but the first - contain the index
+	 *
+	 * @param postings the posting lists
+	 * @param index the choice index
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean containsAll(List<int[]> postings, int index)
+	{
+		for (int i = 1; i < postings.size(); i++)
+		{
+			if (Arrays.binarySearch(postings.get(i), index) < 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Sorts the choice indexes by text
+	 *
+	 * @param texts the case-folded texts
+	 * @return the sorted choice indexes
+	 */
+	private static int[] sort(final String[] texts)
+	{
+		Integer[] boxed = new Integer[texts.length];
+
+		for (int i = 0; i < texts.length; i++)
+		{
+			boxed[i] = i;
+		}
+
+		Arrays.sort(boxed, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer o1, Integer o2)
+			{
+				return texts[o1].compareTo(texts[o2]);
+			}
+		});
+
+		int[] sorted = new int[texts.length];
+
+		for (int i = 0; i < texts.length; i++)
+		{
+			sorted[i] = boxed[i];
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Builds the trigram posting lists
+	 *
+	 * @param texts the case-folded texts
+	 * @return the posting lists, by trigram
+	 */
+	private static Map<String, int[]> grams(String[] texts)
+	{
+		Map<String, int[]> postings = Generics.newHashMap();
+		Map<String, Integer> sizes = Generics.newHashMap();
+
+		for (int index = 0; index < texts.length; index++)
+		{
+			String text = texts[index];
+
+			for (int i = 0; i + GRAM <= text.length(); i++)
+			{
+				String gram = text.substring(i, i + GRAM);
+				int[] posting = postings.get(gram);
+				Integer size = sizes.get(gram);
+
+				if (posting == null)
+				{
+					posting = new int[4];
+					size = 0;
+				}
+				else if (posting[size - 1] == index)
+				{
+					continue; // gram already indexed for this text
+				}
+				else if (size == posting.length)
+				{
+					posting = Arrays.copyOf(posting, size * 2);
+				}
+
+				posting[size] = index;
+				postings.put(gram, posting);
+				sizes.put(gram, size + 1);
+			}
+		}
+
+		// trims //
+		for (Map.Entry<String, int[]> entry : postings.entrySet())
+		{
+			entry.setValue(Arrays.copyOf(entry.getValue(), sizes.get(entry.getKey())));
+		}
+
+		return postings;
+	}
+}
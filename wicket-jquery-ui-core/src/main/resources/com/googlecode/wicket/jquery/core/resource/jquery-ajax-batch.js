@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Coalesces the calls of batched JQueryAjaxBehaviors raised within the batch window into one single request.
+ * Batched calls are stopped by their precondition, their parameters are prefixed by 'b<index>.' and posted to the batch url, with their method as 'm<index>'.
+ */
+var JQueryAjaxBatch = JQueryAjaxBatch || {
+
+	queues: {},
+
+	/**
+	 * Enqueues a call
+	 *
+	 * @param url the batch url
+	 * @param key the behavior key
+	 * @param delay the batch window, in milliseconds
+	 * @param attrs the Ajax request attributes of the call
+	 * @returns false, so the call is stopped
+	 */
+	add: function(url, key, delay, attrs) {
+		var queue = this.queues[url] || (this.queues[url] = { calls: [], timer: null });
+		var params = this.asArray(attrs.ep);
+		var deps = attrs.dep || [];
+
+		for (var i = 0; i < deps.length; i++) {
+			var dep = deps[i];
+			params = params.concat(this.asArray(jQuery.isFunction(dep) ? dep(attrs) : new Function('attrs', dep)(attrs)));
+		}
+
+		queue.calls.push({ key: key, method: attrs.m || 'GET', params: params });
+
+		if (queue.timer === null) {
+			queue.timer = setTimeout(function() { JQueryAjaxBatch.flush(url); }, delay);
+		}
+
+		return false;
+	},
+
+	/**
+	 * Posts the enqueued calls
+	 *
+	 * @param url the batch url
+	 */
+	flush: function(url) {
+		var queue = this.queues[url];
+		var ep = [ { name: 'n', value: queue.calls.length } ];
+
+		delete this.queues[url];
+
+		jQuery.each(queue.calls, function(i, call) {
+			ep.push({ name: 'b' + i, value: call.key });
+			ep.push({ name: 'm' + i, value: call.method });
+
+			jQuery.each(call.params, function(j, param) {
+				ep.push({ name: 'b' + i + '.' + param.name, value: param.value });
+			});
+		});
+
+		Wicket.Ajax.ajax({ u: url, m: 'POST', ep: ep });
+	},
+
+	/**
+	 * Gets the parameters as an array of name/value pairs
+	 *
+	 * @param params the parameters, either an array or an object
+	 * @returns the array
+	 */
+	asArray: function(params) {
+		var result = [];
+
+		if (jQuery.isArray(params)) {
+			result = params;
+		}
+		else if (jQuery.isPlainObject(params)) {
+			jQuery.each(params, function(name, value) {
+				result.push({ name: name, value: value });
+			});
+		}
+
+		return jQuery.grep(result, function(param) { return param !== null; });
+	}
+};
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Client-side part of JQueryAjaxPolicy modes that cannot be expressed with Wicket's throttling settings & channels.
+ */
+var JQueryAjaxPolicy = JQueryAjaxPolicy || {
+
+	timestamps: {},
+
+	requests: {},
+
+	/**
+	 * Leading debounce precondition
+	 *
+	 * @param id the behavior id
+	 * @param delay the quiet period, in milliseconds
+	 * @returns true if the call should be sent
+	 */
+	leading: function(id, delay) {
+		var now = new Date().getTime();
+		var last = this.timestamps[id];
+
+		this.timestamps[id] = now;
+
+		return last === undefined || now - last >= delay;
+	},
+
+	/**
+	 * Aborts the in-flight request, if any
+	 *
+	 * @param id the behavior id
+	 */
+	abort: function(id) {
+		var jqXHR = this.requests[id];
+
+		if (jqXHR) {
+			delete this.requests[id];
+			jqXHR.abort();
+		}
+	},
+
+	/**
+	 * Tracks the in-flight request
+	 *
+	 * @param id the behavior id
+	 * @param jqXHR the request
+	 */
+	track: function(id, jqXHR) {
+		this.requests[id] = jqXHR;
+	},
+
+	/**
+	 * Untracks the completed request
+	 *
+	 * @param id the behavior id
+	 * @param jqXHR the request
+	 */
+	untrack: function(id, jqXHR) {
+		if (this.requests[id] === jqXHR) {
+			delete this.requests[id];
+		}
+	}
+};
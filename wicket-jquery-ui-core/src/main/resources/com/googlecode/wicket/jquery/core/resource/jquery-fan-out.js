@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Gathers the initial reads of registered callbacks, raised within the same tick (ie: on DOM ready), into one single request.
+ * The reads are computed in parallel by the server and their results are returned together, in order.
+ * Reads that fail are retried individually.
+ */
+var JQueryFanOut = JQueryFanOut || {
+
+	callbacks: {},
+	queues: {},
+
+	/**
+	 * Registers a callback
+	 *
+	 * @param url the callback url
+	 * @param fanOutUrl the fan-out url
+	 * @param key the behavior key
+	 */
+	register: function(url, fanOutUrl, key) {
+		this.callbacks[url] = { url: fanOutUrl, key: key };
+	},
+
+	/**
+	 * Enqueues a read, if its url is registered
+	 *
+	 * @param settings the jQuery.ajax settings of the read
+	 * @returns true if the read is enqueued, false if it should be sent individually
+	 */
+	read: function(settings) {
+		var callback = this.callbacks[settings.url];
+
+		if (!callback) {
+			return false;
+		}
+
+		var queue = this.queues[callback.url];
+
+		if (!queue) {
+			queue = this.queues[callback.url] = { reads: [] };
+			setTimeout(function() { JQueryFanOut.flush(callback.url); }, 0);
+		}
+
+		queue.reads.push({ key: callback.key, settings: settings });
+
+		return true;
+	},
+
+	/**
+	 * Posts the enqueued reads
+	 *
+	 * @param url the fan-out url
+	 */
+	flush: function(url) {
+		var reads = this.queues[url].reads;
+		var data = [ 'n=' + reads.length ];
+
+		delete this.queues[url];
+
+		if (reads.length === 1) {
+			jQuery.ajax(reads[0].settings);
+			return;
+		}
+
+		jQuery.each(reads, function(i, read) {
+			data.push('b' + i + '=' + encodeURIComponent(read.key));
+
+			jQuery.each(jQuery.param(read.settings.data || {}).split('&'), function(j, param) {
+				if (param !== '') {
+					data.push('b' + i + '.' + param);
+				}
+			});
+		});
+
+		jQuery.ajax({
+			url: url,
+			type: 'POST',
+			data: data.join('&'),
+			dataType: 'json',
+			success: function(results) {
+				jQuery.each(reads, function(i, read) {
+					var result = results[i];
+
+					if (result && result.status === 200) {
+						read.settings.success(result.data);
+					}
+					else {
+						jQuery.ajax(read.settings);
+					}
+				});
+			},
+			error: function() {
+				jQuery.each(reads, function(i, read) {
+					jQuery.ajax(read.settings);
+				});
+			}
+		});
+	}
+};
@@ -25,10 +25,10 @@ import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 
 /**
  * Provides the jQuery fullCalendar behavior
@@ -152,12 +152,14 @@ public class RangeDatePickerBehavior extends JQueryBehavior implements IJQueryAj
 
 		public DateChangeEvent()
 		{
-			long startTime = RequestCycleUtils.getQueryParameterValue("startTime").toLong();
-			int startOffset = RequestCycleUtils.getQueryParameterValue("startOffset").toInt(0) * 60 * 1000; // minutes to milliseconds
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			long startTime = parameters.getLong("startTime");
+			int startOffset = parameters.getInt("startOffset", 0) * 60 * 1000; // minutes to milliseconds
 			this.start = startTime - startOffset;
 
-			long endTime = RequestCycleUtils.getQueryParameterValue("endTime").toLong();
-			int endOffset = RequestCycleUtils.getQueryParameterValue("endOffset").toInt(0) * 60 * 1000; // minutes to milliseconds
+			long endTime = parameters.getLong("endTime");
+			int endOffset = parameters.getInt("endOffset", 0) * 60 * 1000; // minutes to milliseconds
 			this.end = endTime - endOffset;
 		}
 
@@ -22,10 +22,10 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
@@ -168,7 +168,7 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 
 		public SelectEvent()
 		{
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(0) - 1;
+			this.index = JQueryEventParameters.get().getInt("index", 0) - 1;
 		}
 
 		public int getIndex()
@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.jquery.ui.form.autocomplete;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.wicket.behavior.AbstractAjaxBehavior;
@@ -24,7 +26,7 @@ import org.apache.wicket.request.IRequestParameters;
 import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 
 /**
  * Provides the {@link AbstractAjaxBehavior} for the {@link AutoCompleteTextField}
@@ -47,44 +49,38 @@ abstract class AutoCompleteChoiceModelBehavior<T> extends ChoiceModelBehavior<T>
 	}
 
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
-		StringBuilder builder = new StringBuilder("[ ");
+		JsonWriter json = new JsonWriter(writer);
+		json.beginArray();
 
 		List<T> choices = this.getChoices();
 
 		if (choices != null)
 		{
+			// Additional properties (like template properties) //
+			List<String> properties = this.getProperties(); // resolved once per request
+
 			int index = 0;
 			for (T choice : choices)
 			{
-				if (index++ > 0)
-				{
-					builder.append(", ");
-				}
-
-				builder.append("{ ");
-				BuilderUtils.append(builder, "id", Integer.toString(index)); /* 'id' is a reserved word */
-				builder.append(", ");
-				BuilderUtils.append(builder, "value", this.renderer.getText(choice)); /* 'value' is a reserved word */
-				builder.append(", ");
+				json.beginObject();
+				json.property("id", Integer.toString(++index)); /* 'id' is a reserved word */
+				json.property("value", this.renderer.getText(choice)); /* 'value' is a reserved word */
 
 				// ITextRenderer //
-				builder.append(this.renderer.render(choice)); // #198
-
-				// Additional properties (like template properties) //
-				List<String> properties = AutoCompleteChoiceModelBehavior.this.getProperties();
+				this.renderer.render(choice, json); // #198
 
+				// Additional properties //
 				for (String property : properties)
 				{
-					builder.append(", ");
-					BuilderUtils.append(builder, property, this.renderer.getText(choice, property));
+					json.property(property, this.renderer.getText(choice, property));
 				}
 
-				builder.append(" }");
+				json.endObject();
 			}
 		}
 
-		return builder.append(" ]").toString();
+		json.endArray();
 	}
 }
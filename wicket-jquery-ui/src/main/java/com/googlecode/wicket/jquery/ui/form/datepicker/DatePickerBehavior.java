@@ -23,12 +23,12 @@ import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxPostBehavior;
 import com.googlecode.wicket.jquery.core.utils.JQueryUtils;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
@@ -166,7 +166,7 @@ public abstract class DatePickerBehavior extends JQueryUIBehavior implements IJQ
 
 		public SelectEvent()
 		{
-			this.date = RequestCycleUtils.getPostParameterValue("dateText").toString();
+			this.date = JQueryEventParameters.post().getString("dateText");
 		}
 
 		public String getDateText()
@@ -23,10 +23,10 @@ import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
@@ -205,7 +205,7 @@ public class SpinnerBehavior extends JQueryUIBehavior implements IJQueryAjaxAwar
 		{
 			super();
 
-			this.value = RequestCycleUtils.getQueryParameterValue("value").toOptionalString();
+			this.value = JQueryEventParameters.get().getOptionalString("value");
 		}
 
 		/**
@@ -27,10 +27,10 @@ import org.apache.wicket.util.visit.Visits;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget.JQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 import com.googlecode.wicket.jquery.ui.interaction.droppable.DroppableBehavior;
 
@@ -292,10 +292,12 @@ public class DraggableBehavior extends JQueryUIBehavior implements IJQueryAjaxAw
 		 */
 		public DraggableEvent()
 		{
-			this.top = RequestCycleUtils.getQueryParameterValue("top").toInt(-1);
-			this.left = RequestCycleUtils.getQueryParameterValue("left").toInt(-1);
-			this.offsetTop = RequestCycleUtils.getQueryParameterValue("offsetTop").toInt(-1);
-			this.offsetLeft = RequestCycleUtils.getQueryParameterValue("offsetLeft").toInt(-1);
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.top = parameters.getInt("top", -1);
+			this.left = parameters.getInt("left", -1);
+			this.offsetTop = parameters.getInt("offsetTop", -1);
+			this.offsetLeft = parameters.getInt("offsetLeft", -1);
 		}
 
 		/**
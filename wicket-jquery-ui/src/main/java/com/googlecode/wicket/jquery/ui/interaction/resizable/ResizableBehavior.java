@@ -22,10 +22,10 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
@@ -230,10 +230,12 @@ public class ResizableBehavior extends JQueryUIBehavior implements IJQueryAjaxAw
 		 */
 		public ResizeEvent()
 		{
-			this.top = RequestCycleUtils.getQueryParameterValue("top").toInt(-1);
-			this.left = RequestCycleUtils.getQueryParameterValue("left").toInt(-1);
-			this.width = RequestCycleUtils.getQueryParameterValue("width").toInt(-1);
-			this.height = RequestCycleUtils.getQueryParameterValue("height").toInt(-1);
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.top = parameters.getInt("top", -1);
+			this.left = parameters.getInt("left", -1);
+			this.width = parameters.getInt("width", -1);
+			this.height = parameters.getInt("height", -1);
 		}
 
 		/**
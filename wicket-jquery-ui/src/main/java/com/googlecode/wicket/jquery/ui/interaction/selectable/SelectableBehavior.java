@@ -26,13 +26,12 @@ import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
-import org.apache.wicket.util.string.StringValue;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
@@ -198,12 +197,12 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 		public StopEvent()
 		{
 			this.indexes = new ArrayList<Integer>();
-			StringValue values = RequestCycleUtils.getQueryParameterValue("indexes");
+			String values = JQueryEventParameters.get().getString("indexes");
 
 			if (values != null)
 			{
 				Pattern pattern = Pattern.compile("(\\d+)");
-				Matcher matcher = pattern.matcher(values.toString());
+				Matcher matcher = pattern.matcher(values);
 
 				while (matcher.find())
 				{
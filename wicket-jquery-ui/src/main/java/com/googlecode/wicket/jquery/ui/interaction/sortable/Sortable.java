@@ -32,6 +32,7 @@ import org.apache.wicket.util.lang.Args;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryGenericContainer;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
 import com.googlecode.wicket.jquery.core.utils.ListUtils;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 
@@ -55,6 +56,9 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	 */
 	private Sortable<T> connectedSortable = null;
 
+	/** hashcode-to-index lookup of the model object */
+	private final ListUtils.HashIndex hashIndex = new ListUtils.HashIndex();
+
 	/**
 	 * Constructor
 	 *
@@ -134,7 +138,7 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	public void onUpdate(AjaxRequestTarget target, T item, int index)
 	{
 		this.modelChanging();
-		ListUtils.move(item, index, this.getModelObject()); // why is it called by sender if moving to receiver?
+		ListUtils.move(item, index, this.getModelObject(), this.hashIndex); // why is it called by sender if moving to receiver?
 		this.modelChanged();
 	}
 
@@ -216,7 +220,8 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 
 	/**
 	 * Helper method to locate an item in a list by identifier.<br />
-	 * By default, uses item's hashcode as identifier.
+	 * By default, uses item's hashcode as identifier. If the model implements {@link IVersionProvider}, its version is used to keep the lookup of the model
+	 * object across requests.
 	 *
 	 * @param id the item id
 	 * @param list the list of items
@@ -225,7 +230,10 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	 */
 	protected T findItem(String id, List<T> list)
 	{
-		return ListUtils.fromHash(Integer.parseInt(id), list);
+		IModel<List<T>> model = this.getModel();
+		String version = model instanceof IVersionProvider && list == model.getObject() ? ((IVersionProvider) model).getVersion() : null;
+
+		return ListUtils.fromHash(Integer.parseInt(id), list, this.hashIndex, version);
 	}
 
 	// IJQueryWidget //
@@ -25,11 +25,11 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
 import com.googlecode.wicket.jquery.core.utils.ListUtils;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 import com.googlecode.wicket.jquery.ui.interaction.selectable.SelectableBehavior;
 
@@ -47,6 +47,9 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 	/** event listener */
 	private final ISortableListener<T> listener;
 
+	/** hashcode-to-index lookup of the list */
+	private final ListUtils.HashIndex hashIndex = new ListUtils.HashIndex();
+
 	private JQueryAjaxBehavior onUpdateAjaxBehavior;
 	private JQueryAjaxBehavior onReceiveAjaxBehavior = null;
 	private JQueryAjaxBehavior onRemoveAjaxBehavior = null;
@@ -136,7 +139,7 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 	 */
 	protected T findItem(String id, List<T> list)
 	{
-		return ListUtils.fromHash(Integer.parseInt(id), list);
+		return ListUtils.fromHash(Integer.parseInt(id), list, this.hashIndex);
 	}
 
 	// Events //
@@ -335,8 +338,10 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 
 		public SortableEvent()
 		{
-			this.hash = RequestCycleUtils.getQueryParameterValue("hash").toString();
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1); // remove-behavior will default to -1
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.hash = parameters.getString("hash");
+			this.index = parameters.getInt("index", -1); // remove-behavior will default to -1
 		}
 
 		/**
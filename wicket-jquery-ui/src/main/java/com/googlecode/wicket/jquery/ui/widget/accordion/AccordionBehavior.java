@@ -28,10 +28,10 @@ import org.apache.wicket.extensions.markup.html.tabs.ITab;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 import com.googlecode.wicket.jquery.ui.widget.tabs.AjaxTab;
 
@@ -236,7 +236,7 @@ public abstract class AccordionBehavior extends JQueryUIBehavior implements IJQu
 		{
 			super();
 
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1);
+			this.index = JQueryEventParameters.get().getInt("index", -1);
 		}
 
 		/**
@@ -19,6 +19,7 @@ package com.googlecode.wicket.jquery.ui.widget.dialog;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes.Method;
 import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.util.time.Duration;
 
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 
@@ -46,6 +47,20 @@ public class ButtonAjaxPostBehavior extends ButtonAjaxBehavior
 		this.form = form;
 	}
 
+	/**
+	 * The form is submitted, so the call cannot be batched
+	 */
+	@Override
+	protected Duration getBatchDuration()
+	{
+		if (this.form != null)
+		{
+			return Duration.NONE;
+		}
+
+		return super.getBatchDuration();
+	}
+
 	/**
 	 * The form may intentionally be null
 	 */
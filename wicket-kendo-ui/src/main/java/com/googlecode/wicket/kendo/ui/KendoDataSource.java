@@ -17,7 +17,16 @@
 package com.googlecode.wicket.kendo.ui;
 
 import org.apache.wicket.Component;
+import org.apache.wicket.ajax.json.JSONArray;
+import org.apache.wicket.ajax.json.JSONException;
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.ajax.json.JSONTokener;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.parameter.UrlRequestParametersAdapter;
 import org.apache.wicket.util.lang.Args;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.kendo.ui.utils.DebugUtils;
@@ -31,6 +40,7 @@ import com.googlecode.wicket.kendo.ui.utils.DebugUtils;
 public class KendoDataSource extends Options implements IKendoDataSource
 {
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOG = LoggerFactory.getLogger(KendoDataSource.class);
 
 	protected static final String TYPE = "json";
 
@@ -172,6 +182,56 @@ public class KendoDataSource extends Options implements IKendoDataSource
 		return String.format("jQuery(function() { %s = new kendo.data.DataSource(%s); });", this.getName(), this.build());
 	}
 
+	/**
+	 * Gets the request parameters of the first read of this server-paged data-source<br/>
+	 * The parameters include the configured 'sort', 'filter' and 'group' options - normalized the way the Kendo UI data-source does - so they are the ones the
+	 * data-source would send for its first read.
+	 *
+	 * @param pageSize the page size
+	 * @return the {@link IRequestParameters}, or {@code null} if an option is not a JSON literal (ie: it is a javascript expression)
+	 */
+	public IRequestParameters newFirstPageParameters(long pageSize)
+	{
+		Url url = new Url();
+		url.addQueryParameter("take", pageSize);
+		url.addQueryParameter("skip", 0);
+		url.addQueryParameter("page", 1);
+		url.addQueryParameter("pageSize", pageSize);
+
+		try
+		{
+			Object sort = this.parse("sort");
+			Object filter = this.parse("filter");
+			Object group = this.parse("group");
+
+			KendoDataSource.addParameters(url, "sort", sort instanceof String ? new JSONObject().put("field", sort).put("dir", "asc") : sort);
+			KendoDataSource.addParameters(url, "filter", filter instanceof JSONObject && !((JSONObject) filter).has("filters") ? new JSONArray().put(filter) : filter);
+			KendoDataSource.addParameters(url, "group", group instanceof String ? new JSONObject().put("field", group) : group);
+		}
+		catch (JSONException e)
+		{
+			LOG.debug("The data-source options cannot be evaluated, the first read will be sent to the server", e);
+
+			return null;
+		}
+
+		return new UrlRequestParametersAdapter(url);
+	}
+
+	/**
+	 * Parses the supplied option, as a JSON value
+	 *
+	 * @param key the option key
+	 * @return the {@link JSONObject}, {@link JSONArray}, {@code String}, etc. or {@code null} if the option is not set
+	 * @throws JSONException if the option is not a JSON literal
+	 */
+	private Object parse(String key) throws JSONException
+	{
+		Object value = this.get(key);
+
+		return value != null ? new JSONTokener(String.valueOf(value)).nextValue() : null; // the tokener accepts unquoted keys and single-quoted strings
+	}
+
 	// Helpers //
 
 	/**
@@ -197,7 +257,9 @@ public class KendoDataSource extends Options implements IKendoDataSource
 	}
 
 	/**
-	 * Gets the 'read' callback function from an url
+	 * Gets the 'read' callback function from an url<br/>
+	 * If the url is registered as a fanned-out callback (see {@code AjaxCallbackBehavior#isFanOut()}), the initial read is gathered with the other initial reads
+	 * of the page.
 	 *
 	 * @param url the callback url
 	 * @param useCache whether the function should use cache
@@ -206,7 +268,7 @@ public class KendoDataSource extends Options implements IKendoDataSource
 	public static String getReadCallbackFunction(CharSequence url, boolean useCache)
 	{
 		return "function(options) {" // lf
-				+ " jQuery.ajax({" // lf
+				+ " var settings = {" // lf
 				+ "		url: '" + url + "'," // lf
 				+ "		data: options.data," // lf
 				+ "		cache: " + useCache + "," // lf
@@ -216,7 +278,163 @@ public class KendoDataSource extends Options implements IKendoDataSource
 				+ "		error: function(result) {" // lf
 				+ "			options.error(result);" // lf
 				+ "		}" // lf
-				+ "	});" // lf
+				+ "	};" // lf
+				+ " if (!(window.JQueryFanOut && JQueryFanOut.read(settings))) {" // lf
+				+ "		jQuery.ajax(settings);" // lf
+				+ "	}" // lf
 				+ "}";
 	}
+
+	/**
+	 * Gets the 'read' callback function from an url, the first read being answered by the supplied initial data<br/>
+	 * The initial data is embedded into the page, so the widget is bound without any round trip; subsequent reads are sent to the url.
+	 *
+	 * @param url the callback url
+	 * @param useCache whether the function should use cache
+	 * @param data the initial (JSON) data, as returned by the callback url for the first read, or {@code null}
+	 * @return the 'read' callback function
+	 */
+	public static String getReadCallbackFunction(CharSequence url, boolean useCache, CharSequence data)
+	{
+		return KendoDataSource.withInitialData(KendoDataSource.getReadCallbackFunction(url, useCache), data);
+	}
+
+	/**
+	 * Gets the 'read' callback function from a data feed url, the first read being answered by the supplied initial data<br/>
+	 * If the feed responds {@code 403 Forbidden} - ie: the token has expired - a new feed url is requested to the renew url (see
+	 * {@code DataFeedRenewBehavior}) and the read is retried once with that url, which is then used for subsequent reads.
+	 *
+	 * @param url the data feed url
+	 * @param useCache whether the function should use cache
+	 * @param data the initial (JSON) data, as returned by the feed for the first read, or {@code null}
+	 * @param renewUrl the url answering a new data feed url, or {@code null}
+	 * @return the 'read' callback function
+	 */
+	public static String getReadCallbackFunction(CharSequence url, boolean useCache, CharSequence data, CharSequence renewUrl)
+	{
+		if (renewUrl == null)
+		{
+			return KendoDataSource.getReadCallbackFunction(url, useCache, data);
+		}
+
+		String function = "(function() {" // lf
+				+ " var url = '" + url + "';" // lf
+				+ " var read = function(options, renewed) {" // lf
+				+ "		jQuery.ajax({" // lf
+				+ "			url: url," // lf
+				+ "			data: options.data," // lf
+				+ "			cache: " + useCache + "," // lf
+				+ "			success: function(result) {" // lf
+				+ "				options.success(result);" // lf
+				+ "			}," // lf
+				+ "			error: function(result) {" // lf
+				+ "				if (result.status === 403 && !renewed) {" // lf
+				+ "					jQuery.ajax({ url: '" + renewUrl + "', dataType: 'json', cache: false })" // lf
+				+ "						.done(function(value) { url = value; read(options, true); })" // lf
+				+ "						.fail(function() { options.error(result); });" // lf
+				+ "				} else {" // lf
+				+ "					options.error(result);" // lf
+				+ "				}" // lf
+				+ "			}" // lf
+				+ "		});" // lf
+				+ "	};" // lf
+				+ " return function(options) { read(options, false); };" // lf
+				+ "})()";
+
+		return KendoDataSource.withInitialData(function, data);
+	}
+
+	/**
+	 * Wraps the 'read' callback function so that the first read is answered by the supplied initial data
+	 *
+	 * @param function the 'read' callback function
+	 * @param data the initial (JSON) data, or {@code null}
+	 * @return the 'read' callback function
+	 */
+	private static String withInitialData(String function, CharSequence data)
+	{
+		if (data == null)
+		{
+			return function;
+		}
+
+		return "(function() {" // lf
+				+ " var data = " + data.toString().replace("</", "<\\/") + ";" // prevents </script> in strings
+				+ " var read = " + function + ";" // lf
+				+ " return function(options) {" // lf
+				+ "		if (data !== null) {" // lf
+				+ "			var d = data; data = null; options.success(d);" // lf
+				+ "		} else {" // lf
+				+ "			read(options);" // lf
+				+ "		}" // lf
+				+ "	};" // lf
+				+ "})()";
+	}
+
+	/**
+	 * Adds the request parameters of a data-source option, as {@code jQuery.param} encodes it (ie: {@code sort[0][field]=name})<br/>
+	 * Like the Kendo UI data-source, a single 'sort' or 'group' descriptor is sent as an array and a single 'filter' expression - or an array of expressions -
+	 * is sent as an 'and' group.
+	 *
+	 * @param url the {@link Url}
+	 * @param name the parameter name
+	 * @param value the option value (a {@link JSONObject}, a {@link JSONArray} or a single value), or {@code null}
+	 * @throws JSONException if the value cannot be read
+	 */
+	private static void addParameters(Url url, String name, Object value) throws JSONException
+	{
+		if (value instanceof JSONObject && ("sort".equals(name) || "group".equals(name)))
+		{
+			value = new JSONArray().put(value);
+		}
+		else if (value instanceof JSONArray && "filter".equals(name))
+		{
+			value = new JSONObject().put("logic", "and").put("filters", value);
+		}
+
+		KendoDataSource.flatten(url, name, value);
+	}
+
+	/**
+	 * Adds the request parameters of a JSON value, as {@code jQuery.param} encodes it
+	 *
+	 * @param url the {@link Url}
+	 * @param name the parameter name
+	 * @param value the JSON value, or {@code null}
+	 * @throws JSONException if the value cannot be read
+	 */
+	private static void flatten(Url url, String name, Object value) throws JSONException
+	{
+		if (value instanceof JSONObject)
+		{
+			JSONObject object = (JSONObject) value;
+
+			for (String key : JSONObject.getNames(object))
+			{
+				KendoDataSource.flatten(url, name + "[" + key + "]", object.get(key));
+			}
+		}
+		else if (value instanceof JSONArray)
+		{
+			JSONArray array = (JSONArray) value;
+
+			for (int i = 0; i < array.length(); i++)
+			{
+				Object item = array.get(i);
+
+				if (item instanceof JSONObject || item instanceof JSONArray)
+				{
+					KendoDataSource.flatten(url, name + "[" + i + "]", item);
+				}
+				else
+				{
+					KendoDataSource.flatten(url, name + "[]", item);
+				}
+			}
+		}
+		else if (value != null && value != JSONObject.NULL)
+		{
+			url.addQueryParameter(name, String.valueOf(value));
+		}
+	}
 }
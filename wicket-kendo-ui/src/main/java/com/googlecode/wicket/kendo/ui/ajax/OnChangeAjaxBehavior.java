@@ -21,9 +21,9 @@ import org.apache.wicket.behavior.Behavior;
 import org.apache.wicket.markup.html.form.FormComponent;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxPostBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 
 /**
  * Provides a {@link JQueryAjaxPostBehavior} that aims to be wired to the 'change' event<br/>
@@ -70,7 +70,7 @@ public class OnChangeAjaxBehavior extends JQueryAjaxPostBehavior
 
 		public ChangeEvent()
 		{
-			this.value = RequestCycleUtils.getPostParameterValue("value").toString();
+			this.value = JQueryEventParameters.post().getString("value");
 		}
 
 		public String getValue()
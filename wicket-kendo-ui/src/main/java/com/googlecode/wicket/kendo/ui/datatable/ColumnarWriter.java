@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+import com.googlecode.wicket.kendo.ui.resource.KendoColumnarResourceReference;
+
+/**
+ * Provides the writer of the columnar data-source format<br/>
+ * Instead of one object per row, field names are sent once and values are sent as one array per column. Low-cardinality string columns are dictionary-encoded:
+ * their values are indexes into a per-column dictionary.<br/>
+ * <br/>
+ * Format:
+ *
+ * <pre>
+ * { "fields": [ "name", "city" ], "rows": 3, "columns": [ [ "John", "Paul", "Jane" ], [ 0, 0, 1 ] ], "dictionaries": { "1": [ "Paris", "Rome" ] } }
+ * </pre>
+ *
+ * The response is expanded client-side by {@code KendoColumnar.expand(response)} (see {@link KendoColumnarResourceReference})
+ *
+ * @author agent
+ */
+public class ColumnarWriter
+{
+	/** min number of rows for a column to be dictionary-encoded */
+	private static final int DICTIONARY_MIN_ROWS = 8;
+
+	private final List<String> fields;
+	private final List<List<Object>> columns;
+	private int rows = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param fields the field names
+	 */
+	public ColumnarWriter(List<String> fields)
+	{
+		this.fields = Args.notNull(fields, "fields");
+		this.columns = new ArrayList<List<Object>>(fields.size());
+
+		for (int i = 0; i < fields.size(); i++)
+		{
+			this.columns.add(new ArrayList<Object>());
+		}
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public int size()
+	{
+		return this.rows;
+	}
+
+	// Methods //
+
+	/**
+	 * Adds a row
+	 *
+	 * @param values the row values, in the order of the fields (a {@code null} value means that the field is absent)
+	 */
+	public void add(List<?> values)
+	{
+		Args.isTrue(values.size() == this.fields.size(), "values should be as many as fields");
+
+		for (int i = 0; i < values.size(); i++)
+		{
+			this.columns.get(i).add(values.get(i));
+		}
+
+		this.rows++;
+	}
+
+	/**
+	 * Writes the columnar properties to the supplied {@link JsonWriter}, into the current JSON object
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void write(JsonWriter writer) throws IOException
+	{
+		// fields //
+		writer.key("fields").beginArray();
+
+		for (String field : this.fields)
+		{
+			writer.value(field);
+		}
+
+		writer.endArray();
+		writer.property("rows", this.rows);
+
+		// columns //
+		Map<Integer, List<String>> dictionaries = new LinkedHashMap<Integer, List<String>>();
+		writer.key("columns").beginArray();
+
+		for (int i = 0; i < this.columns.size(); i++)
+		{
+			List<Object> column = this.columns.get(i);
+			Map<String, Integer> dictionary = ColumnarWriter.newDictionary(column);
+
+			writer.beginArray();
+
+			if (dictionary != null)
+			{
+				for (Object value : column)
+				{
+					if (value != null)
+					{
+						writer.value(dictionary.get(value.toString()).longValue());
+					}
+					else
+					{
+						writer.value((Object) null);
+					}
+				}
+
+				dictionaries.put(i, new ArrayList<String>(dictionary.keySet()));
+			}
+			else
+			{
+				for (Object value : column)
+				{
+					writer.value(value);
+				}
+			}
+
+			writer.endArray();
+		}
+
+		writer.endArray();
+
+		// dictionaries //
+		writer.key("dictionaries").beginObject();
+
+		for (Map.Entry<Integer, List<String>> entry : dictionaries.entrySet())
+		{
+			writer.key(String.valueOf(entry.getKey())).beginArray();
+
+			for (String value : entry.getValue())
+			{
+				writer.value(value);
+			}
+
+			writer.endArray();
+		}
+
+		writer.endObject();
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets the dictionary of a column, if the column is worth being dictionary-encoded<br/>
+	 * A column is dictionary-encoded if all its values are strings and if it has - at most - half as many distinct values as non-null values
+	 *
+	 * @param column the column values
+	 * @return the dictionary, as value to index (in insertion order), or {@code null}
+	 */
+	private static Map<String, Integer> newDictionary(List<Object> column)
+	{
+		if (column.size() < DICTIONARY_MIN_ROWS)
+		{
+			return null;
+		}
+
+		Map<String, Integer> dictionary = new LinkedHashMap<String, Integer>();
+		int count = 0;
+
+		for (Object value : column)
+		{
+			if (value != null)
+			{
+				if (!(value instanceof CharSequence))
+				{
+					return null;
+				}
+
+				String key = value.toString();
+
+				if (!dictionary.containsKey(key))
+				{
+					dictionary.put(key, dictionary.size());
+				}
+
+				count++;
+			}
+		}
+
+		return dictionary.size() * 2 <= count ? dictionary : null;
+	}
+}
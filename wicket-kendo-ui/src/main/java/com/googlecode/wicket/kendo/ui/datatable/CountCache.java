@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.util.time.Duration;
+import org.apache.wicket.util.time.Time;
+
+/**
+ * Provides the application-wide store of the counts kept by {@link DataProviderBehavior}{@code s}, when the count mode is {@link CountMode#CACHED}<br/>
+ * The store outlives the behaviors - which are serialized with their page, or created for each request by a {@link DataProviderFeed} - and is bounded: the
+ * least recently used counts are evicted first.
+ *
+ * @author agent
+ */
+class CountCache
+{
+	/** The max number of cached counts */
+	private static final int MAX_SIZE = 1024;
+
+	private static final MetaDataKey<CountCache> KEY = new MetaDataKey<CountCache>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the {@link CountCache} of the application, which is created on first use
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link CountCache}
+	 */
+	static synchronized CountCache get(Application application)
+	{
+		CountCache cache = application.getMetaData(KEY);
+
+		if (cache == null)
+		{
+			cache = new CountCache();
+			application.setMetaData(KEY, cache);
+		}
+
+		return cache;
+	}
+
+	private final Map<String, CachedCount> counts;
+
+	/**
+	 * Constructor
+	 */
+	private CountCache()
+	{
+		this.counts = new LinkedHashMap<String, CachedCount>(MAX_SIZE, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest)
+			{
+				return this.size() > MAX_SIZE;
+			}
+		};
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the count
+	 *
+	 * @param key the key of the count
+	 * @return the count, or {@code null} if the count is not cached or has expired
+	 */
+	synchronized Long get(String key)
+	{
+		CachedCount cached = this.counts.get(key);
+
+		if (cached == null)
+		{
+			return null;
+		}
+
+		if (cached.isExpired())
+		{
+			this.counts.remove(key);
+
+			return null;
+		}
+
+		return cached.getCount();
+	}
+
+	/**
+	 * Caches the count
+	 *
+	 * @param key the key of the count
+	 * @param count the count
+	 * @param ttl the time to live
+	 */
+	synchronized void put(String key, long count, Duration ttl)
+	{
+		this.counts.put(key, new CachedCount(count, ttl));
+	}
+
+	/**
+	 * Removes the counts whose key starts with the supplied prefix
+	 *
+	 * @param prefix the prefix of the keys
+	 */
+	synchronized void invalidate(String prefix)
+	{
+		for (Iterator<String> iterator = this.counts.keySet().iterator(); iterator.hasNext();)
+		{
+			if (iterator.next().startsWith(prefix))
+			{
+				iterator.remove();
+			}
+		}
+	}
+
+	// Classes //
+
+	/**
+	 * Provides a count kept until it expires
+	 */
+	private static class CachedCount
+	{
+		private final long count;
+		private final Time expiry;
+
+		/**
+		 * Constructor
+		 *
+		 * @param count the count
+		 * @param ttl the time to live
+		 */
+		public CachedCount(long count, Duration ttl)
+		{
+			this.count = count;
+			this.expiry = Time.now().add(ttl);
+		}
+
+		/**
+		 * Gets the count
+		 *
+		 * @return the count
+		 */
+		public long getCount()
+		{
+			return this.count;
+		}
+
+		/**
+		 * Indicates whether the count has expired
+		 *
+		 * @return true if expired
+		 */
+		public boolean isExpired()
+		{
+			return this.expiry.before(Time.now());
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.query.ICountKeyProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IEstimatedSizeProvider;
+
+/**
+ * Provides the strategies of the total row count of the {@link DataTable} reads
+ *
+ * @author agent
+ * @see DataProviderBehavior#getCountMode()
+ */
+public enum CountMode
+{
+	/**
+	 * The count is retrieved by {@link IDataProvider#size()} for each read
+	 */
+	EXACT,
+
+	/**
+	 * The count is retrieved by {@link IDataProvider#size()} once per filter state, and kept for a while (see {@link DataProviderBehavior#getCountTimeToLive()})<br/>
+	 * The filter state is the one supplied by an {@link ICountKeyProvider}, if any, or the client filter and the applied filter state otherwise. The counts are
+	 * kept by the application, per session and {@link IDataProvider} class (see {@link DataProviderBehavior#getCountScope()}).
+	 */
+	CACHED,
+
+	/**
+	 * The count is the estimate supplied by an {@link IEstimatedSizeProvider}, if any, or is retrieved by {@link IDataProvider#size()} otherwise
+	 */
+	ESTIMATED,
+
+	/**
+	 * The count is not retrieved; one more row than the page size is fetched instead, to know whether more rows follow. The total is the number of rows read
+	 * so far, plus one if more rows follow: it is intended for endless scrolling, not for a pager showing the page count.
+	 */
+	HAS_MORE
+}
@@ -16,14 +16,17 @@
  */
 package com.googlecode.wicket.kendo.ui.datatable;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.Component;
 import org.apache.wicket.Session;
-import org.apache.wicket.ajax.json.JSONException;
-import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.core.util.lang.PropertyResolver;
 import org.apache.wicket.core.util.lang.PropertyResolverConverter;
 import org.apache.wicket.extensions.markup.html.repeater.data.sort.ISortStateLocator;
@@ -32,13 +35,31 @@ import org.apache.wicket.extensions.markup.html.repeater.data.table.filter.IFilt
 import org.apache.wicket.markup.repeater.data.IDataProvider;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.request.IRequestParameters;
-import org.apache.wicket.util.convert.ConversionException;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.flow.AbortWithHttpErrorCodeException;
+import org.apache.wicket.util.lang.Generics;
+import org.apache.wicket.util.time.Duration;
 
-import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.behavior.IResponseWriter;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
 import com.googlecode.wicket.kendo.ui.datatable.column.PropertyColumn;
+import com.googlecode.wicket.kendo.ui.datatable.query.Aggregates;
+import com.googlecode.wicket.kendo.ui.datatable.query.CompositeFilter;
+import com.googlecode.wicket.kendo.ui.datatable.query.DataGroup;
+import com.googlecode.wicket.kendo.ui.datatable.query.DataQuery;
+import com.googlecode.wicket.kendo.ui.datatable.query.FilterDescriptor;
+import com.googlecode.wicket.kendo.ui.datatable.query.ICountKeyProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IEstimatedSizeProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IFilter;
+import com.googlecode.wicket.kendo.ui.datatable.query.IGroupDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IMultiSortDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IQueryDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.ISeekDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.SortDescriptor;
 import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
 
 /**
@@ -50,14 +71,25 @@ import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
 public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 {
 	private static final long serialVersionUID = 1L;
-	private static final String ASC = "asc";
 
-	/** The max number of filtered column */
-	private static final int COLS = 20;
+	/** The request parameter of the seek key */
+	private static final String SEEK = "seek";
+
+	/** The response property of the seek key */
+	private static final String SEEK_KEY = "__seek";
+
+	/** The status of a read having an invalid query */
+	private static final int SC_BAD_REQUEST = 400;
 
 	private final IDataProvider<T> provider;
 	private final IModel<List<IColumn>> columns;
 
+	/** Indicates whether the deprecated {@link #newJsonRow(Object)} is overridden */
+	private transient Boolean legacy = null;
+
+	/** Indicates whether {@link #writeJsonRow(Object, JsonWriter)} is overridden */
+	private transient Boolean custom = null;
+
 	/**
 	 * Constructor
 	 *
@@ -70,8 +102,105 @@ public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 		this.provider = provider;
 	}
 
+	// Properties //
+
+	/**
+	 * Indicates whether the response should be written in the columnar format (see {@link ColumnarWriter})<br/>
+	 * <b>Note:</b> the columnar format only contains {@link PropertyColumn}{@code s} values, {@link #writeJsonRow(Object, JsonWriter)} is not called.
+	 *
+	 * @return {@link DataTable#useColumnarFormat()} if the behavior is bound to a {@link DataTable}, false otherwise
+	 * @see DataTableBehavior#useColumnarFormat()
+	 */
+	protected boolean useColumnarFormat()
+	{
+		DataTable<?> table = this.getDataTable();
+
+		return table != null && table.useColumnarFormat();
+	}
+
+	/**
+	 * Indicates whether the response should be written asynchronously, outside of the page lock (see {@link AjaxCallbackBehavior#newAsyncResponseWriter(IRequestParameters)})<br/>
+	 * The {@link IDataProvider} is queried by the request thread - the rows, groups and aggregates are then held by the writer - and only the serialization is
+	 * done by the executor thread: the rows should therefore not be modified by the page meanwhile, and an overridden {@link #writeJsonRow(Object, JsonWriter)}
+	 * should not rely on components or session.
+	 *
+	 * @return false by default
+	 */
+	protected boolean isAsynchronous()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the strategy of the total row count
+	 *
+	 * @return {@link DataTable#getCountMode()} if the behavior is bound to a {@link DataTable}, {@link CountMode#EXACT} otherwise
+	 */
+	protected CountMode getCountMode()
+	{
+		DataTable<?> table = this.getDataTable();
+
+		return table != null ? table.getCountMode() : CountMode.EXACT;
+	}
+
+	/**
+	 * Gets the time during which a count is kept, when the count mode is {@link CountMode#CACHED}
+	 *
+	 * @return one minute by default
+	 */
+	protected Duration getCountTimeToLive()
+	{
+		return Duration.minutes(1);
+	}
+
 	// Methods //
 
+	/**
+	 * Clears the cached counts (ie: after rows have been created or deleted), when the count mode is {@link CountMode#CACHED}
+	 */
+	public void invalidateCount()
+	{
+		CountCache.get(Application.get()).invalidate(this.getCountScope() + "|");
+	}
+
+	/**
+	 * Gets the scope of the cached counts, when the count mode is {@link CountMode#CACHED}<br/>
+	 * The counts are kept by the application (they outlive the behavior), under the scope and the count key (see {@link #getCountKey(DataQuery)}). Default
+	 * scope is the session id and the {@link IDataProvider} class.
+	 *
+	 * @return the scope
+	 */
+	protected String getCountScope()
+	{
+		RequestCycle cycle = RequestCycle.get();
+		String session = cycle != null ? Application.get().getSessionStore().getSessionId(cycle.getRequest(), false) : null;
+
+		return session + "|" + this.provider.getClass().getName();
+	}
+
+	/**
+	 * Gets the key under which the count is cached, when the count mode is {@link CountMode#CACHED}<br/>
+	 * Default is the key supplied by the {@link IDataProvider}, if it implements {@link ICountKeyProvider}, or the client filter and the applied filter state
+	 * otherwise (the filter state object should then implement {@code toString()} upon its values)
+	 *
+	 * @param query the {@link DataQuery}
+	 * @return the key
+	 */
+	protected String getCountKey(DataQuery query)
+	{
+		if (this.provider instanceof ICountKeyProvider)
+		{
+			return ((ICountKeyProvider) this.provider).getCountKey();
+		}
+
+		if (this.provider instanceof IFilterStateLocator<?>)
+		{
+			return query.getFilter() + "|" + ((IFilterStateLocator<?>) this.provider).getFilterState();
+		}
+
+		return String.valueOf(query.getFilter());
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void setSort(String property, SortOrder order)
 	{
@@ -80,84 +209,448 @@ public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 		locator.getSortState().setPropertySortOrder(property, order);
 	}
 
+	/**
+	 * Gets a new JSON object from the bean
+	 *
+	 * @param bean T object
+	 * @return a new JSON object
+	 * @deprecated override {@link #writeJsonRow(Object, JsonWriter)} instead, which streams the row to the response. This method is still called instead of
+	 *             {@link #writeJsonRow(Object, JsonWriter)} if it is overridden (but not in the columnar format).
+	 */
+	@Deprecated
+	protected String newJsonRow(T bean)
+	{
+		StringBuilder builder = new StringBuilder();
+		JsonWriter writer = new JsonWriter(builder);
+
+		try
+		{
+			writer.beginObject();
+			this.writeJsonRow(bean, writer);
+			writer.endObject();
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // not thrown by a StringBuilder
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Writes the bean's column values to the supplied {@link JsonWriter}, into the current JSON object
+	 *
+	 * @param bean T object
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected void writeJsonRow(T bean, JsonWriter writer) throws IOException
+	{
+		DataProviderBehavior.writeColumns(bean, this.columns.getObject(), writer);
+	}
+
+	/**
+	 * {@inheritDoc}<br/>
+	 * Default is the version of the {@link IDataProvider}, if it implements {@link IVersionProvider}
+	 */
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected String getVersion(IRequestParameters parameters)
 	{
-		final int first = parameters.getParameterValue("skip").toInt(0);
-		final int count = parameters.getParameterValue("take").toInt(Short.MAX_VALUE);
+		if (this.provider instanceof IVersionProvider)
+		{
+			return ((IVersionProvider) this.provider).getVersion();
+		}
+
+		return null;
+	}
+
+	@Override
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
+	{
+		new DataWriter(parameters, true).write(writer);
+	}
+
+	/**
+	 * Renders the response of the first read, ie: to embed it into the page and save the first round trip<br/>
+	 * Unlike a read, the query is not applied to the provider state, so rendering the page does not change it: the query is only supplied to an
+	 * {@link IQueryDataProvider} and to an {@link IGroupDataProvider}. The response is therefore not rendered if the query is sorted or filtered while the
+	 * provider relies on a sort or filter state ({@link IMultiSortDataProvider}, {@link ISortStateLocator} or {@link IFilterStateLocator}).
+	 *
+	 * @param parameters the request parameters of the first read
+	 * @return the response text, or {@code null} if the first read should be sent to the server
+	 */
+	public String renderInitialResponse(IRequestParameters parameters)
+	{
+		DataQuery query = DataProviderBehavior.parse(parameters);
+
+		if (!query.getSorts().isEmpty() || query.getFilter() != null)
+		{
+			if (!(this.provider instanceof IQueryDataProvider<?>) && this.hasState())
+			{
+				return null;
+			}
+		}
+
+		StringWriter writer = new StringWriter();
+
+		try
+		{
+			new DataWriter(parameters, false).write(writer);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException("Unable to render the response", e);
+		}
+
+		return writer.toString();
+	}
+
+	@Override
+	protected IResponseWriter newAsyncResponseWriter(IRequestParameters parameters)
+	{
+		if (!this.isAsynchronous())
+		{
+			return null;
+		}
+
+		return new DataWriter(parameters, true); // the provider is queried by the request thread
+	}
+
+	/**
+	 * Parses the query of the request
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the {@link DataQuery}
+	 * @throws AbortWithHttpErrorCodeException (400) if the query is invalid, ie: it has an unknown filter operator
+	 */
+	private static DataQuery parse(IRequestParameters parameters)
+	{
+		try
+		{
+			return DataQuery.parse(parameters);
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new AbortWithHttpErrorCodeException(SC_BAD_REQUEST, e.getMessage());
+		}
+	}
+
+	/**
+	 * Indicates whether the provider relies on a sort or filter state, which is changed by {@link #applyState(IRequestParameters)}
+	 *
+	 * @return true if the provider has a sort or filter state
+	 */
+	private boolean hasState()
+	{
+		return this.provider instanceof IMultiSortDataProvider<?> || this.provider instanceof ISortStateLocator<?> || this.provider instanceof IFilterStateLocator<?>;
+	}
+
+	/**
+	 * Applies the query of the request to the {@link IDataProvider}<br/>
+	 * All sort keys are supplied to an {@link IMultiSortDataProvider}; the first sort key is applied to an {@link ISortStateLocator} and the filter values
+	 * (of the root group only, regardless of their operator) are set onto the {@link IFilterStateLocator} bean. An {@link IQueryDataProvider} holds no state,
+	 * the {@link DataQuery} is supplied to its {@code size} and {@code iterator} methods instead.
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return the {@link DataQuery}
+	 */
+	private DataQuery applyState(IRequestParameters parameters)
+	{
+		final DataQuery query = DataProviderBehavior.parse(parameters);
+
+		// IMultiSortDataProvider //
+		if (this.provider instanceof IMultiSortDataProvider<?>)
+		{
+			((IMultiSortDataProvider<?>) this.provider).setSortKeys(query.getSorts());
+		}
 
 		// ISortStateLocator //
 		if (this.provider instanceof ISortStateLocator<?>)
 		{
-			String property = parameters.getParameterValue("sort[0][field]").toOptionalString();
-			String direction = parameters.getParameterValue("sort[0][dir]").toOptionalString();
-
-			if (property != null)
+			if (!query.getSorts().isEmpty())
 			{
-				this.setSort(PropertyUtils.unescape(property), direction == null ? SortOrder.NONE : direction.equals(ASC) ? SortOrder.ASCENDING : SortOrder.DESCENDING);
+				SortDescriptor sort = query.getSorts().get(0);
+
+				this.setSort(sort.getField(), sort.getOrder());
 			}
 		}
 
 		// IFilterStateLocator //
 		if (this.provider instanceof IFilterStateLocator<?>)
 		{
-			@SuppressWarnings("unused")
-			String logicPattern = "filter[logic]";
-			String fieldPattern = "filter[filters][%d][field]";
-			String valuePattern = "filter[filters][%d][value]";
-
-			@SuppressWarnings("unused")
-			String operatorPattern = "filter[filters][%d][operator]";
-			// TODO: implement logic & operator (new IFilterStateLocator interface?)
-
 			@SuppressWarnings("unchecked")
 			T object = ((IFilterStateLocator<T>) this.provider).getFilterState();
 			PropertyResolverConverter converter = this.newPropertyResolverConverter();
 
-			for (int i = 0; i < COLS; i++)
+			for (FilterDescriptor filter : DataProviderBehavior.getFilterDescriptors(query.getFilter()))
 			{
-				String field = parameters.getParameterValue(String.format(fieldPattern, i)).toOptionalString();
-				String value = parameters.getParameterValue(String.format(valuePattern, i)).toOptionalString();
+				PropertyResolver.setValue(filter.getField(), object, filter.getValue(), converter);
+			}
+		}
 
-				if (field != null)
+		return query;
+	}
+
+	/**
+	 * Gets the total row count, according to the {@link CountMode}
+	 *
+	 * @param query the {@link DataQuery}
+	 * @param mode the {@link CountMode}
+	 * @param key the scoped count key, when the mode is {@link CountMode#CACHED}
+	 * @param ttl the count time to live, when the mode is {@link CountMode#CACHED}
+	 * @return the count, or -1 if the mode is {@link CountMode#HAS_MORE}
+	 */
+	private long size(DataQuery query, CountMode mode, String key, Duration ttl)
+	{
+		switch (mode)
+		{
+			case HAS_MORE:
+				return -1;
+
+			case ESTIMATED:
+				if (this.provider instanceof IEstimatedSizeProvider)
 				{
-					PropertyResolver.setValue(PropertyUtils.unescape(field), object, value, converter);
+					long size = ((IEstimatedSizeProvider) this.provider).getEstimatedSize();
+
+					if (size >= 0)
+					{
+						return size;
+					}
 				}
-				else
+
+				return this.size(query);
+
+			case CACHED:
+				CountCache cache = CountCache.get(Application.get());
+				Long cached = cache.get(key);
+
+				if (cached == null)
+				{
+					cached = this.size(query);
+					cache.put(key, cached, ttl);
+				}
+
+				return cached;
+
+			default:
+				return this.size(query);
+		}
+	}
+
+	/**
+	 * Gets the total row count of the provider, supplying the query to an {@link IQueryDataProvider}
+	 *
+	 * @param query the {@link DataQuery}
+	 * @return the count
+	 */
+	@SuppressWarnings("unchecked")
+	private long size(DataQuery query)
+	{
+		if (this.provider instanceof IQueryDataProvider<?>)
+		{
+			return ((IQueryDataProvider<T>) this.provider).size(query);
+		}
+
+		return this.provider.size();
+	}
+
+	/**
+	 * Gets an iterator for the rows of the provider, supplying the query to an {@link IQueryDataProvider}
+	 *
+	 * @param query the {@link DataQuery}
+	 * @param first the index of the first row
+	 * @param count the max number of rows
+	 * @return the {@link Iterator}
+	 */
+	@SuppressWarnings("unchecked")
+	private Iterator<? extends T> iterator(DataQuery query, long first, long count)
+	{
+		if (this.provider instanceof IQueryDataProvider<?>)
+		{
+			return ((IQueryDataProvider<T>) this.provider).iterator(query, first, count);
+		}
+
+		return this.provider.iterator(first, count);
+	}
+
+	/**
+	 * Writes a row, as a new JSON object<br/>
+	 * The (deprecated) {@link #newJsonRow(Object)} is used if it is overridden, {@link #writeJsonRow(Object, JsonWriter)} if it is overridden, the supplied
+	 * columns otherwise
+	 *
+	 * @param bean T object
+	 * @param columns the list of {@link IColumn}
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	@SuppressWarnings("deprecation")
+	private void writeRow(T bean, List<IColumn> columns, JsonWriter writer) throws IOException
+	{
+		if (this.isJsonRowOverridden())
+		{
+			writer.raw(this.newJsonRow(bean));
+		}
+		else
+		{
+			writer.beginObject();
+
+			if (this.isWriteJsonRowOverridden())
+			{
+				this.writeJsonRow(bean, writer);
+			}
+			else
+			{
+				DataProviderBehavior.writeColumns(bean, columns, writer);
+			}
+
+			writer.endObject();
+		}
+	}
+
+	/**
+	 * Indicates whether {@link #newJsonRow(Object)} is overridden
+	 *
+	 * @return true if overridden
+	 */
+	private boolean isJsonRowOverridden()
+	{
+		if (this.legacy == null)
+		{
+			this.legacy = this.isOverridden("newJsonRow", Object.class);
+		}
+
+		return this.legacy;
+	}
+
+	/**
+	 * Indicates whether {@link #writeJsonRow(Object, JsonWriter)} is overridden
+	 *
+	 * @return true if overridden
+	 */
+	private boolean isWriteJsonRowOverridden()
+	{
+		if (this.custom == null)
+		{
+			this.custom = this.isOverridden("writeJsonRow", Object.class, JsonWriter.class);
+		}
+
+		return this.custom;
+	}
+
+	/**
+	 * Indicates whether a method of this class is overridden
+	 *
+	 * @param name the method name
+	 * @param types the parameter types
+	 * @return true if overridden
+	 */
+	private boolean isOverridden(String name, Class<?>... types)
+	{
+		for (Class<?> type = this.getClass(); type != DataProviderBehavior.class; type = type.getSuperclass())
+		{
+			try
+			{
+				type.getDeclaredMethod(name, types);
+
+				return true;
+			}
+			catch (NoSuchMethodException e)
+			{
+				// not declared
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Writes the groups in the Kendo UI schema format, into the current JSON array
+	 *
+	 * @param groups the list of {@link DataGroup}
+	 * @param columns the list of {@link IColumn}
+	 * @param writer the {@link JsonWriter}
+	 * @return the number of rows written
+	 * @throws IOException if an I/O error occurs
+	 */
+	private long writeGroups(List<DataGroup<T>> groups, List<IColumn> columns, JsonWriter writer) throws IOException
+	{
+		long rows = 0;
+
+		for (DataGroup<T> group : groups)
+		{
+			writer.beginObject();
+			writer.property("field", PropertyUtils.escape(group.getField()));
+			writer.property("value", group.getValue());
+			writer.property("hasSubgroups", group.hasSubgroups());
+			writer.key("aggregates");
+			group.getAggregates().write(writer);
+			writer.key("items").beginArray();
+
+			if (group.hasSubgroups())
+			{
+				rows += this.writeGroups(group.getGroups(), columns, writer);
+			}
+			else
+			{
+				for (T item : group.getItems())
 				{
-					break;
+					this.writeRow(item, columns, writer);
+					rows++;
 				}
 			}
+
+			writer.endArray();
+			writer.endObject();
 		}
 
-		// response //
-		final long size = this.provider.size();
-		final Iterator<? extends T> iterator = this.provider.iterator(first, count);
+		return rows;
+	}
 
-		StringBuilder builder = new StringBuilder();
+	/**
+	 * Writes the rows in the columnar format, into the current JSON object
+	 *
+	 * @param iterator the rows {@link Iterator}
+	 * @param list the list of {@link IColumn}
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeColumnar(Iterator<? extends T> iterator, List<IColumn> list, JsonWriter writer) throws IOException
+	{
+		List<PropertyColumn> columns = Generics.newArrayList();
+		List<String> fields = Generics.newArrayList();
 
-		builder.append("{ ");
-		BuilderUtils.append(builder, "__count", size);
-		builder.append(", ");
-		builder.append(Options.QUOTE).append("results").append(Options.QUOTE).append(": ");
-		builder.append("[ ");
+		for (IColumn column : list)
+		{
+			if (column instanceof PropertyColumn)
+			{
+				columns.add((PropertyColumn) column);
+				fields.add(((PropertyColumn) column).getField());
+			}
+		}
+
+		ColumnarWriter columnar = new ColumnarWriter(fields);
 
 		if (iterator != null)
 		{
-			for (int index = 0; iterator.hasNext(); index++)
+			List<Object> values = new ArrayList<Object>(columns.size());
+
+			while (iterator.hasNext())
 			{
-				if (index > 0)
+				T bean = iterator.next();
+				values.clear();
+
+				for (PropertyColumn column : columns)
 				{
-					builder.append(", ");
+					values.add(column.getValue(bean));
 				}
 
-				builder.append(this.newJsonRow(iterator.next()));
+				columnar.add(values);
 			}
-		}
 
-		builder.append(" ] }");
+			CallbackSample.recordRows(columnar.size());
+		}
 
-		return builder.toString();
+		columnar.write(writer);
 	}
 
 	@Override
@@ -168,6 +661,74 @@ public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 		this.provider.detach();
 	}
 
+	// Helpers //
+
+	/**
+	 * Gets the {@link DataTable} the behavior is bound to, so its settings apply even if {@link DataTable#newDataProviderBehavior(IModel, IDataProvider)} is
+	 * overridden
+	 *
+	 * @return the {@link DataTable}, or {@code null} if the behavior is not bound to a {@link DataTable} (ie: in a {@link DataProviderFeed})
+	 */
+	private DataTable<?> getDataTable()
+	{
+		Component component = this.getComponent();
+
+		return component instanceof DataTable<?> ? (DataTable<?>) component : null;
+	}
+
+	/**
+	 * Writes the bean's {@link PropertyColumn} values, into the current JSON object
+	 *
+	 * @param bean the bean
+	 * @param columns the list of {@link IColumn}
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeColumns(Object bean, List<IColumn> columns, JsonWriter writer) throws IOException
+	{
+		for (IColumn column : columns)
+		{
+			if (column instanceof PropertyColumn)
+			{
+				PropertyColumn pc = (PropertyColumn) column;
+				Object value = pc.getValue(bean);
+
+				if (value != null)
+				{
+					writer.property(pc.getField(), value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the {@link FilterDescriptor}{@code s} of the root filter group
+	 *
+	 * @param filter the root {@link IFilter}, or {@code null}
+	 * @return the list of {@link FilterDescriptor}
+	 */
+	private static List<FilterDescriptor> getFilterDescriptors(IFilter filter)
+	{
+		List<FilterDescriptor> descriptors = Generics.newArrayList();
+
+		if (filter instanceof FilterDescriptor)
+		{
+			descriptors.add((FilterDescriptor) filter);
+		}
+		else if (filter instanceof CompositeFilter)
+		{
+			for (IFilter child : ((CompositeFilter) filter).getFilters())
+			{
+				if (child instanceof FilterDescriptor)
+				{
+					descriptors.add((FilterDescriptor) child);
+				}
+			}
+		}
+
+		return descriptors;
+	}
+
 	// Factories //
 
 	/**
@@ -180,32 +741,140 @@ public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 		return new PropertyResolverConverter(Application.get().getConverterLocator(), Session.get().getLocale());
 	}
 
+	// Classes //
+
 	/**
-	 * Gets a new JSON object from the bean
-	 *
-	 * @param bean T object
-	 * @return a new JSON object
+	 * Provides the {@link IResponseWriter} of a data-source read<br/>
+	 * The state of the request is applied and the {@link IDataProvider} is queried by the constructor - hence by the request thread - so that the writer only
+	 * holds the rows, groups and aggregates to be serialized, possibly by the executor thread.<br/>
+	 * If the {@link IDataProvider} is an {@link IGroupDataProvider}, the groups and the aggregates requested by the {@link DataQuery} are written as well (the
+	 * rows of a grouped response are always written in the row format)<br/>
+	 * If the {@link IDataProvider} is an {@link ISeekDataProvider}, the rows are retrieved after the seek key, if any, and the seek key of the last row of a
+	 * full page is written
 	 */
-	protected String newJsonRow(T bean)
+	private class DataWriter implements IResponseWriter
 	{
-		JSONObject object = new JSONObject();
-
-		try
+		private final int first;
+		private final boolean columnar;
+		private final List<IColumn> columns;
+		private final long size;
+		private final List<DataGroup<T>> groups;
+		private final Aggregates aggregates;
+		private final List<T> rows;
+		private final boolean more;
+		private final String seekKey;
+
+		/**
+		 * Constructor
+		 *
+		 * @param parameters the {@link IRequestParameters}
+		 * @param apply whether the query is applied to the provider state (see {@link DataProviderBehavior#applyState(IRequestParameters)})
+		 */
+		@SuppressWarnings("unchecked")
+		public DataWriter(IRequestParameters parameters, boolean apply)
 		{
-			for (IColumn column : this.columns.getObject())
+			final DataProviderBehavior<T> behavior = DataProviderBehavior.this;
+
+			this.first = parameters.getParameterValue("skip").toInt(0);
+			this.columnar = behavior.useColumnarFormat();
+			this.columns = new ArrayList<IColumn>(behavior.columns.getObject());
+
+			final int count = parameters.getParameterValue("take").toInt(Short.MAX_VALUE);
+			final String seek = parameters.getParameterValue(SEEK).toOptionalString();
+			final DataQuery query = apply ? behavior.applyState(parameters) : DataProviderBehavior.parse(parameters);
+
+			final IGroupDataProvider<T> grouping = behavior.provider instanceof IGroupDataProvider<?> ? (IGroupDataProvider<T>) behavior.provider : null;
+			final ISeekDataProvider<T> seeking = behavior.provider instanceof ISeekDataProvider<?> ? (ISeekDataProvider<T>) behavior.provider : null;
+			final boolean grouped = grouping != null && !query.getGroups().isEmpty();
+
+			CountMode mode = behavior.getCountMode();
+			mode = grouped && mode == CountMode.HAS_MORE ? CountMode.EXACT : mode;
+
+			final int fetch = mode == CountMode.HAS_MORE ? count + 1 : count; // take+1, to know whether more rows follow
+			final String key = mode == CountMode.CACHED ? behavior.getCountScope() + "|" + behavior.getCountKey(query) : null;
+
+			final long start = System.nanoTime();
+			this.size = behavior.size(query, mode, key, behavior.getCountTimeToLive());
+			this.groups = grouped ? grouping.groups(query, this.first, count) : null;
+			this.aggregates = grouping != null && !query.getAggregates().isEmpty() ? grouping.aggregates(query) : null;
+
+			if (grouped)
 			{
-				if (column instanceof PropertyColumn)
+				this.rows = null;
+				this.more = false;
+				this.seekKey = null;
+			}
+			else
+			{
+				Iterator<? extends T> iterator = seek != null && seeking != null ? seeking.seek(seek, fetch) : behavior.iterator(query, this.first, fetch);
+				this.rows = new ArrayList<T>(Math.min(count, 256));
+
+				while (iterator != null && this.rows.size() < count && iterator.hasNext())
 				{
-					PropertyColumn pc = (PropertyColumn) column;
-					object.put(pc.getField(), pc.getValue(bean));
+					this.rows.add(iterator.next());
 				}
+
+				this.more = this.rows.size() >= count && iterator != null && iterator.hasNext();
+				this.seekKey = seeking != null && !this.rows.isEmpty() && this.rows.size() == count ? seeking.getSeekKey(this.rows.get(count - 1)) : null;
 			}
+
+			CallbackSample.recordProviderTime(start);
 		}
-		catch (JSONException e)
+
+		@Override
+		public void write(Writer writer) throws IOException
 		{
-			throw new ConversionException(e);
-		}
+			final DataProviderBehavior<T> behavior = DataProviderBehavior.this;
+
+			JsonWriter json = new JsonWriter(writer);
+			json.beginObject();
+
+			if (this.size >= 0)
+			{
+				json.property("__count", this.size);
+			}
 
-		return object.toString();
+			if (this.aggregates != null)
+			{
+				json.key("aggregates");
+				this.aggregates.write(json);
+			}
+
+			if (this.groups != null)
+			{
+				json.key("groups").beginArray();
+				CallbackSample.recordRows(behavior.writeGroups(this.groups, this.columns, json));
+				json.endArray();
+			}
+			else if (this.columnar)
+			{
+				behavior.writeColumnar(this.rows.iterator(), this.columns, json);
+			}
+			else
+			{
+				json.key("results").beginArray();
+
+				for (T row : this.rows)
+				{
+					behavior.writeRow(row, this.columns, json);
+				}
+
+				CallbackSample.recordRows(this.rows.size());
+				json.endArray();
+			}
+
+			if (this.seekKey != null)
+			{
+				json.property(SEEK_KEY, this.seekKey);
+			}
+
+			if (this.size < 0 && this.rows != null)
+			{
+				json.property("__count", this.first + this.rows.size() + (this.more ? 1 : 0));
+				json.property("__hasMore", this.more);
+			}
+
+			json.endObject();
+		}
 	}
 }
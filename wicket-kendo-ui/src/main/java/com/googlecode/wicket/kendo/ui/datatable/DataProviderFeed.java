@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.core.util.lang.PropertyResolverConverter;
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.util.ListModel;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.data.IDataFeed;
+import com.googlecode.wicket.jquery.core.resource.DataFeedResource;
+import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
+
+/**
+ * Provides a stateless {@link IDataFeed} serving {@link DataTable} data-sources, to be registered in the {@link DataFeedResource}<br/>
+ * A new {@link IDataProvider} is created - and detached - for each request, so the provider does not need to be thread-safe.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ * @see DataTable#getDataFeedUrl()
+ */
+public abstract class DataProviderFeed<T> implements IDataFeed
+{
+	private final IModel<List<IColumn>> columns;
+
+	/**
+	 * Constructor
+	 *
+	 * @param columns the list of {@link IColumn}
+	 */
+	public DataProviderFeed(final List<IColumn> columns)
+	{
+		this.columns = new ListModel<IColumn>(Args.notNull(columns, "columns"));
+	}
+
+	// Properties //
+
+	/**
+	 * Indicates whether the response should be written in the columnar format (see {@link ColumnarWriter})<br/>
+	 * It should be consistent with {@link DataTable#useColumnarFormat()}
+	 *
+	 * @return false by default
+	 */
+	protected boolean useColumnarFormat()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the strategy of the total row count<br/>
+	 * It should be consistent with {@link DataTable#getCountMode()}. With {@link CountMode#CACHED}, the counts are kept by the application under the session,
+	 * the {@link IDataProvider} class and the argument (see {@link DataProviderBehavior#getCountScope()}).
+	 *
+	 * @return {@link CountMode#EXACT} by default
+	 */
+	protected CountMode getCountMode()
+	{
+		return CountMode.EXACT;
+	}
+
+	// Methods //
+
+	@Override
+	public void write(IRequestParameters parameters, String argument, Writer writer) throws IOException
+	{
+		IDataProvider<T> provider = this.newDataProvider(argument);
+
+		try
+		{
+			this.newDataProviderBehavior(provider, argument).writeResponse(parameters, writer);
+		}
+		finally
+		{
+			provider.detach();
+		}
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link IDataProvider} for the current request
+	 *
+	 * @param argument the argument the token has been signed with (ie: an entity id), or {@code null}
+	 * @return the {@link IDataProvider}
+	 */
+	protected abstract IDataProvider<T> newDataProvider(String argument);
+
+	/**
+	 * Gets a new {@link DataProviderBehavior}, which is used as a response writer only (it is not bound to any component)
+	 *
+	 * @param provider the {@link IDataProvider}
+	 * @param argument the argument the token has been signed with, or {@code null}
+	 * @return the {@link DataProviderBehavior}
+	 */
+	protected DataProviderBehavior<T> newDataProviderBehavior(IDataProvider<T> provider, final String argument)
+	{
+		return new DataProviderBehavior<T>(this.columns, provider) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean useColumnarFormat()
+			{
+				return DataProviderFeed.this.useColumnarFormat();
+			}
+
+			@Override
+			protected CountMode getCountMode()
+			{
+				return DataProviderFeed.this.getCountMode();
+			}
+
+			@Override
+			protected String getCountScope()
+			{
+				return super.getCountScope() + "|" + argument;
+			}
+
+			@Override
+			protected PropertyResolverConverter newPropertyResolverConverter()
+			{
+				// no session lookup, the feed is stateless
+				return new PropertyResolverConverter(Application.get().getConverterLocator(), RequestCycle.get().getRequest().getLocale());
+			}
+		};
+	}
+}
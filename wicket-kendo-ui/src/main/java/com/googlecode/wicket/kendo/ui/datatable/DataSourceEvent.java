@@ -19,7 +19,7 @@ package com.googlecode.wicket.kendo.ui.datatable;
 import org.apache.wicket.ajax.json.JSONObject;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 
 /**
@@ -33,7 +33,7 @@ public class DataSourceEvent extends JQueryEvent
 
 	public DataSourceEvent()
 	{
-		String data = RequestCycleUtils.getQueryParameterValue("data").toString("{}");
+		String data = JQueryEventParameters.get().getString("data", "{}");
 		this.object = new JSONObject(data);
 	}
 
@@ -31,12 +31,15 @@ import org.apache.wicket.markup.html.WebComponent;
 import org.apache.wicket.markup.repeater.data.IDataProvider;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.request.IRequestParameters;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.resource.DataFeedRenewBehavior;
 import com.googlecode.wicket.kendo.ui.KendoBehaviorFactory;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
@@ -46,6 +49,10 @@ import com.googlecode.wicket.kendo.ui.datatable.button.CommandAjaxBehavior.Click
 import com.googlecode.wicket.kendo.ui.datatable.button.CommandButton;
 import com.googlecode.wicket.kendo.ui.datatable.button.ToolbarButton;
 import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
+import com.googlecode.wicket.kendo.ui.datatable.query.IGroupDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IMultiSortDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IQueryDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.ISeekDataProvider;
 
 /**
  * Provides a Kendo UI data-table
@@ -61,6 +68,7 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 
 	private final IDataProvider<T> provider;
 	private AbstractAjaxBehavior providerBehavior;
+	private DataFeedRenewBehavior renewBehavior = null;
 
 	protected final Options options;
 
@@ -285,6 +293,40 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 		return this.rows;
 	}
 
+	/**
+	 * Indicates whether the data-source response should be sent in the columnar format (see {@link ColumnarWriter})<br/>
+	 * The columnar format sends field names once and values as per-column arrays, which reduces the payload size of wide tables.
+	 *
+	 * @return false by default
+	 */
+	protected boolean useColumnarFormat()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the strategy of the total row count (see {@link CountMode})<br/>
+	 * {@link CountMode#HAS_MORE} is intended for endless scrolling ({@code scrollable.endless} option), the pager cannot show the page count.
+	 *
+	 * @return {@link CountMode#EXACT} by default
+	 */
+	protected CountMode getCountMode()
+	{
+		return CountMode.EXACT;
+	}
+
+	/**
+	 * Indicates whether the first page should be rendered into the page, so the widget is bound without any round trip<br/>
+	 * The first page is read with the data-source 'sort', 'filter' and 'group' options, without changing the provider state (see
+	 * {@link DataProviderBehavior#renderInitialResponse(IRequestParameters)}). Subsequent reads are still sent to the data-provider behavior.
+	 *
+	 * @return false by default
+	 */
+	protected boolean useInlineFirstPage()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the read-only {@link List} of {@link IColumn}{@code s}
 	 *
@@ -310,6 +352,29 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 		return this.providerBehavior.getCallbackUrl();
 	}
 
+	/**
+	 * Gets the url of a stateless {@link DataProviderFeed}, which will then be used as the data-source read url instead of the data-provider behavior's url<br/>
+	 * Feeds are not bound to the page so concurrent reads do not wait for the page lock. The feed should use the same columns (and format) as the table.<br/>
+	 * Once the token has expired, a new url is requested through a page-bound {@link DataFeedRenewBehavior}.<br/>
+	 * <br/>
+	 * Usage:
+	 *
+	 * <pre>
+	 * <code>
+	 * protected CharSequence getDataFeedUrl()
+	 * {
+	 *     return JQueryAbstractBehavior.getJQueryLibrarySettings().getDataFeedReference().urlFor("products", null);
+	 * }
+	 * </code>
+	 * </pre>
+	 *
+	 * @return {@code null} by default, meaning the data-provider behavior is used
+	 */
+	protected CharSequence getDataFeedUrl()
+	{
+		return null;
+	}
+
 	/**
 	 * Gets the {@code List} of {@link ToolbarButton}{@code s}
 	 * 
@@ -330,13 +395,29 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 		this.providerBehavior = this.newDataProviderBehavior(this.getModel(), this.getDataProvider());
 		this.add(this.providerBehavior);
 
+		if (this.getDataFeedUrl() != null)
+		{
+			this.renewBehavior = this.newDataFeedRenewBehavior();
+			this.add(this.renewBehavior);
+		}
+
 		this.add(JQueryWidget.newWidgetBehavior(this)); // cannot be in ctor as the markupId may be set manually afterward
 	}
 
 	@Override
 	public void onConfigure(JQueryBehavior behavior)
 	{
-		behavior.setOption("sortable", this.getDataProvider() instanceof ISortStateLocator<?>);
+		IDataProvider<T> provider = this.getDataProvider();
+
+		if (provider instanceof IMultiSortDataProvider<?> || provider instanceof IQueryDataProvider<?>)
+		{
+			behavior.setOption("sortable", new Options("mode", Options.asString("multiple")));
+		}
+		else
+		{
+			behavior.setOption("sortable", provider instanceof ISortStateLocator<?>);
+		}
+
 		behavior.setOption("autoBind", this.getBehaviors(DataBoundBehavior.class).isEmpty()); // false if DataBoundBehavior is added
 	}
 
@@ -438,7 +519,50 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 			@Override
 			protected CharSequence getProviderUrl()
 			{
-				return DataTable.this.getCallbackUrl();
+				CharSequence url = DataTable.this.getDataFeedUrl();
+
+				return url != null ? url : DataTable.this.getCallbackUrl();
+			}
+
+			@Override
+			protected CharSequence getRenewUrl()
+			{
+				return DataTable.this.renewBehavior != null ? DataTable.this.renewBehavior.getCallbackUrl() : null;
+			}
+
+			@Override
+			protected boolean useCache()
+			{
+				return DataTable.this.provider instanceof IVersionProvider;
+			}
+
+			@Override
+			protected CharSequence getInitialData(IRequestParameters parameters)
+			{
+				if (DataTable.this.useInlineFirstPage() && DataTable.this.providerBehavior instanceof DataProviderBehavior<?>)
+				{
+					return ((DataProviderBehavior<?>) DataTable.this.providerBehavior).renderInitialResponse(parameters); // does not change the provider state
+				}
+
+				return null;
+			}
+
+			@Override
+			protected boolean useColumnarFormat()
+			{
+				return DataTable.this.useColumnarFormat();
+			}
+
+			@Override
+			protected boolean useServerGrouping()
+			{
+				return DataTable.this.provider instanceof IGroupDataProvider<?>;
+			}
+
+			@Override
+			protected boolean useKeysetPaging()
+			{
+				return DataTable.this.provider instanceof ISeekDataProvider<?>;
 			}
 
 			@Override
@@ -476,7 +600,26 @@ public class DataTable<T> extends WebComponent implements IGenericComponent<List
 	 */
 	protected AbstractAjaxBehavior newDataProviderBehavior(final IModel<List<IColumn>> columns, final IDataProvider<T> provider)
 	{
-		return new DataProviderBehavior<T>(columns, provider);
+		return new DataProviderBehavior<T>(columns, provider); // reads #useColumnarFormat() and #getCountMode() from the table it is bound to
+	}
+
+	/**
+	 * Gets a new {@link DataFeedRenewBehavior}, which issues a new data feed url once the token of the previous one has expired
+	 *
+	 * @return the {@link DataFeedRenewBehavior}
+	 */
+	protected DataFeedRenewBehavior newDataFeedRenewBehavior()
+	{
+		return new DataFeedRenewBehavior() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected CharSequence getDataFeedUrl()
+			{
+				return DataTable.this.getDataFeedUrl();
+			}
+		};
 	}
 
 	/**
@@ -22,7 +22,10 @@ import java.util.List;
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.util.lang.Args;
 import org.apache.wicket.util.lang.Generics;
 
@@ -44,6 +47,10 @@ import com.googlecode.wicket.kendo.ui.datatable.button.ToolbarButton;
 import com.googlecode.wicket.kendo.ui.datatable.column.CommandColumn;
 import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
 import com.googlecode.wicket.kendo.ui.datatable.column.IdPropertyColumn;
+import com.googlecode.wicket.kendo.ui.datatable.query.IGroupDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.ISeekDataProvider;
+import com.googlecode.wicket.kendo.ui.resource.KendoColumnarResourceReference;
+import com.googlecode.wicket.kendo.ui.resource.KendoKeysetResourceReference;
 
 /**
  * Provides a {@value #METHOD} behavior<br/>
@@ -139,6 +146,22 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		}
 	}
 
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		if (this.useColumnarFormat())
+		{
+			response.render(JavaScriptHeaderItem.forReference(KendoColumnarResourceReference.get()));
+		}
+
+		if (this.useKeysetPaging())
+		{
+			response.render(JavaScriptHeaderItem.forReference(KendoKeysetResourceReference.get()));
+		}
+	}
+
 	// Properties //
 
 	/**
@@ -156,7 +179,19 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 	protected abstract CharSequence getProviderUrl();
 
 	/**
-	 * Indicates whether the read function should use cache
+	 * Gets the url answering a new provider url, if the provider url is a data feed url which token may expire (see {@code DataFeedRenewBehavior})
+	 *
+	 * @return {@code null} by default
+	 */
+	protected CharSequence getRenewUrl()
+	{
+		return null;
+	}
+
+	/**
+	 * Indicates whether the read function should use cache<br/>
+	 * If {@code true}, the browser keeps the responses and revalidates them against the data-provider behavior's validators, so unchanged pages are answered
+	 * with a {@code 304 Not Modified} (see {@code AjaxCallbackBehavior#getVersion(IRequestParameters)})
 	 * 
 	 * @return false by default
 	 * @see <a href="http://docs.telerik.com/kendo-ui/api/javascript/data/datasource#configuration-transport.read.cache">configuration-transport.read.cache</a>
@@ -166,6 +201,39 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		return false;
 	}
 
+	/**
+	 * Indicates whether the data-source response is in the columnar format (see {@link ColumnarWriter})<br/>
+	 * Should be consistent with {@link DataProviderBehavior#useColumnarFormat()}
+	 *
+	 * @return false by default
+	 */
+	protected boolean useColumnarFormat()
+	{
+		return false;
+	}
+
+	/**
+	 * Indicates whether groups and aggregates are computed by the server ({@code serverGrouping} and {@code serverAggregates})<br/>
+	 * Should be true if the data-provider is an {@link IGroupDataProvider}
+	 *
+	 * @return false by default
+	 */
+	protected boolean useServerGrouping()
+	{
+		return false;
+	}
+
+	/**
+	 * Indicates whether the reads of the following pages carry the seek key of the previous page (keyset pagination)<br/>
+	 * Should be true if the data-provider is an {@link ISeekDataProvider}
+	 *
+	 * @return false by default
+	 */
+	protected boolean useKeysetPaging()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the {@code List} of {@link ToolbarButton}{@code s}
 	 * 
@@ -306,6 +374,30 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		return builder.append(" ]").toString();
 	}
 
+	/**
+	 * Gets the initial data, answering the first read without any round trip (see {@link KendoDataSource#getReadCallbackFunction(CharSequence, boolean, CharSequence)})<br/>
+	 * The data should be the response the data-provider behavior would send for the first page; it should be computed without changing the provider state.
+	 *
+	 * @param parameters the request parameters of the first read, built from the data-source options (see {@link KendoDataSource#newFirstPageParameters(long)})
+	 * @return {@code null} by default, meaning that the first read is sent to the server
+	 */
+	protected CharSequence getInitialData(IRequestParameters parameters)
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the initial data, if the data-source options can be evaluated
+	 *
+	 * @return the initial data, or {@code null}
+	 */
+	private CharSequence getInitialData()
+	{
+		IRequestParameters parameters = this.dataSource.newFirstPageParameters(this.getRowCount());
+
+		return parameters != null ? this.getInitialData(parameters) : null;
+	}
+
 	/**
 	 * Gets the 'read' callback function<br/>
 	 * As create, update and destroy need to be supplied as function, we should declare read as a function as well. Weird...
@@ -314,7 +406,14 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 	 */
 	private String getReadCallbackFunction()
 	{
-		return KendoDataSource.getReadCallbackFunction(this.getProviderUrl(), this.useCache());
+		String function = KendoDataSource.getReadCallbackFunction(this.getProviderUrl(), this.useCache(), this.getInitialData(), this.getRenewUrl());
+
+		if (this.useKeysetPaging())
+		{
+			return String.format("KendoKeyset.wrap('%s', %s)", this.dataSource.getName(), function);
+		}
+
+		return function;
 	}
 
 	// Events //
@@ -340,10 +439,16 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 
 		// schema //
 		Options schema = new Options();
-		schema.set("data", Options.asString("results"));
+		schema.set("data", this.useColumnarFormat() ? "function(response) { return KendoColumnar.expand(response); }" : Options.asString("results"));
 		schema.set("total", Options.asString("__count"));
 		schema.set("model", this.newSchemaModelOptions(columns));
 
+		if (this.useServerGrouping())
+		{
+			schema.set("groups", Options.asString("groups"));
+			schema.set("aggregates", Options.asString("aggregates"));
+		}
+
 		// data-source //
 		this.onConfigure(this.dataSource);
 		this.setOption("dataSource", this.dataSource.getName());
@@ -353,6 +458,13 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		this.dataSource.set("serverPaging", true);
 		this.dataSource.set("serverSorting", true);
 		this.dataSource.set("serverFiltering", true);
+
+		if (this.useServerGrouping())
+		{
+			this.dataSource.set("serverGrouping", true);
+			this.dataSource.set("serverAggregates", true);
+		}
+
 		this.dataSource.setTransportRead(this.getReadCallbackFunction());
 		this.dataSource.setTransportCreate(this.onCreateAjaxBehavior.getCallbackFunction());
 		this.dataSource.setTransportUpdate(this.onUpdateAjaxBehavior.getCallbackFunction());
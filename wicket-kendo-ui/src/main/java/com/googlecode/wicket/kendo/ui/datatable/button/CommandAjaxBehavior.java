@@ -19,9 +19,9 @@ package com.googlecode.wicket.kendo.ui.datatable.button;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.datatable.DataTable;
 
 /**
@@ -97,7 +97,7 @@ public class CommandAjaxBehavior extends JQueryAjaxBehavior
 			super();
 
 			this.button = button;
-			this.value = RequestCycleUtils.getQueryParameterValue("value").toString();
+			this.value = JQueryEventParameters.get().getString("value");
 		}
 
 		/**
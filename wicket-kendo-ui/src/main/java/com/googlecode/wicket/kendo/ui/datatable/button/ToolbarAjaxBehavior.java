@@ -24,9 +24,9 @@ import org.apache.wicket.util.lang.Generics;
 import org.apache.wicket.util.string.Strings;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.datatable.DataTable;
 
 /**
@@ -130,7 +130,7 @@ public class ToolbarAjaxBehavior extends JQueryAjaxBehavior
 			this.button = button;
 			this.values = Generics.newArrayList();
 
-			String values = RequestCycleUtils.getQueryParameterValue("values").toString("");
+			String values = JQueryEventParameters.get().getString("values", "");
 
 			if (!Strings.isEmpty(values))
 			{
@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.kendo.ui.datatable.column;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 import java.util.UUID;
 
@@ -191,13 +193,16 @@ public abstract class LazyPropertyColumn extends PropertyColumn
 		}
 
 		@Override
-		protected String getResponse(IRequestParameters parameters)
+		protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 		{
 			final String value = RequestCycleUtils.getQueryParameterValue("id").toString();
 			final Component component = LazyPropertyColumn.this.newLazyComponent(this.newMarkupId(), value);
 			final CharSequence response = ComponentRenderer.renderComponent(component);
 
-			return response != null ? response.toString() : "";
+			if (response != null)
+			{
+				writer.append(response);
+			}
 		}
 
 		/**
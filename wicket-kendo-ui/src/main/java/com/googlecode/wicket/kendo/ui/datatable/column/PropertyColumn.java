@@ -16,11 +16,11 @@
  */
 package com.googlecode.wicket.kendo.ui.datatable.column;
 
-import org.apache.wicket.core.util.lang.PropertyResolver;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
 import org.apache.wicket.model.PropertyModel;
 
+import com.googlecode.wicket.jquery.core.utils.PropertyAccessor;
 import com.googlecode.wicket.kendo.ui.datatable.DataTable;
 import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
 
@@ -119,7 +119,7 @@ public class PropertyColumn extends AbstractColumn implements IExportableColumn
 	 */
 	public Object getValue(Object object)
 	{
-		return PropertyResolver.getValue(this.property, object); // if the object is null, null is returned
+		return PropertyAccessor.getValue(this.property, object); // if the object is null, null is returned
 	}
 
 	// Export //
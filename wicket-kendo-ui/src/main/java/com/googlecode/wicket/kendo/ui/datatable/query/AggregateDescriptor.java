@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides an aggregate of a {@link DataQuery}, ie: {@code sum(field)}
+ *
+ * @author agent
+ */
+public class AggregateDescriptor implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String field;
+	private final AggregateFunction function;
+
+	/**
+	 * Constructor
+	 *
+	 * @param field the bean property (unescaped)
+	 * @param function the {@link AggregateFunction}
+	 */
+	public AggregateDescriptor(String field, AggregateFunction function)
+	{
+		this.field = Args.notNull(field, "field");
+		this.function = Args.notNull(function, "function");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the bean property
+	 *
+	 * @return the property (ie: "mybean.myproperty")
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the {@link AggregateFunction}
+	 *
+	 * @return the {@link AggregateFunction}
+	 */
+	public AggregateFunction getFunction()
+	{
+		return this.function;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s(%s)", this.function.getName(), this.field);
+	}
+}
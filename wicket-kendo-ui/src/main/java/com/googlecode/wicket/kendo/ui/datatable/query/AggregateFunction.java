@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+/**
+ * Provides the Kendo UI aggregate functions
+ *
+ * @author agent
+ */
+public enum AggregateFunction
+{
+	COUNT("count"), //
+	SUM("sum"), //
+	AVERAGE("average"), //
+	MIN("min"), //
+	MAX("max");
+
+	private final String name;
+
+	private AggregateFunction(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Gets the Kendo UI name of the aggregate function
+	 *
+	 * @return the name (ie: "sum")
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * Gets the {@link AggregateFunction} corresponding to the Kendo UI name
+	 *
+	 * @param name the aggregate function name
+	 * @return the {@link AggregateFunction}, or {@code null} if the name is not a known aggregate function
+	 */
+	public static AggregateFunction of(String name)
+	{
+		for (AggregateFunction function : values())
+		{
+			if (function.name.equalsIgnoreCase(name))
+			{
+				return function;
+			}
+		}
+
+		return null;
+	}
+}
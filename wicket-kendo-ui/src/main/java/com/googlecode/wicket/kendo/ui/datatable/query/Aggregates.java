@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.wicket.util.io.IClusterable;
+
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
+
+/**
+ * Provides the computed values of aggregates, by field and by {@link AggregateFunction}<br/>
+ * It is written in the Kendo UI schema format, ie: <code>{ "price": { "sum": 1024, "average": 12.8 } }</code>
+ *
+ * @author agent
+ */
+public class Aggregates implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final Map<String, Map<AggregateFunction, Object>> values = new LinkedHashMap<String, Map<AggregateFunction, Object>>();
+
+	// Properties //
+
+	/**
+	 * Gets the computed value of an aggregate
+	 *
+	 * @param field the bean property
+	 * @param function the {@link AggregateFunction}
+	 * @return the value, or {@code null}
+	 */
+	public Object get(String field, AggregateFunction function)
+	{
+		Map<AggregateFunction, Object> map = this.values.get(field);
+
+		return map != null ? map.get(function) : null;
+	}
+
+	/**
+	 * Indicates whether no aggregate has been computed
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty()
+	{
+		return this.values.isEmpty();
+	}
+
+	// Methods //
+
+	/**
+	 * Puts the computed value of an aggregate
+	 *
+	 * @param field the bean property
+	 * @param function the {@link AggregateFunction}
+	 * @param value the value
+	 * @return this, for chaining
+	 */
+	public Aggregates put(String field, AggregateFunction function, Object value)
+	{
+		Map<AggregateFunction, Object> map = this.values.get(field);
+
+		if (map == null)
+		{
+			map = new LinkedHashMap<AggregateFunction, Object>();
+			this.values.put(field, map);
+		}
+
+		map.put(function, value);
+
+		return this;
+	}
+
+	/**
+	 * Writes the aggregates, as a JSON object, to the supplied {@link JsonWriter}
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void write(JsonWriter writer) throws IOException
+	{
+		writer.beginObject();
+
+		for (Map.Entry<String, Map<AggregateFunction, Object>> entry : this.values.entrySet())
+		{
+			writer.key(PropertyUtils.escape(entry.getKey())).beginObject();
+
+			for (Map.Entry<AggregateFunction, Object> value : entry.getValue().entrySet())
+			{
+				writer.property(value.getKey().getName(), value.getValue());
+			}
+
+			writer.endObject();
+		}
+
+		writer.endObject();
+	}
+}
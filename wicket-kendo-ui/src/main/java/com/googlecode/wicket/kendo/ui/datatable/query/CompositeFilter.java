@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a group of {@link IFilter}{@code s} of a {@link DataQuery}, combined by a {@link Logic}
+ *
+ * @author agent
+ */
+public class CompositeFilter implements IFilter
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Provides the logic combining the filters of a {@link CompositeFilter}
+	 */
+	public enum Logic
+	{
+		AND, OR;
+
+		/**
+		 * Gets the {@link Logic} corresponding to the Kendo UI name
+		 *
+		 * @param name the logic name ("and" or "or")
+		 * @return the {@link Logic}, {@link #AND} by default
+		 */
+		public static Logic of(String name)
+		{
+			return "or".equalsIgnoreCase(name) ? OR : AND;
+		}
+	}
+
+	private final Logic logic;
+	private final List<IFilter> filters;
+
+	/**
+	 * Constructor
+	 *
+	 * @param logic the {@link Logic}
+	 * @param filters the list of {@link IFilter}
+	 */
+	public CompositeFilter(Logic logic, List<IFilter> filters)
+	{
+		this.logic = Args.notNull(logic, "logic");
+		this.filters = Collections.unmodifiableList(Args.notNull(filters, "filters"));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link Logic}
+	 *
+	 * @return the {@link Logic}
+	 */
+	public Logic getLogic()
+	{
+		return this.logic;
+	}
+
+	/**
+	 * Gets the (unmodifiable) list of {@link IFilter}
+	 *
+	 * @return the list of {@link IFilter}
+	 */
+	public List<IFilter> getFilters()
+	{
+		return this.filters;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s %s", this.logic, this.filters);
+	}
+}
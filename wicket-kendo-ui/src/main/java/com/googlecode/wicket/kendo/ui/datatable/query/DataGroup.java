@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Generics;
+
+/**
+ * Provides a group of rows, as computed by an {@link IGroupDataProvider}<br/>
+ * A group contains either rows (for the last grouping level) or subgroups.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ */
+public class DataGroup<T>
+{
+	private final String field;
+	private final Object value;
+	private final Aggregates aggregates = new Aggregates();
+	private final List<DataGroup<T>> groups = Generics.newArrayList();
+	private final List<T> items = Generics.newArrayList();
+
+	/**
+	 * Constructor
+	 *
+	 * @param field the bean property the rows are grouped by
+	 * @param value the value shared by the rows of the group
+	 */
+	public DataGroup(String field, Object value)
+	{
+		this.field = Args.notNull(field, "field");
+		this.value = value;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the bean property the rows are grouped by
+	 *
+	 * @return the property (ie: "mybean.myproperty")
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the value shared by the rows of the group
+	 *
+	 * @return the value
+	 */
+	public Object getValue()
+	{
+		return this.value;
+	}
+
+	/**
+	 * Gets the {@link Aggregates} of the group
+	 *
+	 * @return the {@link Aggregates}
+	 */
+	public Aggregates getAggregates()
+	{
+		return this.aggregates;
+	}
+
+	/**
+	 * Indicates whether the group contains subgroups
+	 *
+	 * @return true if the group contains subgroups
+	 */
+	public boolean hasSubgroups()
+	{
+		return !this.groups.isEmpty();
+	}
+
+	/**
+	 * Gets the (unmodifiable) list of subgroups
+	 *
+	 * @return the list of {@link DataGroup}
+	 */
+	public List<DataGroup<T>> getGroups()
+	{
+		return Collections.unmodifiableList(this.groups);
+	}
+
+	/**
+	 * Gets the (unmodifiable) list of rows
+	 *
+	 * @return the list of rows
+	 */
+	public List<T> getItems()
+	{
+		return Collections.unmodifiableList(this.items);
+	}
+
+	// Methods //
+
+	/**
+	 * Adds a subgroup
+	 *
+	 * @param group the {@link DataGroup}
+	 * @return this, for chaining
+	 */
+	public DataGroup<T> add(DataGroup<T> group)
+	{
+		this.groups.add(Args.notNull(group, "group"));
+
+		return this;
+	}
+
+	/**
+	 * Adds a row
+	 *
+	 * @param item the row
+	 * @return this, for chaining
+	 */
+	public DataGroup<T> add(T item)
+	{
+		this.items.add(item);
+
+		return this;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s = %s", this.field, this.value);
+	}
+}
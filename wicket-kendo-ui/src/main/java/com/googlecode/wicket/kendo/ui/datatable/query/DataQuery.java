@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.wicket.extensions.markup.html.repeater.data.sort.SortOrder;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Generics;
+
+import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
+
+/**
+ * Provides the structured filter, sort, group and aggregate query of a data-source read<br/>
+ * <br/>
+ * The query is parsed once from the request parameters, as sent by the Kendo UI data-source (ie: {@code filter[logic]=and&filter[filters][0][field]=name&...})<br/>
+ * The query fails closed: an unknown filter operator, filter logic or aggregate function is rejected rather than skipped, as skipping a filter would widen
+ * the result of an {@code and} group
+ *
+ * @author agent
+ * @see IQueryDataProvider
+ */
+public class DataQuery implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final String FILTER = "filter";
+	private static final String SORT = "sort";
+	private static final String GROUP = "group";
+	private static final String AGGREGATE = "aggregate";
+
+	private final IFilter filter;
+	private final List<SortDescriptor> sorts;
+	private final List<GroupDescriptor> groups;
+	private final List<AggregateDescriptor> aggregates;
+
+	/**
+	 * Constructor
+	 *
+	 * @param filter the root {@link IFilter}, or {@code null}
+	 * @param sorts the ordered list of {@link SortDescriptor}
+	 */
+	public DataQuery(IFilter filter, List<SortDescriptor> sorts)
+	{
+		this(filter, sorts, Collections.<GroupDescriptor> emptyList(), Collections.<AggregateDescriptor> emptyList());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param filter the root {@link IFilter}, or {@code null}
+	 * @param sorts the ordered list of {@link SortDescriptor}
+	 * @param groups the ordered list of {@link GroupDescriptor}
+	 * @param aggregates the list of {@link AggregateDescriptor}
+	 */
+	public DataQuery(IFilter filter, List<SortDescriptor> sorts, List<GroupDescriptor> groups, List<AggregateDescriptor> aggregates)
+	{
+		this.filter = filter;
+		this.sorts = Collections.unmodifiableList(Args.notNull(sorts, "sorts"));
+		this.groups = Collections.unmodifiableList(Args.notNull(groups, "groups"));
+		this.aggregates = Collections.unmodifiableList(Args.notNull(aggregates, "aggregates"));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the root {@link IFilter}
+	 *
+	 * @return the {@link IFilter} (most likely a {@link CompositeFilter}), or {@code null} if the read is not filtered
+	 */
+	public IFilter getFilter()
+	{
+		return this.filter;
+	}
+
+	/**
+	 * Gets the (unmodifiable) ordered list of {@link SortDescriptor}
+	 *
+	 * @return the list of {@link SortDescriptor}, possibly empty
+	 */
+	public List<SortDescriptor> getSorts()
+	{
+		return this.sorts;
+	}
+
+	/**
+	 * Gets the (unmodifiable) ordered list of {@link GroupDescriptor}, the first one being the top-level group
+	 *
+	 * @return the list of {@link GroupDescriptor}, possibly empty
+	 */
+	public List<GroupDescriptor> getGroups()
+	{
+		return this.groups;
+	}
+
+	/**
+	 * Gets the (unmodifiable) list of {@link AggregateDescriptor} to compute over all rows
+	 *
+	 * @return the list of {@link AggregateDescriptor}, possibly empty
+	 */
+	public List<AggregateDescriptor> getAggregates()
+	{
+		return this.aggregates;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("filter: %s, sort: %s, group: %s, aggregate: %s", this.filter, this.sorts, this.groups, this.aggregates);
+	}
+
+	// Factories //
+
+	/**
+	 * Parses the {@link DataQuery} from the request parameters
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return a new {@link DataQuery}
+	 * @throws IllegalArgumentException if a filter operator, a filter logic or an aggregate function is unknown
+	 */
+	public static DataQuery parse(IRequestParameters parameters)
+	{
+		Map<String, Object> tree = Generics.newHashMap();
+
+		for (String name : parameters.getParameterNames())
+		{
+			if (name.startsWith(FILTER + "[") || name.startsWith(SORT + "[") || name.startsWith(GROUP + "[") || name.startsWith(AGGREGATE + "["))
+			{
+				put(tree, name, parameters.getParameterValue(name).toOptionalString());
+			}
+		}
+
+		return new DataQuery(toFilter(tree.get(FILTER)), toSorts(tree.get(SORT)), toGroups(tree.get(GROUP)), toAggregates(tree.get(AGGREGATE)));
+	}
+
+	// Helpers //
+
+	/**
+	 * Puts the parameter value into the tree, at the path denoted by its name (ie: {@code filter[filters][0][field]})
+	 *
+	 * @param tree the parameters tree
+	 * @param name the parameter name
+	 * @param value the parameter value
+	 */
+	@SuppressWarnings("unchecked")
+	private static void put(Map<String, Object> tree, String name, String value)
+	{
+		Map<String, Object> node = tree;
+		String key = name.substring(0, name.indexOf('['));
+
+		for (int i = key.length(); i < name.length();)
+		{
+			int end = name.indexOf(']', i);
+
+			if (name.charAt(i) != '[' || end < 0)
+			{
+				return; // malformed
+			}
+
+			Object child = node.get(key);
+
+			if (child == null)
+			{
+				child = Generics.newHashMap();
+				node.put(key, child);
+			}
+			else if (!(child instanceof Map))
+			{
+				return; // conflicting path
+			}
+
+			node = (Map<String, Object>) child;
+			key = name.substring(i + 1, end);
+			i = end + 1;
+		}
+
+		node.put(key, value);
+	}
+
+	/**
+	 * Gets the value of a tree leaf
+	 *
+	 * @param node the tree node
+	 * @return the value, or {@code null} if the node is not a leaf
+	 */
+	private static String string(Object node)
+	{
+		return node instanceof String ? (String) node : null;
+	}
+
+	/**
+	 * Gets the child nodes having a numeric key, in index order
+	 *
+	 * @param node the tree node
+	 * @return the list of child nodes
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> items(Object node)
+	{
+		Map<Integer, Map<String, Object>> items = new TreeMap<Integer, Map<String, Object>>();
+
+		if (node instanceof Map)
+		{
+			for (Map.Entry<String, Object> entry : ((Map<String, Object>) node).entrySet())
+			{
+				if (entry.getValue() instanceof Map)
+				{
+					try
+					{
+						items.put(Integer.valueOf(entry.getKey()), (Map<String, Object>) entry.getValue());
+					}
+					catch (NumberFormatException e)
+					{
+						// not an item
+					}
+				}
+			}
+		}
+
+		return new ArrayList<Map<String, Object>>(items.values());
+	}
+
+	/**
+	 * Gets the {@link IFilter} of a tree node
+	 *
+	 * @param node the tree node
+	 * @return the {@link IFilter}, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	private static IFilter toFilter(Object node)
+	{
+		if (!(node instanceof Map))
+		{
+			return null;
+		}
+
+		Map<String, Object> map = (Map<String, Object>) node;
+
+		if (map.get("filters") != null)
+		{
+			List<IFilter> filters = Generics.newArrayList();
+
+			for (Map<String, Object> item : items(map.get("filters")))
+			{
+				IFilter filter = toFilter(item);
+
+				if (filter != null)
+				{
+					filters.add(filter);
+				}
+			}
+
+			String logic = string(map.get("logic"));
+
+			if (logic != null && !"and".equalsIgnoreCase(logic) && !"or".equalsIgnoreCase(logic))
+			{
+				throw new IllegalArgumentException(String.format("Unknown filter logic '%s'", logic));
+			}
+
+			return filters.isEmpty() ? null : new CompositeFilter(CompositeFilter.Logic.of(logic), filters);
+		}
+
+		Object field = map.get("field");
+
+		if (field instanceof String)
+		{
+			String operator = string(map.get("operator"));
+			FilterOperator filterOperator = FilterOperator.of(operator);
+
+			if (filterOperator == null)
+			{
+				throw new IllegalArgumentException(String.format("Unknown filter operator '%s' on '%s'", operator, field));
+			}
+
+			return new FilterDescriptor(PropertyUtils.unescape((String) field), filterOperator, string(map.get("value")), !"false".equals(map.get("ignoreCase")));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the list of {@link SortDescriptor} of a tree node
+	 *
+	 * @param node the tree node
+	 * @return the list of {@link SortDescriptor}
+	 */
+	private static List<SortDescriptor> toSorts(Object node)
+	{
+		List<SortDescriptor> sorts = Generics.newArrayList();
+
+		for (Map<String, Object> item : items(node))
+		{
+			Object field = item.get("field");
+
+			if (field instanceof String)
+			{
+				sorts.add(new SortDescriptor(PropertyUtils.unescape((String) field), toSortOrder(item.get("dir"))));
+			}
+		}
+
+		return sorts;
+	}
+
+	/**
+	 * Gets the list of {@link GroupDescriptor} of a tree node
+	 *
+	 * @param node the tree node
+	 * @return the list of {@link GroupDescriptor}
+	 */
+	private static List<GroupDescriptor> toGroups(Object node)
+	{
+		List<GroupDescriptor> groups = Generics.newArrayList();
+
+		for (Map<String, Object> item : items(node))
+		{
+			Object field = item.get("field");
+
+			if (field instanceof String)
+			{
+				SortOrder order = toSortOrder(item.get("dir"));
+				groups.add(new GroupDescriptor(PropertyUtils.unescape((String) field), order == SortOrder.NONE ? SortOrder.ASCENDING : order, toAggregates(item.get("aggregates"))));
+			}
+		}
+
+		return groups;
+	}
+
+	/**
+	 * Gets the list of {@link AggregateDescriptor} of a tree node
+	 *
+	 * @param node the tree node
+	 * @return the list of {@link AggregateDescriptor}
+	 */
+	private static List<AggregateDescriptor> toAggregates(Object node)
+	{
+		List<AggregateDescriptor> aggregates = Generics.newArrayList();
+
+		for (Map<String, Object> item : items(node))
+		{
+			Object field = item.get("field");
+			Object aggregate = item.get("aggregate");
+
+			if (field instanceof String && aggregate instanceof String)
+			{
+				AggregateFunction function = AggregateFunction.of((String) aggregate);
+
+				if (function == null)
+				{
+					throw new IllegalArgumentException(String.format("Unknown aggregate function '%s' on '%s'", aggregate, field));
+				}
+
+				aggregates.add(new AggregateDescriptor(PropertyUtils.unescape((String) field), function));
+			}
+		}
+
+		return aggregates;
+	}
+
+	/**
+	 * Gets the {@link SortOrder} of a direction node
+	 *
+	 * @param node the tree node ("asc", "desc" or {@code null})
+	 * @return the {@link SortOrder}
+	 */
+	private static SortOrder toSortOrder(Object node)
+	{
+		if (node == null)
+		{
+			return SortOrder.NONE;
+		}
+
+		return "asc".equals(node) ? SortOrder.ASCENDING : SortOrder.DESCENDING;
+	}
+}
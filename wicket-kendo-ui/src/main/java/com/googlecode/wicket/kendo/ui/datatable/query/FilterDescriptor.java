@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Locale;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a filter predicate of a {@link DataQuery}, ie: {@code field operator value}
+ *
+ * @author agent
+ */
+public class FilterDescriptor implements IFilter
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String field;
+	private final FilterOperator operator;
+	private final String value;
+	private final boolean ignoreCase;
+
+	/**
+	 * Constructor
+	 *
+	 * @param field the bean property (unescaped)
+	 * @param operator the {@link FilterOperator}
+	 * @param value the raw value, as sent by the data-source (can be {@code null})
+	 * @param ignoreCase whether string comparisons should ignore case
+	 */
+	public FilterDescriptor(String field, FilterOperator operator, String value, boolean ignoreCase)
+	{
+		this.field = Args.notNull(field, "field");
+		this.operator = Args.notNull(operator, "operator");
+		this.value = value;
+		this.ignoreCase = ignoreCase;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the bean property
+	 *
+	 * @return the property (ie: "mybean.myproperty")
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the {@link FilterOperator}
+	 *
+	 * @return the {@link FilterOperator}
+	 */
+	public FilterOperator getOperator()
+	{
+		return this.operator;
+	}
+
+	/**
+	 * Gets the raw value, as sent by the data-source
+	 *
+	 * @return the value, or {@code null}
+	 */
+	public String getValue()
+	{
+		return this.value;
+	}
+
+	/**
+	 * Gets the value converted to the supplied type, using the application's converter locator
+	 *
+	 * @param <C> the type of the value
+	 * @param type the {@link Class} of the value
+	 * @param locale the {@link Locale} used for the conversion
+	 * @return the converted value, or {@code null}
+	 */
+	public <C> C getValue(Class<C> type, Locale locale)
+	{
+		if (this.value == null)
+		{
+			return null;
+		}
+
+		return Application.get().getConverterLocator().getConverter(type).convertToObject(this.value, locale);
+	}
+
+	/**
+	 * Indicates whether string comparisons should ignore case
+	 *
+	 * @return true by default
+	 */
+	public boolean isIgnoreCase()
+	{
+		return this.ignoreCase;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s %s %s", this.field, this.operator.getName(), this.value);
+	}
+}
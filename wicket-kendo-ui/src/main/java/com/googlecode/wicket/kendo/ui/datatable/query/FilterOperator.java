@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+/**
+ * Provides the Kendo UI filter operators
+ *
+ * @author agent
+ */
+public enum FilterOperator
+{
+	EQ("eq"), //
+	NEQ("neq"), //
+	LT("lt"), //
+	LTE("lte"), //
+	GT("gt"), //
+	GTE("gte"), //
+	STARTSWITH("startswith"), //
+	ENDSWITH("endswith"), //
+	CONTAINS("contains"), //
+	DOESNOTCONTAIN("doesnotcontain"), //
+	ISNULL("isnull"), //
+	ISNOTNULL("isnotnull"), //
+	ISEMPTY("isempty"), //
+	ISNOTEMPTY("isnotempty"), //
+	ISNULLOREMPTY("isnullorempty"), //
+	ISNOTNULLOREMPTY("isnotnullorempty");
+
+	private final String name;
+
+	private FilterOperator(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Gets the Kendo UI name of the operator
+	 *
+	 * @return the name (ie: "startswith")
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * Indicates whether the operator is unary (ie: does not take any value)
+	 *
+	 * @return true if unary
+	 */
+	public boolean isUnary()
+	{
+		return this == ISNULL || this == ISNOTNULL || this == ISEMPTY || this == ISNOTEMPTY || this == ISNULLOREMPTY || this == ISNOTNULLOREMPTY;
+	}
+
+	/**
+	 * Gets the {@link FilterOperator} corresponding to the Kendo UI name<br/>
+	 * Aliases ("==", "ne", "less", "greaterthan", etc.) are not supported, the Kendo UI data-source normalizes them before sending the request
+	 *
+	 * @param name the operator name
+	 * @return the {@link FilterOperator}, {@link #EQ} if the name is {@code null} (the data-source default), or {@code null} if the name is not a known operator
+	 */
+	public static FilterOperator of(String name)
+	{
+		if (name == null)
+		{
+			return EQ;
+		}
+
+		for (FilterOperator operator : values())
+		{
+			if (operator.name.equalsIgnoreCase(name))
+			{
+				return operator;
+			}
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.extensions.markup.html.repeater.data.sort.SortOrder;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a grouping key of a {@link DataQuery}, with the aggregates to compute for each group
+ *
+ * @author agent
+ */
+public class GroupDescriptor implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String field;
+	private final SortOrder order;
+	private final List<AggregateDescriptor> aggregates;
+
+	/**
+	 * Constructor
+	 *
+	 * @param field the bean property (unescaped)
+	 * @param order the {@link SortOrder} of the groups
+	 * @param aggregates the list of {@link AggregateDescriptor}
+	 */
+	public GroupDescriptor(String field, SortOrder order, List<AggregateDescriptor> aggregates)
+	{
+		this.field = Args.notNull(field, "field");
+		this.order = Args.notNull(order, "order");
+		this.aggregates = Collections.unmodifiableList(Args.notNull(aggregates, "aggregates"));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the bean property
+	 *
+	 * @return the property (ie: "mybean.myproperty")
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the {@link SortOrder} of the groups
+	 *
+	 * @return the {@link SortOrder}
+	 */
+	public SortOrder getOrder()
+	{
+		return this.order;
+	}
+
+	/**
+	 * Gets the (unmodifiable) list of {@link AggregateDescriptor} to compute for each group
+	 *
+	 * @return the list of {@link AggregateDescriptor}, possibly empty
+	 */
+	public List<AggregateDescriptor> getAggregates()
+	{
+		return this.aggregates;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s %s %s", this.field, this.order, this.aggregates);
+	}
+}
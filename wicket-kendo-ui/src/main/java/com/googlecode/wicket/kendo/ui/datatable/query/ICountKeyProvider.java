@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.CountMode;
+
+/**
+ * Provides an {@link IDataProvider} supplying the key under which its count is cached
+ *
+ * @author agent
+ * @see CountMode#CACHED
+ */
+public interface ICountKeyProvider
+{
+	/**
+	 * Gets the key of the count, for the current filter state<br/>
+	 * The key should reflect every state the {@link IDataProvider#size()} depends on, including the server-side one (ie: the current user, a tenant, etc.)
+	 *
+	 * @return the key
+	 */
+	String getCountKey();
+}
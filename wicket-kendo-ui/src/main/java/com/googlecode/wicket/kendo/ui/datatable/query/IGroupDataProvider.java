@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.List;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+
+/**
+ * Provides an {@link IDataProvider} that computes groups and aggregates where the data lives (ie: using SQL {@code GROUP BY} clauses)<br/>
+ * The {@link DataTable} data-source is then configured with {@code serverGrouping} and {@code serverAggregates}.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ */
+public interface IGroupDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Gets the groups of the page<br/>
+	 * The groups are nested according to {@link DataQuery#getGroups()}, and contain the rows of the page only: {@code first} and {@code count} apply to rows,
+	 * in the group order. Each group should hold the aggregates requested by its {@link GroupDescriptor}, computed over the whole group.
+	 *
+	 * @param query the {@link DataQuery}, having at least one {@link GroupDescriptor}
+	 * @param first the first row index
+	 * @param count the number of rows
+	 * @return the list of top-level {@link DataGroup}
+	 */
+	List<DataGroup<T>> groups(DataQuery query, long first, long count);
+
+	/**
+	 * Gets the aggregates over all the (filtered) rows, as requested by {@link DataQuery#getAggregates()}
+	 *
+	 * @param query the {@link DataQuery}, having at least one {@link AggregateDescriptor}
+	 * @return the {@link Aggregates}
+	 */
+	Aggregates aggregates(DataQuery query);
+}
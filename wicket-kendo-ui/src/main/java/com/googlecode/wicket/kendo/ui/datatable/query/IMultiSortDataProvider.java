@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.List;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+
+/**
+ * Provides an {@link IDataProvider} that is sorted by an ordered list of sort keys<br/>
+ * The {@link DataTable} is then sortable on multiple columns ({@code sortable.mode = "multiple"})
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ * @see SortableListDataProvider
+ */
+public interface IMultiSortDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Sets the sort keys of the current read, before {@link #size()} and {@link #iterator(long, long)} are called
+	 *
+	 * @param keys the ordered list of {@link SortDescriptor}, the first one being the primary key. The list is empty if the read is not sorted
+	 */
+	void setSortKeys(List<SortDescriptor> keys);
+}
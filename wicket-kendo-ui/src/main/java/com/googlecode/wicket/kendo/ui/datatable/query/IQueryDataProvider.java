@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Iterator;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+/**
+ * Provides an {@link IDataProvider} that receives the structured {@link DataQuery} of each data-source read<br/>
+ * The query is supplied to {@link #size(DataQuery)} and {@link #iterator(DataQuery, long, long)}, so the provider can translate it into its own predicates (ie:
+ * a SQL {@code WHERE} / {@code ORDER BY} clause) without holding any per-read state. {@link #size()} and {@link #iterator(long, long)} are still used by
+ * components that do not supply any query.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ */
+public interface IQueryDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Gets the total number of rows matching the query
+	 *
+	 * @param query the {@link DataQuery}, never {@code null}
+	 * @return the number of rows
+	 */
+	long size(DataQuery query);
+
+	/**
+	 * Gets an iterator for the rows matching the query, in the query sort order
+	 *
+	 * @param query the {@link DataQuery}, never {@code null}
+	 * @param first the index of the first row
+	 * @param count the max number of rows
+	 * @return the {@link Iterator}
+	 */
+	Iterator<? extends T> iterator(DataQuery query, long first, long count);
+}
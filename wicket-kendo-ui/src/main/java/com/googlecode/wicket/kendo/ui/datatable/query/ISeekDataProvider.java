@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Iterator;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+
+/**
+ * Provides an {@link IDataProvider} supporting keyset (seek) pagination<br/>
+ * The seek key of the last row of a page is sent to the browser, and sent back by the read of the following page. The rows are then retrieved after that key
+ * (ie: {@code WHERE (date, id) > (?, ?) ORDER BY date, id LIMIT ?}), instead of being skipped (ie: {@code OFFSET ?}), so deep pages are retrieved in constant
+ * time.<br/>
+ * <br/>
+ * Reads of the {@link DataTable} that are not sequential (ie: a jump to an arbitrary page) are still served by {@link #iterator(long, long)}. Kendo UI endless
+ * and virtual scrolling ({@code scrollable.endless} and {@code scrollable.virtual} options) issue sequential reads, so they benefit from the keyset as well.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ */
+public interface ISeekDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Gets the seek key of a row<br/>
+	 * The key should contain the values of the current sort keys, plus a unique tie-breaker (ie: the id), encoded the way {@link #seek(String, long)} expects.
+	 *
+	 * @param object the row
+	 * @return the seek key
+	 */
+	String getSeekKey(T object);
+
+	/**
+	 * Gets an iterator for the rows following the row having the supplied seek key, in the current sort order<br/>
+	 * <b>Warning:</b> the key comes from the browser, it should be validated and bound as a parameter, never concatenated to a query.
+	 *
+	 * @param key the seek key, as returned by {@link #getSeekKey(Object)}
+	 * @param count the number of rows
+	 * @return the {@link Iterator}
+	 */
+	Iterator<? extends T> seek(String key, long count);
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.wicket.core.util.lang.PropertyResolver;
+import org.apache.wicket.extensions.markup.html.repeater.data.sort.SortOrder;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a {@link Comparator} chaining an ordered list of sort keys: beans are compared on the first key, then on the next one if equal, and so on<br/>
+ * Property values are resolved using {@link PropertyResolver}; {@link Comparable} values are compared in their natural order, others by their string
+ * representation. {@code null} values come first.
+ *
+ * @param <T> the type of the bean
+ * @author agent
+ */
+public class SortKeyComparator<T> implements Comparator<T>, IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final List<SortDescriptor> keys;
+
+	/**
+	 * Constructor
+	 *
+	 * @param keys the ordered list of {@link SortDescriptor}
+	 */
+	public SortKeyComparator(List<SortDescriptor> keys)
+	{
+		this.keys = Args.notNull(keys, "keys");
+	}
+
+	// Methods //
+
+	@Override
+	public int compare(T bean1, T bean2)
+	{
+		for (SortDescriptor key : this.keys)
+		{
+			if (key.getOrder() != SortOrder.NONE)
+			{
+				int result = this.compare(key, this.getValue(bean1, key.getField()), this.getValue(bean2, key.getField()));
+
+				if (result != 0)
+				{
+					return key.getOrder() == SortOrder.ASCENDING ? result : -result;
+				}
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Gets the property value of the bean
+	 *
+	 * @param bean the bean
+	 * @param field the property (ie: "mybean.myproperty")
+	 * @return the value
+	 */
+	protected Object getValue(T bean, String field)
+	{
+		return PropertyResolver.getValue(field, bean);
+	}
+
+	/**
+	 * Compares two property values, in ascending order
+	 *
+	 * @param key the {@link SortDescriptor} being compared
+	 * @param value1 the first value, or {@code null}
+	 * @param value2 the second value, or {@code null}
+	 * @return a negative integer, zero, or a positive integer as the first value is less than, equal to, or greater than the second
+	 */
+	@SuppressWarnings("unchecked")
+	protected int compare(SortDescriptor key, Object value1, Object value2)
+	{
+		if (value1 == value2)
+		{
+			return 0;
+		}
+
+		if (value1 == null)
+		{
+			return -1;
+		}
+
+		if (value2 == null)
+		{
+			return 1;
+		}
+
+		if (value1 instanceof Comparable && value1.getClass().isInstance(value2))
+		{
+			return ((Comparable<Object>) value1).compareTo(value2);
+		}
+
+		return value1.toString().compareTo(value2.toString());
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides an in-memory {@link IMultiSortDataProvider}, backed by a {@link List}<br/>
+ * The list is sorted server-side, on all sort keys, using a {@link SortKeyComparator} (see {@link #newComparator(List)})
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ */
+public class SortableListDataProvider<T extends Serializable> implements IMultiSortDataProvider<T>
+{
+	private static final long serialVersionUID = 1L;
+
+	private final List<T> list;
+	private List<SortDescriptor> keys = Collections.emptyList();
+
+	/**
+	 * Constructor
+	 *
+	 * @param list the {@link List}
+	 */
+	public SortableListDataProvider(List<T> list)
+	{
+		this.list = Args.notNull(list, "list");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the backing {@link List}
+	 *
+	 * @return the {@link List}
+	 */
+	protected List<T> getData()
+	{
+		return this.list;
+	}
+
+	/**
+	 * Gets the sort keys of the current read
+	 *
+	 * @return the ordered list of {@link SortDescriptor}
+	 */
+	public List<SortDescriptor> getSortKeys()
+	{
+		return this.keys;
+	}
+
+	@Override
+	public void setSortKeys(List<SortDescriptor> keys)
+	{
+		this.keys = Args.notNull(keys, "keys");
+	}
+
+	// Methods //
+
+	@Override
+	public Iterator<? extends T> iterator(long first, long count)
+	{
+		List<T> data = this.getData();
+
+		if (!this.keys.isEmpty())
+		{
+			data = new ArrayList<T>(data); // the backing list is left untouched
+			Collections.sort(data, this.newComparator(this.keys));
+		}
+
+		int from = (int) Math.min(first, data.size());
+		int to = (int) Math.min(first + count, data.size());
+
+		return data.subList(from, to).iterator();
+	}
+
+	@Override
+	public long size()
+	{
+		return this.getData().size();
+	}
+
+	@Override
+	public IModel<T> model(T object)
+	{
+		return Model.of(object);
+	}
+
+	@Override
+	public void detach()
+	{
+		// noop
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link Comparator} for the supplied sort keys
+	 *
+	 * @param keys the ordered list of {@link SortDescriptor}
+	 * @return a new {@link SortKeyComparator} by default
+	 */
+	protected Comparator<T> newComparator(List<SortDescriptor> keys)
+	{
+		return new SortKeyComparator<T>(keys);
+	}
+}
@@ -30,6 +30,7 @@ import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryGenericContainer;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.resource.DataFeedRenewBehavior;
 import com.googlecode.wicket.kendo.ui.KendoBehaviorFactory;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
@@ -51,6 +52,7 @@ public class Chart<T> extends JQueryGenericContainer<List<T>> implements IChartL
 
 	/** The behavior that ajax-loads data */
 	private AjaxCallbackBehavior modelBehavior;
+	private DataFeedRenewBehavior renewBehavior = null;
 
 	/**
 	 * Constructor
@@ -212,6 +214,29 @@ public class Chart<T> extends JQueryGenericContainer<List<T>> implements IChartL
 		return this.modelBehavior.getCallbackUrl();
 	}
 
+	/**
+	 * Gets the url of a stateless {@link ChartModelFeed}, which will then be used as the data-source read url instead of the model behavior's url<br/>
+	 * Feeds are not bound to the page so concurrent reads do not wait for the page lock. The feed should serve the same model objects as the chart.<br/>
+	 * Once the token has expired, a new url is requested through a page-bound {@link DataFeedRenewBehavior}.<br/>
+	 * <br/>
+	 * Usage:
+	 *
+	 * <pre>
+	 * <code>
+	 * protected CharSequence getDataFeedUrl()
+	 * {
+	 *     return JQueryAbstractBehavior.getJQueryLibrarySettings().getDataFeedReference().urlFor("sales", null);
+	 * }
+	 * </code>
+	 * </pre>
+	 *
+	 * @return {@code null} by default, meaning the model behavior is used
+	 */
+	protected CharSequence getDataFeedUrl()
+	{
+		return null;
+	}
+
 	@Override
 	public boolean isSeriesClickEventEnabled()
 	{
@@ -228,6 +253,12 @@ public class Chart<T> extends JQueryGenericContainer<List<T>> implements IChartL
 		this.modelBehavior = this.newChartModelBehavior(this.getModel());
 		this.add(this.modelBehavior);
 
+		if (this.getDataFeedUrl() != null)
+		{
+			this.renewBehavior = this.newDataFeedRenewBehavior();
+			this.add(this.renewBehavior);
+		}
+
 		this.add(JQueryWidget.newWidgetBehavior(this)); // cannot be in ctor as the markupId may be set manually afterward
 	}
 
@@ -296,7 +327,15 @@ public class Chart<T> extends JQueryGenericContainer<List<T>> implements IChartL
 			@Override
 			protected CharSequence getProviderUrl()
 			{
-				return Chart.this.getCallbackUrl();
+				CharSequence url = Chart.this.getDataFeedUrl();
+
+				return url != null ? url : Chart.this.getCallbackUrl();
+			}
+
+			@Override
+			protected CharSequence getRenewUrl()
+			{
+				return Chart.this.renewBehavior != null ? Chart.this.renewBehavior.getCallbackUrl() : null;
 			}
 
 			// Events //
@@ -311,6 +350,25 @@ public class Chart<T> extends JQueryGenericContainer<List<T>> implements IChartL
 
 	// Factories //
 
+	/**
+	 * Gets a new {@link DataFeedRenewBehavior}, which issues a new data feed url once the token of the previous one has expired
+	 *
+	 * @return the {@link DataFeedRenewBehavior}
+	 */
+	protected DataFeedRenewBehavior newDataFeedRenewBehavior()
+	{
+		return new DataFeedRenewBehavior() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected CharSequence getDataFeedUrl()
+			{
+				return Chart.this.getDataFeedUrl();
+			}
+		};
+	}
+
 	/**
 	 * Gets a new {@link ChartModelBehavior}
 	 *
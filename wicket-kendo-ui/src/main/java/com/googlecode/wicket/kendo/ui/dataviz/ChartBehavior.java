@@ -25,10 +25,10 @@ import org.apache.wicket.ajax.json.JSONArray;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.datatable.IDataTableListener;
@@ -108,6 +108,16 @@ public abstract class ChartBehavior extends KendoUIBehavior implements IJQueryAj
 	 */
 	protected abstract CharSequence getProviderUrl();
 
+	/**
+	 * Gets the url answering a new provider url, if the provider url is a data feed url which token may expire (see {@code DataFeedRenewBehavior})
+	 *
+	 * @return {@code null} by default
+	 */
+	protected CharSequence getRenewUrl()
+	{
+		return null;
+	}
+
 	// Events //
 
 	@Override
@@ -128,7 +138,7 @@ public abstract class ChartBehavior extends KendoUIBehavior implements IJQueryAj
 		this.onConfigure(this.dataSource);
 		this.setOption("dataSource", this.dataSource.getName());
 
-		this.dataSource.setTransportReadUrl(this.getProviderUrl());
+		this.dataSource.setTransportRead(KendoDataSource.getReadCallbackFunction(this.getProviderUrl(), true, null, this.getRenewUrl()));
 	}
 
 	/**
@@ -208,10 +218,12 @@ public abstract class ChartBehavior extends KendoUIBehavior implements IJQueryAj
 
 		public SeriesClickEvent()
 		{
-			this.value = RequestCycleUtils.getQueryParameterValue("value").toOptionalLong();
-			this.category = RequestCycleUtils.getQueryParameterValue("category").toString();
-			this.seriesField = RequestCycleUtils.getQueryParameterValue("seriesField").toString();
-			this.seriesName = RequestCycleUtils.getQueryParameterValue("seriesName").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.value = parameters.getOptionalLong("value");
+			this.category = parameters.getString("category");
+			this.seriesField = parameters.getString("seriesField");
+			this.seriesName = parameters.getString("seriesName");
 		}
 
 		public long getValue()
@@ -16,18 +16,20 @@
  */
 package com.googlecode.wicket.kendo.ui.dataviz;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
-import org.apache.wicket.ajax.json.JSONArray;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.request.IRequestParameters;
 
 import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 import com.googlecode.wicket.kendo.ui.scheduler.SchedulerModel;
 
 /**
  * Provides the behavior that loads {@link Chart} objects/beans<br/>
- * <b>Note: </b> the {@code List} of objects will be converted in JSON using {@code new JSONArray(list)}
+ * <b>Note: </b> the {@code List} of objects will be converted in JSON using {@link JsonWriter#value(Object)}
  * 
  * @author Sebastien Briquet - sebfz1
  *
@@ -49,10 +51,10 @@ public class ChartModelBehavior<T> extends AjaxCallbackBehavior
 	}
 
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
 		List<T> list = this.model.getObject(); // calls #load
 
-		return new JSONArray(list).toString();
+		new JsonWriter(writer).value(list);
 	}
 }
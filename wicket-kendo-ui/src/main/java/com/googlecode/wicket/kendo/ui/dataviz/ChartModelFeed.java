@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.dataviz;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.IRequestParameters;
+
+import com.googlecode.wicket.jquery.core.data.IDataFeed;
+import com.googlecode.wicket.jquery.core.resource.DataFeedResource;
+
+/**
+ * Provides a stateless {@link IDataFeed} serving {@link Chart} data-sources, to be registered in the {@link DataFeedResource}<br/>
+ * A new model is created - and detached - for each request, so the model does not need to be thread-safe.
+ *
+ * @param <T> the type of the model object
+ * @author agent
+ * @see Chart#getDataFeedUrl()
+ */
+public abstract class ChartModelFeed<T> implements IDataFeed
+{
+	/**
+	 * Constructor
+	 */
+	public ChartModelFeed()
+	{
+		// noop
+	}
+
+	// Methods //
+
+	@Override
+	public void write(IRequestParameters parameters, String argument, Writer writer) throws IOException
+	{
+		IModel<List<T>> model = this.newModel(argument);
+
+		try
+		{
+			this.newChartModelBehavior(model).writeResponse(parameters, writer);
+		}
+		finally
+		{
+			model.detach();
+		}
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new model of the chart objects for the current request
+	 *
+	 * @param argument the argument the token has been signed with (ie: an entity id), or {@code null}
+	 * @return the {@link IModel}
+	 */
+	protected abstract IModel<List<T>> newModel(String argument);
+
+	/**
+	 * Gets a new {@link ChartModelBehavior}, which is used as a response writer only (it is not bound to any component)
+	 *
+	 * @param model the model of the chart objects
+	 * @return the {@link ChartModelBehavior}
+	 */
+	protected ChartModelBehavior<T> newChartModelBehavior(IModel<List<T>> model)
+	{
+		return new ChartModelBehavior<T>(model);
+	}
+}
@@ -22,10 +22,10 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 
@@ -191,8 +191,10 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 
 		public SelectEvent()
 		{
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1);
-			this.value = RequestCycleUtils.getQueryParameterValue("value").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.index = parameters.getInt("index", -1);
+			this.value = parameters.getString("value");
 		}
 
 		public int getIndex()
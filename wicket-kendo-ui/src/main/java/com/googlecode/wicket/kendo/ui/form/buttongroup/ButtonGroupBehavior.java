@@ -22,10 +22,10 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 
 /**
@@ -157,7 +157,7 @@ public class ButtonGroupBehavior extends KendoUIBehavior implements IJQueryAjaxA
 		{
 			super();
 
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(NONE);
+			this.index = JQueryEventParameters.get().getInt("index", NONE);
 		}
 
 		/**
@@ -187,6 +187,12 @@ public class AjaxDropDownList<T> extends DropDownList<T> implements ISelectionCh
 			{
 				return AjaxDropDownList.this.getCallbackUrl();
 			}
+
+			@Override
+			protected CharSequence getInitialData()
+			{
+				return AjaxDropDownList.this.getInlineData();
+			}
 		};
 	}
 }
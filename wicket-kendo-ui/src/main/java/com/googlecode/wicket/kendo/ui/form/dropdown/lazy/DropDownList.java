@@ -21,6 +21,8 @@ import java.util.List;
 import org.apache.wicket.markup.html.form.TextField;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.parameter.UrlRequestParametersAdapter;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
@@ -170,6 +172,17 @@ public class DropDownList<T> extends TextField<T> implements IJQueryWidget
 		return this.renderer.getValue(this.getModelObject()); // renderer cannot be null.
 	}
 
+	/**
+	 * Indicates whether the choices should be rendered into the page, so the widget is bound without any round trip<br/>
+	 * Subsequent reads are still sent to the {@link ChoiceModelBehavior}.
+	 *
+	 * @return false by default
+	 */
+	protected boolean useInlineFirstPage()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the {@link ChoiceModelBehavior} callback url
 	 * 
@@ -180,6 +193,21 @@ public class DropDownList<T> extends TextField<T> implements IJQueryWidget
 		return this.choiceModelBehavior.getCallbackUrl();
 	}
 
+	/**
+	 * Gets the choices to be rendered into the page
+	 *
+	 * @return the JSON choices, or {@code null} if not {@link #useInlineFirstPage()}
+	 */
+	protected final CharSequence getInlineData()
+	{
+		if (this.useInlineFirstPage())
+		{
+			return this.choiceModelBehavior.renderResponse(new UrlRequestParametersAdapter(new Url()));
+		}
+
+		return null;
+	}
+
 	/**
 	 * Gets the template script token/id
 	 * 
@@ -294,6 +322,12 @@ public class DropDownList<T> extends TextField<T> implements IJQueryWidget
 			{
 				return DropDownList.this.getCallbackUrl();
 			}
+
+			@Override
+			protected CharSequence getInitialData()
+			{
+				return DropDownList.this.getInlineData();
+			}
 		};
 	}
 
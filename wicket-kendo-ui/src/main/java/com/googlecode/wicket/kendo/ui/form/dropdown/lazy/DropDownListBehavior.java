@@ -83,6 +83,17 @@ public abstract class DropDownListBehavior extends KendoUIBehavior implements IJ
 
 	protected abstract CharSequence getDataSourceUrl();
 
+	/**
+	 * Gets the initial data, answering the first read without any round trip (see {@link KendoDataSource#getReadCallbackFunction(CharSequence, boolean, CharSequence)})<br/>
+	 * The data should be the response the data-source behavior would send for the choices.
+	 *
+	 * @return {@code null} by default, meaning that the first read is sent to the server
+	 */
+	protected CharSequence getInitialData()
+	{
+		return null;
+	}
+
 	// Events //
 
 	@Override
@@ -104,7 +115,16 @@ public abstract class DropDownListBehavior extends KendoUIBehavior implements IJ
 
 		if (this.isEnabled(component))
 		{
-			this.dataSource.setTransportRead(Options.asString(this.getDataSourceUrl()));
+			CharSequence data = this.getInitialData();
+
+			if (data != null)
+			{
+				this.dataSource.setTransportRead(KendoDataSource.getReadCallbackFunction(this.getDataSourceUrl(), true, data));
+			}
+			else
+			{
+				this.dataSource.setTransportRead(Options.asString(this.getDataSourceUrl()));
+			}
 		}
 	}
 
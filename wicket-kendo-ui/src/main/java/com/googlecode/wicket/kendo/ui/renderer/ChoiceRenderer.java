@@ -16,14 +16,14 @@
  */
 package com.googlecode.wicket.kendo.ui.renderer;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.wicket.ajax.json.JSONObject;
-import org.apache.wicket.core.util.lang.PropertyResolver;
-
 import com.googlecode.wicket.jquery.core.renderer.IChoiceRenderer;
 import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
+import com.googlecode.wicket.jquery.core.utils.PropertyAccessor;
 
 /**
  * Default implementation of {@link IChoiceRenderer}.
@@ -92,7 +92,7 @@ public class ChoiceRenderer<T> extends TextRenderer<T> implements IChoiceRendere
 	{
 		if (this.valueExpression != null)
 		{
-			Object value = PropertyResolver.getValue(this.valueExpression, object); // if the object is null, null is returned
+			Object value = PropertyAccessor.getValue(this.valueExpression, object); // if the object is null, null is returned
 
 			if (value != null)
 			{
@@ -112,8 +112,9 @@ public class ChoiceRenderer<T> extends TextRenderer<T> implements IChoiceRendere
 	// Methods //
 
 	@Override
-	public String render(T object)
+	public void render(T object, JsonWriter writer) throws IOException
 	{
-		return String.format("%s: %s, %s: %s", JSONObject.quote(this.getTextField()), JSONObject.quote(this.getText(object)), JSONObject.quote(this.getValueField()), JSONObject.quote(this.getValue(object)));
+		writer.property(this.getTextField(), this.getText(object));
+		writer.property(this.getValueField(), this.getValue(object));
 	}
 }
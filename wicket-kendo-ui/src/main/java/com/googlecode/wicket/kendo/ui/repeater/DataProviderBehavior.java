@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.kendo.ui.repeater;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -24,11 +26,12 @@ import org.apache.wicket.Component;
 import org.apache.wicket.markup.repeater.data.IDataProvider;
 import org.apache.wicket.request.IRequestParameters;
 
-import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.utils.JsonWriter;
 import com.googlecode.wicket.jquery.core.utils.ListUtils;
 
 /**
@@ -78,53 +81,68 @@ public class DataProviderBehavior<T> extends AjaxCallbackBehavior
 		return Collections.emptyList();
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * Default is the version of the {@link IDataProvider}, if it implements {@link IVersionProvider}
+	 */
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected String getVersion(IRequestParameters parameters)
+	{
+		if (this.provider instanceof IVersionProvider)
+		{
+			return ((IVersionProvider) this.provider).getVersion();
+		}
+
+		return null;
+	}
+
+	@Override
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
 		final int first = parameters.getParameterValue("skip").toInt(0);
 		final int count = parameters.getParameterValue("take").toInt(Short.MAX_VALUE);
 
+		final long start = System.nanoTime();
 		final long size = this.provider.size();
 		final Iterator<? extends T> iterator = this.provider.iterator(first, count);
+		CallbackSample.recordProviderTime(start);
 
-		// builds JSON result //
-		StringBuilder builder = new StringBuilder();
-		builder.append("{ ");
-		BuilderUtils.append(builder, "__count", size);
-		builder.append(", ");
-		builder.append(Options.QUOTE).append("results").append(Options.QUOTE).append(": ");
-		builder.append("[ ");
+		// writes JSON result //
+		JsonWriter json = new JsonWriter(writer);
+		json.beginObject();
+		json.property("__count", size);
+		json.key("results").beginArray();
 
 		if (iterator != null)
 		{
-			for (int index = 0; iterator.hasNext(); index++)
+			// Additional properties (like template properties) //
+			final List<String> properties = this.getProperties(); // resolved once per request
+			long rows = 0;
+
+			while (iterator.hasNext())
 			{
 				T object = iterator.next();
 
-				if (index > 0)
-				{
-					builder.append(", ");
-				}
-
-				builder.append("{ ");
+				json.beginObject();
 
 				// ITextRenderer //
-				builder.append(this.renderer.render(object));
+				this.renderer.render(object, json);
 
-				// Additional properties (like template properties) //
-				for (String property : this.getProperties())
+				// Additional properties //
+				for (String property : properties)
 				{
-					builder.append(", ");
-					BuilderUtils.append(builder, property, this.renderer.getText(object, property));
+					json.property(property, this.renderer.getText(object, property));
 				}
 
-				builder.append(" }");
+				json.endObject();
+				rows++;
 			}
-		}
 
-		builder.append(" ] }");
+			CallbackSample.recordRows(rows);
+		}
 
-		return builder.toString();
+		json.endArray();
+		json.endObject();
 	}
 
 	@Override
@@ -24,10 +24,13 @@ import org.apache.wicket.behavior.AbstractAjaxBehavior;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.request.IRequestParameters;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.renderer.JsonRenderer;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
@@ -198,6 +201,17 @@ public class DataView<T> extends WebMarkupContainer implements IJQueryWidget, IL
 		return ROWS;
 	}
 
+	/**
+	 * Indicates whether the first page should be rendered into the page, so the widget is bound without any round trip<br/>
+	 * Subsequent reads are still sent to the data-provider behavior.
+	 *
+	 * @return false by default
+	 */
+	protected boolean useInlineFirstPage()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the data-provider behavior's url
 	 *
@@ -345,6 +359,23 @@ public class DataView<T> extends WebMarkupContainer implements IJQueryWidget, IL
 				return DataView.this.getCallbackUrl();
 			}
 
+			@Override
+			protected boolean useCache()
+			{
+				return DataView.this.provider instanceof IVersionProvider;
+			}
+
+			@Override
+			protected CharSequence getInitialData(IRequestParameters parameters)
+			{
+				if (DataView.this.useInlineFirstPage() && DataView.this.providerBehavior instanceof AjaxCallbackBehavior)
+				{
+					return ((AjaxCallbackBehavior) DataView.this.providerBehavior).renderResponse(parameters);
+				}
+
+				return null;
+			}
+
 			// Events //
 
 			@Override
@@ -24,14 +24,15 @@ import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.util.lang.Args;
 import org.apache.wicket.util.lang.Generics;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.datatable.DataSourceAjaxBehavior;
@@ -144,7 +145,9 @@ public abstract class ListViewBehavior extends KendoUIBehavior implements IJQuer
 	}
 
 	/**
-	 * Indicates whether the read function should use cache
+	 * Indicates whether the read function should use cache<br/>
+	 * If {@code true}, the browser keeps the responses and revalidates them against the data-provider behavior's validators, so unchanged pages are answered
+	 * with a {@code 304 Not Modified} (see {@code AjaxCallbackBehavior#getVersion(IRequestParameters)})
 	 * 
 	 * @return false by default
 	 * @see <a href="http://docs.telerik.com/kendo-ui/api/javascript/data/datasource#configuration-transport.read.cache">configuration-transport.read.cache</a>
@@ -154,6 +157,30 @@ public abstract class ListViewBehavior extends KendoUIBehavior implements IJQuer
 		return false;
 	}
 
+	/**
+	 * Gets the initial data, answering the first read without any round trip (see {@link KendoDataSource#getReadCallbackFunction(CharSequence, boolean, CharSequence)})<br/>
+	 * The data should be the response the data-provider behavior would send for the first page; it should be computed without changing the provider state.
+	 *
+	 * @param parameters the request parameters of the first read, built from the data-source options (see {@link KendoDataSource#newFirstPageParameters(long)})
+	 * @return {@code null} by default, meaning that the first read is sent to the server
+	 */
+	protected CharSequence getInitialData(IRequestParameters parameters)
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the initial data, if the data-source options can be evaluated
+	 *
+	 * @return the initial data, or {@code null}
+	 */
+	private CharSequence getInitialData()
+	{
+		IRequestParameters parameters = this.dataSource.newFirstPageParameters(this.getRowCount());
+
+		return parameters != null ? this.getInitialData(parameters) : null;
+	}
+
 	/**
 	 * Gets the 'read' callback function<br/>
 	 * As create, update and destroy need to be supplied as function, we should declare read as a function as well. Weird...
@@ -162,7 +189,7 @@ public abstract class ListViewBehavior extends KendoUIBehavior implements IJQuer
 	 */
 	private String getReadCallbackFunction()
 	{
-		return KendoDataSource.getReadCallbackFunction(this.getProviderUrl(), this.useCache());
+		return KendoDataSource.getReadCallbackFunction(this.getProviderUrl(), this.useCache(), this.getInitialData());
 	}
 
 	// Events //
@@ -361,7 +388,7 @@ public abstract class ListViewBehavior extends KendoUIBehavior implements IJQuer
 		{
 			this.objects = Generics.newArrayList();
 
-			String input = RequestCycleUtils.getQueryParameterValue("items").toString();
+			String input = JQueryEventParameters.get().getString("items");
 			Matcher matcher = PATTERN.matcher(input);
 
 			while (matcher.find())
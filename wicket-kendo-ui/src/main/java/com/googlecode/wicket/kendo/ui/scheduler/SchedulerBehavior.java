@@ -26,10 +26,10 @@ import org.apache.wicket.request.resource.JavaScriptResourceReference;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.scheduler.resource.ResourceListModel;
 import com.googlecode.wicket.kendo.ui.scheduler.views.SchedulerViewType;
@@ -452,8 +452,10 @@ public abstract class SchedulerBehavior extends KendoUIBehavior implements IJQue
 
 		public NavigateEvent()
 		{
-			String oldView = RequestCycleUtils.getQueryParameterValue("oldview").toString();
-			String newView = RequestCycleUtils.getQueryParameterValue("newview").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			String oldView = parameters.getString("oldview");
+			String newView = parameters.getString("newview");
 
 			if (oldView != null)
 			{
@@ -487,11 +489,13 @@ public abstract class SchedulerBehavior extends KendoUIBehavior implements IJQue
 
 		public SchedulerPayload()
 		{
-			String data = RequestCycleUtils.getQueryParameterValue("data").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			String data = parameters.getString("data");
 			this.object = new JSONObject(data);
 
 			// View //
-			String view = RequestCycleUtils.getQueryParameterValue("view").toString();
+			String view = parameters.getString("view");
 
 			if (view != null)
 			{
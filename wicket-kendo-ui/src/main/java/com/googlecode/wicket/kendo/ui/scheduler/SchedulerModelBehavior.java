@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.kendo.ui.scheduler;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.wicket.request.IRequestParameters;
@@ -72,12 +74,12 @@ public class SchedulerModelBehavior extends AjaxCallbackBehavior
 	}
 
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
 		final long start = parameters.getParameterValue("start").toLong(0);
 		final long end = parameters.getParameterValue("end").toLong(0);
 
-		StringBuilder builder = new StringBuilder("[ ");
+		writer.write("[ ");
 
 		if (this.model != null)
 		{
@@ -101,15 +103,15 @@ public class SchedulerModelBehavior extends AjaxCallbackBehavior
 					{
 						if (count++ > 0)
 						{
-							builder.append(", ");
+							writer.write(", ");
 						}
 
-						builder.append(this.factory.toJson(event));
+						this.factory.toJson(event).write(writer);
 					}
 				}
 			}
 		}
 
-		return builder.append(" ]").toString();
+		writer.write(" ]");
 	}
 }
@@ -24,10 +24,10 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.widget.menu.item.IMenuItem;
 
@@ -195,7 +195,7 @@ public abstract class MenuBehavior extends KendoUIBehavior implements IJQueryAja
 		{
 			super();
 
-			this.hash = RequestCycleUtils.getQueryParameterValue("hash").toString();
+			this.hash = JQueryEventParameters.get().getString("hash");
 		}
 
 		/**
@@ -23,10 +23,10 @@ import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 
 /**
@@ -236,7 +236,7 @@ public class SplitterBehavior extends KendoUIBehavior implements IJQueryAjaxAwar
 		{
 			super();
 
-			this.paneId = RequestCycleUtils.getQueryParameterValue("id").toString("");
+			this.paneId = JQueryEventParameters.get().getString("id", "");
 		}
 
 		/**
@@ -261,7 +261,7 @@ public class SplitterBehavior extends KendoUIBehavior implements IJQueryAjaxAwar
 		{
 			super();
 
-			this.paneId = RequestCycleUtils.getQueryParameterValue("id").toString("");
+			this.paneId = JQueryEventParameters.get().getString("id", "");
 		}
 
 		/**
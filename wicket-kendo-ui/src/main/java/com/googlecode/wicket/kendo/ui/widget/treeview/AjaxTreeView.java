@@ -22,12 +22,15 @@ import java.util.List;
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.parameter.UrlRequestParametersAdapter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryContainer;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.resource.DataFeedRenewBehavior;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
 import com.googlecode.wicket.jquery.core.utils.JQueryUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
@@ -45,6 +48,7 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 	private static final long serialVersionUID = 1L;
 
 	private TreeViewModelBehavior modelBehavior; // load events
+	private DataFeedRenewBehavior renewBehavior = null;
 
 	// templates //
 	private IJQueryTemplate template;
@@ -140,6 +144,17 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 		return (TreeViewModel) this.getDefaultModel();
 	}
 
+	/**
+	 * Indicates whether the root nodes should be rendered into the page, so the widget is bound without any round trip<br/>
+	 * Subsequent reads are still sent to the {@link TreeViewModelBehavior}.
+	 *
+	 * @return false by default
+	 */
+	protected boolean useInlineFirstPage()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the {@link TreeViewModelBehavior} callback url
 	 * 
@@ -150,6 +165,29 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 		return this.modelBehavior.getCallbackUrl();
 	}
 
+	/**
+	 * Gets the url of a stateless {@link TreeViewModelFeed}, which will then be used as the data-source read url instead of the model behavior's url<br/>
+	 * Feeds are not bound to the page so concurrent reads do not wait for the page lock. The feed should serve the same nodes as the tree-view.<br/>
+	 * Once the token has expired, a new url is requested through a page-bound {@link DataFeedRenewBehavior}.<br/>
+	 * <br/>
+	 * Usage:
+	 *
+	 * <pre>
+	 * <code>
+	 * protected CharSequence getDataFeedUrl()
+	 * {
+	 *     return JQueryAbstractBehavior.getJQueryLibrarySettings().getDataFeedReference().urlFor("categories", null);
+	 * }
+	 * </code>
+	 * </pre>
+	 *
+	 * @return {@code null} by default, meaning the model behavior is used
+	 */
+	protected CharSequence getDataFeedUrl()
+	{
+		return null;
+	}
+
 	/**
 	 * Gets the template script token/id
 	 * 
@@ -187,6 +225,12 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 		this.modelBehavior = this.newTreeViewModelBehavior(this.getModel(), this.newTreeNodeFactory());
 		this.add(this.modelBehavior);
 
+		if (this.getDataFeedUrl() != null)
+		{
+			this.renewBehavior = this.newDataFeedRenewBehavior();
+			this.add(this.renewBehavior);
+		}
+
 		// templates //
 
 		this.template = this.newTemplate();
@@ -262,7 +306,26 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 			@Override
 			protected CharSequence getDataSourceUrl()
 			{
-				return AjaxTreeView.this.getCallbackUrl();
+				CharSequence url = AjaxTreeView.this.getDataFeedUrl();
+
+				return url != null ? url : AjaxTreeView.this.getCallbackUrl();
+			}
+
+			@Override
+			protected CharSequence getRenewUrl()
+			{
+				return AjaxTreeView.this.renewBehavior != null ? AjaxTreeView.this.renewBehavior.getCallbackUrl() : null;
+			}
+
+			@Override
+			protected CharSequence getInitialData()
+			{
+				if (AjaxTreeView.this.useInlineFirstPage())
+				{
+					return AjaxTreeView.this.modelBehavior.renderResponse(new UrlRequestParametersAdapter(new Url())); // root nodes
+				}
+
+				return null;
 			}
 
 			// Events //
@@ -297,6 +360,25 @@ public class AjaxTreeView extends JQueryContainer implements ITreeViewListener
 		return new TreeNodeFactory();
 	}
 
+	/**
+	 * Gets a new {@link DataFeedRenewBehavior}, which issues a new data feed url once the token of the previous one has expired
+	 *
+	 * @return the {@link DataFeedRenewBehavior}
+	 */
+	protected DataFeedRenewBehavior newDataFeedRenewBehavior()
+	{
+		return new DataFeedRenewBehavior() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected CharSequence getDataFeedUrl()
+			{
+				return AjaxTreeView.this.getDataFeedUrl();
+			}
+		};
+	}
+
 	/**
 	 * Gets a new {@link TreeViewModelBehavior}
 	 *
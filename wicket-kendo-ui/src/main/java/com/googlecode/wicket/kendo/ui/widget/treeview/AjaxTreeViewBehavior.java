@@ -22,10 +22,11 @@ import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.kendo.ui.KendoDataSource;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 
 /**
@@ -106,6 +107,27 @@ public abstract class AjaxTreeViewBehavior extends KendoUIBehavior implements IJ
 	 */
 	protected abstract CharSequence getDataSourceUrl();
 
+	/**
+	 * Gets the url answering a new data-source url, if the data-source url is a data feed url which token may expire (see {@code DataFeedRenewBehavior})
+	 *
+	 * @return {@code null} by default
+	 */
+	protected CharSequence getRenewUrl()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the initial data, answering the first read without any round trip (see {@link KendoDataSource#getReadCallbackFunction(CharSequence, boolean, CharSequence)})<br/>
+	 * The data should be the response the data-source behavior would send for the root nodes.
+	 *
+	 * @return {@code null} by default, meaning that the first read is sent to the server
+	 */
+	protected CharSequence getInitialData()
+	{
+		return null;
+	}
+
 	// Events //
 
 	@Override
@@ -132,7 +154,17 @@ public abstract class AjaxTreeViewBehavior extends KendoUIBehavior implements IJ
 		// data-source //
 		this.onConfigure(this.dataSource);
 		this.setOption("dataSource", this.dataSource.getName());
-		this.dataSource.setTransportRead(Options.asString(this.getDataSourceUrl()));
+		CharSequence data = this.getInitialData();
+		CharSequence renewUrl = this.getRenewUrl();
+
+		if (data != null || renewUrl != null)
+		{
+			this.dataSource.setTransportRead(KendoDataSource.getReadCallbackFunction(this.getDataSourceUrl(), true, data, renewUrl));
+		}
+		else
+		{
+			this.dataSource.setTransportRead(Options.asString(this.getDataSourceUrl()));
+		}
 	}
 
 	/**
@@ -286,7 +318,7 @@ public abstract class AjaxTreeViewBehavior extends KendoUIBehavior implements IJ
 
 		public ExpandEvent()
 		{
-			this.nodeId = RequestCycleUtils.getQueryParameterValue("nodeId").toInt(0);
+			this.nodeId = JQueryEventParameters.get().getInt("nodeId", 0);
 		}
 
 		public int getNodeId()
@@ -305,8 +337,10 @@ public abstract class AjaxTreeViewBehavior extends KendoUIBehavior implements IJ
 
 		public SelectEvent()
 		{
-			this.nodeId = RequestCycleUtils.getQueryParameterValue("nodeId").toInt(0);
-			this.nodePath = RequestCycleUtils.getQueryParameterValue("nodePath").toString();
+			JQueryEventParameters parameters = JQueryEventParameters.get();
+
+			this.nodeId = parameters.getInt("nodeId", 0);
+			this.nodePath = parameters.getString("nodePath");
 		}
 
 		public int getNodeId()
@@ -16,12 +16,15 @@
  */
 package com.googlecode.wicket.kendo.ui.widget.treeview;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.behavior.AjaxCallbackBehavior;
+import com.googlecode.wicket.jquery.core.metrics.CallbackSample;
 
 /**
  * Provides the behavior that loads {@link TreeNode}{@code s}
@@ -61,16 +64,20 @@ public class TreeViewModelBehavior extends AjaxCallbackBehavior
 	}
 
 	@Override
-	protected String getResponse(IRequestParameters parameters)
+	protected void writeResponse(IRequestParameters parameters, Writer writer) throws IOException
 	{
 		int nodeId = parameters.getParameterValue(TreeNodeFactory.ID_FIELD).toInt(TreeNode.ROOT);
 
-		StringBuilder builder = new StringBuilder("[ ");
+		writer.write("[ ");
 
 		if (this.model != null)
 		{
 			this.model.setNodeId(nodeId);
+
+			long start = System.nanoTime();
 			List<? extends TreeNode<?>> objects = this.model.getObject(); // calls load()
+			CallbackSample.recordProviderTime(start);
+			CallbackSample.recordRows(objects.size());
 
 			for (int index = 0; index < objects.size(); index++)
 			{
@@ -78,13 +85,13 @@ public class TreeViewModelBehavior extends AjaxCallbackBehavior
 
 				if (index > 0)
 				{
-					builder.append(", ");
+					writer.write(", ");
 				}
 
-				builder.append(this.factory.toJson(index, object));
+				this.factory.toJson(index, object).write(writer);
 			}
 		}
 
-		return builder.append(" ]").toString();
+		writer.write(" ]");
 	}
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.widget.treeview;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.apache.wicket.request.IRequestParameters;
+
+import com.googlecode.wicket.jquery.core.data.IDataFeed;
+import com.googlecode.wicket.jquery.core.resource.DataFeedResource;
+
+/**
+ * Provides a stateless {@link IDataFeed} serving {@link AjaxTreeView} data-sources, to be registered in the {@link DataFeedResource}<br/>
+ * A new {@link TreeViewModel} is created - and detached - for each request, so the model does not need to be thread-safe.
+ *
+ * @author agent
+ * @see AjaxTreeView#getDataFeedUrl()
+ */
+public abstract class TreeViewModelFeed implements IDataFeed
+{
+	/**
+	 * Constructor
+	 */
+	public TreeViewModelFeed()
+	{
+		// noop
+	}
+
+	// Methods //
+
+	@Override
+	public void write(IRequestParameters parameters, String argument, Writer writer) throws IOException
+	{
+		TreeViewModel model = this.newModel(argument);
+
+		try
+		{
+			this.newTreeViewModelBehavior(model, this.newTreeNodeFactory()).writeResponse(parameters, writer);
+		}
+		finally
+		{
+			model.detach();
+		}
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link TreeViewModel} for the current request
+	 *
+	 * @param argument the argument the token has been signed with (ie: an entity id), or {@code null}
+	 * @return the {@link TreeViewModel}
+	 */
+	protected abstract TreeViewModel newModel(String argument);
+
+	/**
+	 * Gets a new {@link TreeNodeFactory}<br/>
+	 * It should be consistent with {@link AjaxTreeView#newTreeNodeFactory()}
+	 *
+	 * @return a new {@code TreeNodeFactory}
+	 */
+	protected TreeNodeFactory newTreeNodeFactory()
+	{
+		return new TreeNodeFactory();
+	}
+
+	/**
+	 * Gets a new {@link TreeViewModelBehavior}, which is used as a response writer only (it is not bound to any component)
+	 *
+	 * @param model the {@link TreeViewModel}
+	 * @param factory the {@link TreeNodeFactory}
+	 * @return the {@link TreeViewModelBehavior}
+	 */
+	protected TreeViewModelBehavior newTreeViewModelBehavior(TreeViewModel model, TreeNodeFactory factory)
+	{
+		return new TreeViewModelBehavior(model, factory);
+	}
+}
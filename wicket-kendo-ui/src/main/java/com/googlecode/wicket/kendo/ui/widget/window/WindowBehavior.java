@@ -23,10 +23,10 @@ import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.JQueryEventParameters;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 
 /**
@@ -252,7 +252,7 @@ public class WindowBehavior extends KendoUIBehavior implements IJQueryAjaxAware
 
 		public ActionEvent()
 		{
-			this.action = RequestCycleUtils.getQueryParameterValue("action").toString();
+			this.action = JQueryEventParameters.get().getString("action");
 		}
 
 		public String getAction()
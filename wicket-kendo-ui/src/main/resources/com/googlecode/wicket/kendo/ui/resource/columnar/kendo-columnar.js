@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Client-side adapter of the columnar data-source format (see ColumnarWriter).
+ */
+var KendoColumnar = KendoColumnar || {
+
+	/**
+	 * Expands a columnar response to an array of row objects, suitable for the data-source 'schema.data'
+	 *
+	 * @param response the columnar response
+	 * @return the rows
+	 */
+	expand: function(response) {
+		var fields = response.fields || [],
+			columns = response.columns || [],
+			dictionaries = response.dictionaries || {},
+			count = response.rows || 0,
+			rows = new Array(count),
+			i, c;
+
+		for (i = 0; i < count; i++) {
+			rows[i] = {};
+		}
+
+		for (c = 0; c < fields.length; c++) {
+			var field = fields[c],
+				column = columns[c],
+				dictionary = dictionaries[c],
+				value;
+
+			for (i = 0; i < count; i++) {
+				value = column[i];
+
+				if (value !== null && value !== undefined) {
+					rows[i][field] = dictionary ? dictionary[value] : value;
+				}
+			}
+		}
+
+		return rows;
+	}
+};
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Client-side part of the keyset (seek) pagination (see ISeekDataProvider).
+ * The seek key of the last row of each page ('__seek') is kept, and sent back with the read of the following page. Reads that are not sequential (ie: a jump
+ * to an arbitrary page) fall back to the offset.
+ */
+var KendoKeyset = KendoKeyset || {
+
+	states: {},
+
+	/**
+	 * Wraps a 'read' function
+	 *
+	 * @param id the data-source identifier
+	 * @param read the 'read' function
+	 * @return the wrapped 'read' function
+	 */
+	wrap: function(id, read) {
+		return function(options) {
+			var data = options.data || {},
+				scope = KendoKeyset.scope(data),
+				state = KendoKeyset.states[id],
+				success = options.success;
+
+			if (!state || state.scope !== scope) {
+				state = KendoKeyset.states[id] = { scope: scope, keys: {} };
+			}
+
+			if (data.skip > 0 && state.keys.hasOwnProperty(data.skip)) {
+				data.seek = state.keys[data.skip];
+			}
+
+			options.success = function(response) {
+				if (response && typeof response.__seek === 'string') {
+					state.keys[(data.skip || 0) + (data.take || 0)] = response.__seek;
+				}
+
+				success.call(this, response);
+			};
+
+			read(options);
+		};
+	},
+
+	/**
+	 * Gets the scope of a read, ie: its parameters except the paging ones
+	 *
+	 * @param data the read parameters
+	 * @return the scope
+	 */
+	scope: function(data) {
+		var scope = {};
+
+		jQuery.each(data, function(key, value) {
+			if (key !== 'skip' && key !== 'take' && key !== 'page' && key !== 'pageSize' && key !== 'seek') {
+				scope[key] = value;
+			}
+		});
+
+		return JSON.stringify(scope);
+	}
+};